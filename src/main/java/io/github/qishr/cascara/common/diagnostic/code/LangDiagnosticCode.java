@@ -5,6 +5,12 @@ public enum LangDiagnosticCode implements DiagnosticCode {
     EXPECTED_STREAM_END("TOKEN-102", "Expected steam end."),
     UNEXPECTED_STREAM_END("TOKEN-103", "Unexpected stream end."),
 
+    // Path
+    INVALID_PATH("LANG-201", "Invalid path expression \"{0}\" at position {1}: {2}"),
+
+    // Parser
+    HASH_CONSING_SUMMARY("LANG-301", "Hash-consing shared {0} of {1} nodes, saving about {2} bytes"),
+
     // Serializer
     FAILED_TO_MAP_TYPE("YAML-501", "Failed to map {0} to YAML AST: {1}"),
     FAILED_TO_MAP_AST("YAML-502", "Failed to map YAML AST to {0}: {1}"),
@@ -23,7 +29,9 @@ public enum LangDiagnosticCode implements DiagnosticCode {
     INCOMPATIBLE_TYPES("YAML-", "Incompatible types: Cannot map {0} to Java type {1}"),
     FAILED_DESERIALIZE_SCALAR("YAML-", "Failed to deserialize scalar to {0}: {1}"),
     UNSUPPORTED_TYPE("YAML-", "Unsupported field type: {0}"),
-    EXPECTED_SEQUENCE("YAML-", "Expected a sequence for field: {0}");
+    EXPECTED_SEQUENCE("YAML-", "Expected a sequence for field: {0}"),
+    CYCLIC_REFERENCE("YAML-", "Cannot serialize a cyclic reference to {0}"),
+    UNRESOLVED_REFERENCE("YAML-", "Unresolved reference: {0}");
 
     private final String code;
     private final String message;
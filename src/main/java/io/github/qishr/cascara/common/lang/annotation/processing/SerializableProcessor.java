@@ -0,0 +1,446 @@
+package io.github.qishr.cascara.common.lang.annotation.processing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import io.github.qishr.cascara.common.lang.annotation.AnyGetter;
+import io.github.qishr.cascara.common.lang.annotation.AnySetter;
+import io.github.qishr.cascara.common.lang.annotation.DataField;
+import io.github.qishr.cascara.common.lang.annotation.DataIgnore;
+import io.github.qishr.cascara.common.lang.annotation.Serializable;
+
+/// Generates a `GeneratedSerializer` for every [Serializable] class, so that binding it
+/// needs no reflection at run time.
+///
+/// For a class `Server` the processor writes `Server_Serializer` into the same package and
+/// lists it in `META-INF/services/io.github.qishr.cascara.common.service.ServiceProvider`.
+/// Modular applications also need a `provides ... with` clause for it, which the processor
+/// prints as a note.
+///
+/// The generated code reads and writes fields and calls [AnyGetter] and [AnySetter] methods
+/// directly, in the same order and with the same conversions as the reflective binding.
+/// A class is left to reflective binding, with a note explaining why, when generated code
+/// in its package could not bind it the same way: it is private, an inner class, abstract
+/// or generic, has no non-private no-argument constructor, or binds a static, private or
+/// final field, or a field whose type is not a class or a class with classes as type
+/// arguments, such as `T`, `List<? extends Point>` or `List<List<Point>>`. Fields marked
+/// [DataIgnore] are not bound and do not count.
+@SupportedAnnotationTypes("io.github.qishr.cascara.common.lang.annotation.Serializable")
+public class SerializableProcessor extends AbstractProcessor {
+    /// Appended to the flattened class name to name the generated serializer.
+    public static final String SUFFIX = "_Serializer";
+
+    private static final String SERVICE_FILE = "META-INF/services/io.github.qishr.cascara.common.service.ServiceProvider";
+    private static final String RUNTIME_PACKAGE = "io.github.qishr.cascara.common.lang.processor";
+
+    private final Set<String> generated = new TreeSet<>();
+    private final Set<String> modular = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (Element element : round.getElementsAnnotatedWith(Serializable.class)) {
+            if (element.getKind() == ElementKind.CLASS) {
+                generate((TypeElement) element);
+            }
+        }
+        if (round.processingOver() && !generated.isEmpty()) {
+            writeServiceFile();
+            if (!modular.isEmpty()) {
+                note(null, "Add to module-info.java: provides io.github.qishr.cascara.common.service.ServiceProvider with "
+                    + String.join(", ", modular) + ";");
+            }
+        }
+        return false;
+    }
+
+    //
+    // Model
+    //
+
+    /// A field as the generated code binds it.
+    private record Property(VariableElement field, String key, String access, boolean anySetter) { }
+
+    private void generate(TypeElement type) {
+        List<Property> properties = new ArrayList<>();
+        List<ExecutableElement> anyGetters = new ArrayList<>();
+        List<ExecutableElement> anySetters = new ArrayList<>();
+        String reason = collect(type, properties, anyGetters, anySetters);
+        if (reason != null) {
+            note(type, type.getQualifiedName() + " is bound by reflection: " + reason);
+            return;
+        }
+
+        PackageElement pkg = elements().getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String simpleName = flatName(type) + SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (PrintWriter out = new PrintWriter(file.openWriter())) {
+                writeSource(out, packageName, simpleName, type, properties, anyGetters, anySetters);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Cannot write " + qualifiedName + ": " + e.getMessage(), type);
+            return;
+        }
+        generated.add(qualifiedName);
+        if (!elements().getModuleOf(type).isUnnamed()) modular.add(qualifiedName);
+    }
+
+    /// Collects what the generated code binds, superclass members last, or returns why it cannot.
+    private String collect(TypeElement type, List<Property> properties,
+                           List<ExecutableElement> anyGetters, List<ExecutableElement> anySetters) {
+        for (Element e = type; e instanceof TypeElement t; e = t.getEnclosingElement()) {
+            if (t.getModifiers().contains(Modifier.PRIVATE)) return "it is private";
+            if (t.getNestingKind().isNested() && t.getKind() == ElementKind.CLASS
+                && !t.getModifiers().contains(Modifier.STATIC)) return "it is an inner class";
+        }
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) return "it is abstract";
+        if (!type.getTypeParameters().isEmpty()) return "it is generic";
+
+        boolean hasConstructor = false;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                hasConstructor = true;
+            }
+        }
+        if (!hasConstructor) return "it has no non-private no-argument constructor";
+
+        PackageElement pkg = elements().getPackageOf(type);
+        Set<String> methodSignatures = new LinkedHashSet<>();
+        for (TypeElement current = type; current != null; current = superclassOf(current)) {
+            boolean samePackage = elements().getPackageOf(current).equals(pkg);
+            String access = current == type ? "instance" : "((" + rawName(current.asType()) + ") instance)";
+
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (field.getAnnotation(DataIgnore.class) != null) continue;
+                // The reflective binding reads and writes static fields as keys as well
+                if (modifiers.contains(Modifier.STATIC)) return "field " + field.getSimpleName() + " is static";
+                if (!isReachable(modifiers, samePackage)) return "field " + field.getSimpleName() + " is not accessible";
+                if (modifiers.contains(Modifier.FINAL)) return "field " + field.getSimpleName() + " is final";
+                if (!isExact(field.asType())) return "field " + field.getSimpleName() + " has a type that is not bound by class";
+
+                String key = field.getSimpleName().toString();
+                DataField dataField = field.getAnnotation(DataField.class);
+                if (dataField != null && !dataField.key().isEmpty()) key = dataField.key();
+                properties.add(new Property(field, key, access, field.getAnnotation(AnySetter.class) != null));
+            }
+
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                boolean getter = method.getAnnotation(AnyGetter.class) != null;
+                boolean setter = method.getAnnotation(AnySetter.class) != null;
+                if (!getter && !setter) continue;
+                String name = method.getSimpleName().toString();
+                if (method.getModifiers().contains(Modifier.STATIC)) return "method " + name + " is static";
+                if (!isReachable(method.getModifiers(), samePackage)) return "method " + name + " is not accessible";
+                // An overriding method is bound once, like the virtual call that reaches it
+                if (!methodSignatures.add(name + method.getParameters().size() + getter)) continue;
+
+                if (getter) {
+                    if (!method.getParameters().isEmpty()) return "@AnyGetter method " + name + " takes arguments";
+                    if (isMap(method.getReturnType())) anyGetters.add(method);
+                }
+                if (setter) {
+                    if (method.getParameters().size() != 2
+                        || !types().isAssignable(elements().getTypeElement("java.lang.String").asType(),
+                            method.getParameters().get(0).asType())) {
+                        return "@AnySetter method " + name + " does not take a key and a value";
+                    }
+                    anySetters.add(method);
+                }
+            }
+        }
+        return null;
+    }
+
+    //
+    // Source
+    //
+
+    private void writeSource(PrintWriter out, String packageName, String simpleName, TypeElement type,
+                             List<Property> properties, List<ExecutableElement> anyGetters,
+                             List<ExecutableElement> anySetters) {
+        String typeName = rawName(type.asType());
+        Set<String> keys = new LinkedHashSet<>();
+        for (Property property : properties) keys.add(property.key());
+
+        out.println("// Generated by " + SerializableProcessor.class.getName() + ". Do not edit.");
+        if (!packageName.isEmpty()) {
+            out.println("package " + packageName + ";");
+            out.println();
+        }
+        out.println("import java.util.Set;");
+        out.println();
+        out.println("import io.github.qishr.cascara.common.lang.ast.AstNode;");
+        out.println("import " + RUNTIME_PACKAGE + ".GeneratedSerializer;");
+        out.println("import " + RUNTIME_PACKAGE + ".ObjectReader;");
+        out.println("import " + RUNTIME_PACKAGE + ".ObjectWriter;");
+        out.println();
+        out.println("public final class " + simpleName + " extends GeneratedSerializer<" + typeName + "> {");
+        out.print("    private static final Set<String> KEYS = Set.of(");
+        out.print(String.join(", ", keys.stream().map(SerializableProcessor::literal).toList()));
+        out.println(");");
+        out.println();
+        out.println("    public " + simpleName + "() {");
+        out.println("        super(" + typeName + ".class);");
+        out.println("    }");
+        out.println();
+
+        out.println("    @Override");
+        out.println("    protected void write(" + typeName + " instance, ObjectWriter out) {");
+        for (Property property : properties) {
+            String value = property.access() + "." + property.field().getSimpleName();
+            if (property.anySetter()) {
+                out.println("        out.writeEntries(" + value + ");");
+                continue;
+            }
+            out.println("        out." + writeMethod(property.field().asType()) + "(" + literal(property.key()) + ", " + value + ");");
+        }
+        for (ExecutableElement getter : anyGetters) {
+            out.println("        out.writeEntries(instance." + getter.getSimpleName() + "());");
+        }
+        out.println("    }");
+        out.println();
+
+        out.println("    @Override");
+        out.println("    @SuppressWarnings({ \"unchecked\", \"rawtypes\" })");
+        out.println("    protected " + typeName + " read(ObjectReader in) {");
+        out.println("        " + typeName + " instance = new " + typeName + "();");
+        out.println("        AstNode node;");
+        for (Property property : properties) {
+            String target = property.access() + "." + property.field().getSimpleName();
+            TypeMirror fieldType = property.field().asType();
+            out.println("        if ((node = in.get(" + literal(property.key()) + ")) != null) {");
+            String primitive = unboxedName(fieldType);
+            if (primitive != null) {
+                out.println("            " + target + " = in.read" + primitive + "(node, " + target + ");");
+            } else {
+                out.println("            Object value = " + readExpression(fieldType) + ";");
+                out.println("            if (value != null) " + target + " = (" + castName(fieldType) + ") value;");
+            }
+            out.println("        }");
+        }
+        for (ExecutableElement setter : anySetters) {
+            String valueType = castName(setter.getParameters().get(1).asType());
+            out.println("        in.readRemaining(KEYS, (key, value) -> instance." + setter.getSimpleName()
+                + "(key, (" + valueType + ") value));");
+        }
+        out.println("        return instance;");
+        out.println("    }");
+        out.println("}");
+    }
+
+    /// Returns `true` if the type is a primitive, a class or an array of them, or a class with
+    /// such type arguments, so that reading it by raw class loses nothing.
+    private static boolean isExact(TypeMirror type) {
+        if (type instanceof DeclaredType declared) {
+            for (TypeMirror argument : declared.getTypeArguments()) {
+                if (!isPlain(argument)) return false;
+            }
+            return true;
+        }
+        return isPlain(type);
+    }
+
+    private static boolean isPlain(TypeMirror type) {
+        if (type.getKind().isPrimitive()) return true;
+        if (type instanceof ArrayType array) return isPlain(array.getComponentType());
+        return type instanceof DeclaredType declared && declared.getTypeArguments().isEmpty();
+    }
+
+    /// Returns `Int`, `Long`, `Double` or `Boolean` for the types read without boxing, or `null`.
+    private static String unboxedName(TypeMirror type) {
+        return switch (type.getKind()) {
+            case INT -> "Int";
+            case LONG -> "Long";
+            case DOUBLE -> "Double";
+            case BOOLEAN -> "Boolean";
+            default -> null;
+        };
+    }
+
+    private static String writeMethod(TypeMirror type) {
+        String primitive = unboxedName(type);
+        return primitive == null ? "write" : "write" + primitive;
+    }
+
+    private String readExpression(TypeMirror type) {
+        if (isAssignableTo(type, "java.util.List")) {
+            return "in.readList(node, " + typeArgument(type, 0, "java.lang.Object") + ".class)";
+        }
+        if (isMap(type)) {
+            return "in.readMap(node, " + typeArgument(type, 0, "java.lang.String") + ".class, "
+                + typeArgument(type, 1, "java.lang.String") + ".class)";
+        }
+        return "in.read(node, " + rawName(type) + ".class)";
+    }
+
+    /// Returns the class of type argument `index` if it is a plain class, as the reflective
+    /// binding does, otherwise `fallback`.
+    private String typeArgument(TypeMirror type, int index, String fallback) {
+        if (type instanceof DeclaredType declared && declared.getTypeArguments().size() > index) {
+            TypeMirror argument = declared.getTypeArguments().get(index);
+            if (argument instanceof DeclaredType plain && plain.getTypeArguments().isEmpty()) return rawName(plain);
+            if (argument instanceof ArrayType) return rawName(argument);
+        }
+        return fallback;
+    }
+
+    //
+    // Service Registration
+    //
+
+    private void writeServiceFile() {
+        Filer filer = processingEnv.getFiler();
+        Set<String> providers = new TreeSet<>(generated);
+        try {
+            // Keep the entries of an earlier, incremental compilation
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(existing.openReader(true))) {
+                reader.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .forEach(providers::add);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No earlier file
+        }
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String provider : providers) writer.write(provider + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Cannot write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    //
+    // Helpers
+    //
+
+    private Elements elements() {
+        return processingEnv.getElementUtils();
+    }
+
+    private Types types() {
+        return processingEnv.getTypeUtils();
+    }
+
+    private void note(Element element, String message) {
+        if (element == null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message);
+        } else {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, element);
+        }
+    }
+
+    private static boolean isReachable(Set<Modifier> modifiers, boolean samePackage) {
+        if (modifiers.contains(Modifier.PRIVATE)) return false;
+        return samePackage || modifiers.contains(Modifier.PUBLIC);
+    }
+
+    private TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) return null;
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    private boolean isMap(TypeMirror type) {
+        return isAssignableTo(type, "java.util.Map");
+    }
+
+    private boolean isAssignableTo(TypeMirror type, String className) {
+        if (type.getKind() != TypeKind.DECLARED) return false;
+        TypeElement target = elements().getTypeElement(className);
+        return types().isAssignable(types().erasure(type), types().erasure(target.asType()));
+    }
+
+    /// Returns the type as source without type arguments or annotations: `int`,
+    /// `java.util.List`, `pkg.Outer.Inner[]`.
+    private String rawName(TypeMirror type) {
+        return switch (type.getKind()) {
+            case ARRAY -> rawName(((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED -> ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+            case TYPEVAR, WILDCARD, INTERSECTION -> rawName(types().erasure(type));
+            default -> type.getKind().isPrimitive() ? type.getKind().name().toLowerCase() : "java.lang.Object";
+        };
+    }
+
+    /// Returns the type to cast a converted value to before assigning it: the wrapper of a
+    /// primitive type, otherwise the raw type.
+    private String castName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return types().boxedClass(types().getPrimitiveType(type.getKind())).getQualifiedName().toString();
+        }
+        return rawName(type);
+    }
+
+    /// Returns the name of a nested class joined with underscores: `Outer_Inner`.
+    private static String flatName(TypeElement type) {
+        String name = type.getSimpleName().toString();
+        for (Element e = type.getEnclosingElement(); e instanceof TypeElement t; e = t.getEnclosingElement()) {
+            name = t.getSimpleName() + "_" + name;
+        }
+        return name;
+    }
+
+    private static String literal(String text) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) builder.append(String.format("\\u%04x", (int) c));
+                    else builder.append(c);
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
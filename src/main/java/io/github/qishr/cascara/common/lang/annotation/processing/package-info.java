@@ -0,0 +1,2 @@
+/// The annotation processor that generates serializers for `@Serializable` classes.
+package io.github.qishr.cascara.common.lang.annotation.processing;
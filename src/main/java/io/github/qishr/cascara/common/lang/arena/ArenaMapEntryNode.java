@@ -0,0 +1,33 @@
+package io.github.qishr.cascara.common.lang.arena;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.ast.MapEntryAstNode;
+
+public final class ArenaMapEntryNode extends ArenaNode implements MapEntryAstNode<ArenaNode> {
+
+    ArenaMapEntryNode(AstArena arena, int index) {
+        super(arena, index);
+    }
+
+    @Override
+    public ArenaNode getKey() {
+        return arena.view(arena.firstChild(index));
+    }
+
+    @Override
+    public ArenaNode getValue() {
+        return arena.view(arena.nextSibling(arena.firstChild(index)));
+    }
+
+    @Override
+    public ArenaMapEntryNode setRaw(ArenaNode value) {
+        arena.replace(index, arena.nextSibling(arena.firstChild(index)), arena.owned(value));
+        return this;
+    }
+
+    @Override
+    public List<ArenaNode> getChildren() {
+        return List.of(getKey(), getValue());
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.qishr.cascara.common.lang.arena;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.github.qishr.cascara.common.lang.ast.MapAstNode;
+
+public final class ArenaMapNode extends ArenaNode implements MapAstNode<ArenaNode, ArenaMapEntryNode> {
+
+    ArenaMapNode(AstArena arena, int index) {
+        super(arena, index);
+    }
+
+    @Override
+    public int size() {
+        return arena.childCount(index);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return arena.findEntry(index, key) != AstArena.NONE;
+    }
+
+    @Override
+    public ArenaNode get(String key) {
+        int entry = arena.findEntry(index, key);
+        return entry == AstArena.NONE ? null : arena.view(arena.nextSibling(arena.firstChild(entry)));
+    }
+
+    @Override
+    public boolean containsKey(ArenaNode key) {
+        return getEntry(key) != null;
+    }
+
+    @Override
+    public ArenaNode get(ArenaNode key) {
+        return key == null ? null : get(key.asString());
+    }
+
+    @Override
+    public ArenaMapEntryNode getEntry(ArenaNode key) {
+        int entry = key == null ? AstArena.NONE : arena.findEntry(index, key.asString());
+        return entry == AstArena.NONE ? null : new ArenaMapEntryNode(arena, entry);
+    }
+
+    @Override
+    public ArenaMapNode getMap(String key) {
+        return (get(key) instanceof ArenaMapNode map) ? map : null;
+    }
+
+    @Override
+    public ArenaSequenceNode getSequence(String key) {
+        return (get(key) instanceof ArenaSequenceNode sequence) ? sequence : null;
+    }
+
+    @Override
+    public ArenaMapNode put(ArenaNode key, ArenaNode value) {
+        int entry = arena.findEntry(index, key.asString());
+        if (entry != AstArena.NONE) {
+            new ArenaMapEntryNode(arena, entry).setRaw(value);
+        } else {
+            arena.append(index, arena.newEntry(arena.owned(key), arena.owned(value)));
+        }
+        return this;
+    }
+
+    @Override
+    public ArenaMapNode put(String key, ArenaNode value) {
+        int entry = arena.findEntry(index, key);
+        if (entry != AstArena.NONE) {
+            new ArenaMapEntryNode(arena, entry).setRaw(value);
+        } else {
+            put(arena.createScalarKeyNode(key), value);
+        }
+        return this;
+    }
+
+    @Override
+    public ArenaMapNode put(String key, String value) {
+        return put(key, arena.createScalarNode(value));
+    }
+
+    @Override
+    public ArenaMapNode remove(ArenaNode key) {
+        return key == null ? this : remove(key.asString());
+    }
+
+    @Override
+    public ArenaMapNode remove(String key) {
+        int entry = arena.findEntry(index, key);
+        if (entry != AstArena.NONE) arena.detach(index, entry);
+        return this;
+    }
+
+    /// Returns a read-only view of the entries, in insertion order.
+    @Override
+    public List<ArenaMapEntryNode> getEntries() {
+        return new AbstractList<>() {
+            @Override
+            public ArenaMapEntryNode get(int position) {
+                return new ArenaMapEntryNode(arena, arena.child(index, position));
+            }
+
+            @Override
+            public int size() {
+                return ArenaMapNode.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<ArenaMapEntryNode> entrySet() {
+        Set<ArenaMapEntryNode> entries = new LinkedHashSet<>();
+        for (int entry = arena.firstChild(index); entry != AstArena.NONE; entry = arena.nextSibling(entry)) {
+            entries.add(new ArenaMapEntryNode(arena, entry));
+        }
+        return entries;
+    }
+
+    @Override
+    public Set<ArenaNode> keySet() {
+        Set<ArenaNode> keys = new LinkedHashSet<>();
+        for (int entry = arena.firstChild(index); entry != AstArena.NONE; entry = arena.nextSibling(entry)) {
+            keys.add(arena.view(arena.firstChild(entry)));
+        }
+        return keys;
+    }
+
+    @Override
+    public List<ArenaNode> values() {
+        List<ArenaNode> values = new ArrayList<>(size());
+        for (int entry = arena.firstChild(index); entry != AstArena.NONE; entry = arena.nextSibling(entry)) {
+            values.add(arena.view(arena.nextSibling(arena.firstChild(entry))));
+        }
+        return values;
+    }
+
+    @Override
+    public List<ArenaMapEntryNode> getChildren() {
+        return getEntries();
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.qishr.cascara.common.lang.arena;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.CommentAstNode;
+
+/// A view of one node of an [AstArena].
+public abstract sealed class ArenaNode implements AstNode
+    permits ArenaScalarNode, ArenaSequenceNode, ArenaMapNode, ArenaMapEntryNode {
+
+    protected final AstArena arena;
+    protected final int index;
+
+    ArenaNode(AstArena arena, int index) {
+        this.arena = arena;
+        this.index = index;
+    }
+
+    public AstArena getArena() {
+        return arena;
+    }
+
+    /// Returns the slot of this node in its arena.
+    public int getIndex() {
+        return index;
+    }
+
+    /// Returns the container holding this node, or `null` for a root or detached node.
+    @Nullable
+    public ArenaNode getParent() {
+        int parent = arena.parent(index);
+        return parent == AstArena.NONE ? null : arena.view(parent);
+    }
+
+    @Override
+    public int getStartLine() { return 0; }
+    @Override
+    public int getStartColumn() { return 0; }
+    @Override
+    public int getEndLine() { return 0; }
+    @Override
+    public int getEndColumn() { return 0; }
+
+    @Override
+    public List<? extends CommentAstNode> getComments() {
+        return List.of();
+    }
+
+    /// Two views are equal when they refer to the same slot of the same arena.
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ArenaNode other && other.arena == arena && other.index == index;
+    }
+
+    @Override
+    public int hashCode() {
+        return index;
+    }
+}
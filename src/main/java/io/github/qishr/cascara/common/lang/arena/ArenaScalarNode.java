@@ -0,0 +1,71 @@
+package io.github.qishr.cascara.common.lang.arena;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+import io.github.qishr.cascara.common.lang.ast.ScalarAstNode;
+import io.github.qishr.cascara.common.lang.util.QuoteStyle;
+
+public final class ArenaScalarNode extends ArenaNode implements ScalarAstNode<ArenaNode> {
+
+    ArenaScalarNode(AstArena arena, int index) {
+        super(arena, index);
+    }
+
+    @Override
+    public QuoteStyle getQuoteStyle() {
+        return arena.quoteStyle(index);
+    }
+
+    @Override
+    public ArenaScalarNode setQuoteStyle(QuoteStyle style) {
+        arena.setQuoteStyle(index, style);
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public String getRaw() {
+        Object value = getPrimitive();
+        return value == null ? null : value.toString();
+    }
+
+    @Nullable
+    @Override
+    public Object getPrimitive() {
+        return arena.primitive(index);
+    }
+
+    @Override
+    public ArenaScalarNode setPrimitive(Object value) {
+        arena.setScalar(index, value, getQuoteStyle());
+        return this;
+    }
+
+    @Override
+    public String asString() {
+        return arena.scalarString(index);
+    }
+
+    @Override
+    public int asInteger(int defaultValue) {
+        if (arena.isNumeric(index)) return (int) arena.longValue(index, defaultValue);
+        return ScalarAstNode.super.asInteger(defaultValue);
+    }
+
+    @Override
+    public double asDouble(double defaultValue) {
+        if (arena.isNumeric(index)) return arena.doubleValue(index, defaultValue);
+        return ScalarAstNode.super.asDouble(defaultValue);
+    }
+
+    @Override
+    public List<ArenaNode> getChildren() {
+        return List.of();
+    }
+
+    @Override
+    public String toString() {
+        return asString();
+    }
+}
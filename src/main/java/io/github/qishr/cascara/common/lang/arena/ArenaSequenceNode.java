@@ -0,0 +1,110 @@
+package io.github.qishr.cascara.common.lang.arena;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import io.github.qishr.cascara.common.lang.ast.SequenceAstNode;
+
+public final class ArenaSequenceNode extends ArenaNode implements SequenceAstNode<ArenaNode> {
+
+    ArenaSequenceNode(AstArena arena, int index) {
+        super(arena, index);
+    }
+
+    @Override
+    public int size() {
+        return arena.childCount(index);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public ArenaSequenceNode clear() {
+        arena.clear(index);
+        return this;
+    }
+
+    @Override
+    public ArenaSequenceNode add(ArenaNode node) {
+        arena.append(index, arena.owned(node));
+        return this;
+    }
+
+    @Override
+    public ArenaSequenceNode set(int position, ArenaNode node) {
+        arena.replace(index, arena.child(index, position), arena.owned(node));
+        return this;
+    }
+
+    @Override
+    public ArenaSequenceNode remove(ArenaNode node) {
+        int child = arena.owned(node);
+        if (arena.parent(child) == index) arena.detach(index, child);
+        return this;
+    }
+
+    @Override
+    public ArenaSequenceNode remove(int position) {
+        arena.detach(index, arena.child(index, position));
+        return this;
+    }
+
+    /// Returns the element at `position`: O(1) while the elements occupy consecutive slots, O(n) after
+    /// insertions or removals in the middle.
+    @Override
+    public ArenaNode get(int position) {
+        return arena.view(arena.child(index, position));
+    }
+
+    /// Returns a read-only view of the elements.
+    @Override
+    public List<ArenaNode> getElements() {
+        return new AbstractList<>() {
+            @Override
+            public ArenaNode get(int position) {
+                return ArenaSequenceNode.this.get(position);
+            }
+
+            @Override
+            public int size() {
+                return ArenaSequenceNode.this.size();
+            }
+
+            @Override
+            public Iterator<ArenaNode> iterator() {
+                return ArenaSequenceNode.this.iterator();
+            }
+        };
+    }
+
+    @Override
+    public List<ArenaNode> getChildren() {
+        return getElements();
+    }
+
+    /// Walks the sibling links, so iteration is linear whatever the layout.
+    @Override
+    public Iterator<ArenaNode> iterator() {
+        return new Iterator<>() {
+            private int next = arena.firstChild(index);
+
+            @Override
+            public boolean hasNext() {
+                return next != AstArena.NONE;
+            }
+
+            @Override
+            public ArenaNode next() {
+                if (next == AstArena.NONE) throw new NoSuchElementException();
+                ArenaNode node = arena.view(next);
+                next = arena.nextSibling(next);
+                return node;
+            }
+        };
+    }
+}
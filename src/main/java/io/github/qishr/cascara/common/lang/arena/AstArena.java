@@ -0,0 +1,464 @@
+package io.github.qishr.cascara.common.lang.arena;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.AstNodeFactory;
+import io.github.qishr.cascara.common.lang.ast.MapAstNode;
+import io.github.qishr.cascara.common.lang.ast.MapEntryAstNode;
+import io.github.qishr.cascara.common.lang.ast.ScalarAstNode;
+import io.github.qishr.cascara.common.lang.ast.SequenceAstNode;
+import io.github.qishr.cascara.common.lang.type.Primitive;
+import io.github.qishr.cascara.common.lang.util.QuoteStyle;
+
+/// An AST whose nodes are indexes into a handful of primitive arrays.
+///
+/// Every node costs one slot in each of these arrays, about 22 bytes in total, instead of
+/// a set of objects with headers, boxed values and list backing arrays:
+///
+/// - `kinds`: the node kind, plus a flag for containers whose children occupy consecutive slots
+/// - `tags`: the primitive type and quote style of a scalar
+/// - `parents`, `firstChildren`, `nextSiblings`: the tree links
+/// - `slots`: a scalar's value (numbers and booleans inline, strings as an index into a
+///   de-duplicated pool), or a container's child count and last child
+///
+/// Map entries are nodes whose two children are the key and the value.
+///
+/// [#copyOf(AstNode)] gives the children of every container consecutive slots. A tree built
+/// through the factory interleaves them with their own descendants instead, so the first
+/// access by position to such a container records its children in a child table, which
+/// later accesses index directly.
+///
+/// [ArenaNode] and its subclasses are views that implement the [io.github.qishr.cascara.common.lang.ast]
+/// interfaces. They hold only the arena and an index, are created on access, and compare
+/// equal when they refer to the same slot. The arena doubles as the [AstNodeFactory] that
+/// parsers use to build the tree. Like the reference nodes, an arena is not thread-safe.
+public final class AstArena implements AstNodeFactory<ArenaNode, ArenaScalarNode, ArenaSequenceNode, ArenaMapNode, ArenaMapEntryNode> {
+    static final int NONE = -1;
+
+    static final byte SCALAR = 1;
+    static final byte SEQUENCE = 2;
+    static final byte MAP = 3;
+    static final byte ENTRY = 4;
+    static final byte KIND_MASK = 0x0F;
+    /// Set on containers whose children are `firstChild, firstChild + 1, ...`, allowing O(1) indexing.
+    static final byte CONTIGUOUS = 0x10;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_STRING = 1;
+    private static final int TAG_BOOLEAN = 2;
+    private static final int TAG_INT = 3;
+    private static final int TAG_LONG = 4;
+    private static final int TAG_DOUBLE = 5;
+    private static final int TAG_OBJECT = 6;
+    private static final QuoteStyle[] QUOTE_STYLES = QuoteStyle.values();
+
+    private byte[] kinds;
+    private byte[] tags;
+    private int[] parents;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private long[] slots;
+    private int count;
+
+    private final List<Object> pool = new ArrayList<>();
+    /// The children of non-contiguous containers that have been accessed by position.
+    private final Map<Integer,int[]> childTables = new HashMap<>();
+    private final Map<String,Integer> stringIds = new HashMap<>();
+    private int root = NONE;
+
+    public AstArena() {
+        this(1024);
+    }
+
+    public AstArena(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        kinds = new byte[capacity];
+        tags = new byte[capacity];
+        parents = new int[capacity];
+        firstChildren = new int[capacity];
+        nextSiblings = new int[capacity];
+        slots = new long[capacity];
+    }
+
+    /// Copies any AST into a new arena, laying out the children of each container in consecutive slots.
+    public static AstArena copyOf(AstNode root) {
+        AstArena arena = new AstArena();
+        int index = arena.allocate();
+        arena.fill(index, root);
+        arena.root = index;
+        return arena;
+    }
+
+    @Nullable
+    public ArenaNode getRoot() {
+        return root == NONE ? null : view(root);
+    }
+
+    public AstArena setRoot(ArenaNode node) {
+        this.root = owned(node);
+        return this;
+    }
+
+    /// Returns the number of nodes allocated, including map entries and detached nodes.
+    public int getNodeCount() {
+        return count;
+    }
+
+    /// Returns the approximate heap used by the node arrays, the value pool and the child tables.
+    public long getEstimatedBytes() {
+        long bytes = (long) kinds.length * 22 + pool.size() * 16L;
+        for (int[] table : childTables.values()) bytes += 16 + 4L * table.length;
+        return bytes;
+    }
+
+    //
+    // AstNodeFactory
+    //
+
+    @Override
+    public ArenaScalarNode createScalarNode(Object primitiveValue) {
+        return createScalarNode(primitiveValue, QuoteStyle.PLAIN);
+    }
+
+    @Override
+    public ArenaScalarNode createScalarNode(Object primitiveValue, QuoteStyle quoteStyle) {
+        int index = allocate();
+        kinds[index] = SCALAR;
+        setScalar(index, primitiveValue, quoteStyle);
+        return new ArenaScalarNode(this, index);
+    }
+
+    @Override
+    public ArenaScalarNode createScalarNode(Primitive primitive) {
+        return createScalarNode(primitive.unwrap(), primitive.getQuoteStyle());
+    }
+
+    @Override
+    public ArenaNode createScalarKeyNode(Object key) {
+        return createScalarNode(key);
+    }
+
+    @Override
+    public ArenaSequenceNode createSequenceNode() {
+        int index = allocate();
+        kinds[index] = SEQUENCE | CONTIGUOUS;
+        return new ArenaSequenceNode(this, index);
+    }
+
+    @Override
+    public ArenaMapNode createMapNode() {
+        int index = allocate();
+        kinds[index] = MAP | CONTIGUOUS;
+        return new ArenaMapNode(this, index);
+    }
+
+    //
+    // Node access, for the views
+    //
+
+    ArenaNode view(int index) {
+        return switch (kinds[index] & KIND_MASK) {
+            case SCALAR -> new ArenaScalarNode(this, index);
+            case SEQUENCE -> new ArenaSequenceNode(this, index);
+            case MAP -> new ArenaMapNode(this, index);
+            case ENTRY -> new ArenaMapEntryNode(this, index);
+            default -> throw new IllegalStateException("No node at arena index " + index);
+        };
+    }
+
+    int parent(int index) { return parents[index]; }
+    int firstChild(int index) { return firstChildren[index]; }
+    int nextSibling(int index) { return nextSiblings[index]; }
+    int childCount(int index) { return (int) (slots[index] >>> 32); }
+
+    /// Returns the index of child number `position` of a container.
+    int child(int container, int position) {
+        if (position < 0 || position >= childCount(container)) throw new IndexOutOfBoundsException(position);
+        if ((kinds[container] & CONTIGUOUS) != 0) return firstChildren[container] + position;
+        return childTable(container)[position];
+    }
+
+    /// Returns the children of a non-contiguous container, building the table on first use.
+    private int[] childTable(int container) {
+        int[] table = childTables.get(container);
+        if (table == null) {
+            table = new int[childCount(container)];
+            int child = firstChildren[container];
+            for (int i = 0; i < table.length; i++, child = nextSiblings[child]) table[i] = child;
+            childTables.put(container, table);
+        }
+        return table;
+    }
+
+    /// Returns the index of the entry of `map` whose key reads as `key`, or [#NONE].
+    int findEntry(int map, String key) {
+        if (key == null) return NONE;
+        for (int entry = firstChildren[map]; entry != NONE; entry = nextSiblings[entry]) {
+            if (key.equals(scalarString(firstChildren[entry]))) return entry;
+        }
+        return NONE;
+    }
+
+    /// Returns the index of `node`, which must belong to this arena.
+    int owned(AstNode node) {
+        if (node instanceof ArenaNode arenaNode && arenaNode.arena == this) return arenaNode.index;
+        throw new IllegalArgumentException("Node does not belong to this arena");
+    }
+
+    //
+    // Scalars
+    //
+
+    QuoteStyle quoteStyle(int index) {
+        return QUOTE_STYLES[tags[index] >>> 4];
+    }
+
+    void setQuoteStyle(int index, QuoteStyle style) {
+        tags[index] = (byte) ((tags[index] & 0x0F) | ((style == null ? 0 : style.ordinal()) << 4));
+    }
+
+    Object primitive(int index) {
+        long slot = slots[index];
+        return switch (tags[index] & 0x0F) {
+            case TAG_STRING, TAG_OBJECT -> pool.get((int) slot);
+            case TAG_BOOLEAN -> slot != 0;
+            case TAG_INT -> (int) slot;
+            case TAG_LONG -> slot;
+            case TAG_DOUBLE -> Double.longBitsToDouble(slot);
+            default -> null;
+        };
+    }
+
+    /// Returns the text of a scalar, or `null` for a non-scalar. Strings are returned without boxing.
+    @Nullable
+    String scalarString(int index) {
+        if ((kinds[index] & KIND_MASK) != SCALAR) return null;
+        if ((tags[index] & 0x0F) == TAG_STRING) return (String) pool.get((int) slots[index]);
+        Object value = primitive(index);
+        return value == null ? "" : value.toString();
+    }
+
+    /// Returns the value of a numeric scalar as a `long`, or `defaultValue`.
+    long longValue(int index, long defaultValue) {
+        return switch (tags[index] & 0x0F) {
+            case TAG_INT, TAG_LONG -> slots[index];
+            case TAG_DOUBLE -> (long) Double.longBitsToDouble(slots[index]);
+            default -> (primitive(index) instanceof Number n) ? n.longValue() : defaultValue;
+        };
+    }
+
+    /// Returns the value of a numeric scalar as a `double`, or `defaultValue`.
+    double doubleValue(int index, double defaultValue) {
+        return switch (tags[index] & 0x0F) {
+            case TAG_INT, TAG_LONG -> slots[index];
+            case TAG_DOUBLE -> Double.longBitsToDouble(slots[index]);
+            default -> (primitive(index) instanceof Number n) ? n.doubleValue() : defaultValue;
+        };
+    }
+
+    boolean isNumeric(int index) {
+        int tag = tags[index] & 0x0F;
+        return tag == TAG_INT || tag == TAG_LONG || tag == TAG_DOUBLE
+            || (tag == TAG_OBJECT && pool.get((int) slots[index]) instanceof Number);
+    }
+
+    void setScalar(int index, Object value, QuoteStyle style) {
+        if (value instanceof Primitive primitive) value = primitive.unwrap();
+        int tag;
+        long slot = 0;
+        if (value == null) {
+            tag = TAG_NULL;
+        } else if (value instanceof String text) {
+            tag = TAG_STRING;
+            slot = stringIds.computeIfAbsent(text, t -> {
+                pool.add(t);
+                return pool.size() - 1;
+            });
+        } else if (value instanceof Boolean bool) {
+            tag = TAG_BOOLEAN;
+            slot = bool ? 1 : 0;
+        } else if (value instanceof Integer number) {
+            tag = TAG_INT;
+            slot = number;
+        } else if (value instanceof Long number) {
+            tag = TAG_LONG;
+            slot = number;
+        } else if (value instanceof Double number) {
+            tag = TAG_DOUBLE;
+            slot = Double.doubleToRawLongBits(number);
+        } else {
+            tag = TAG_OBJECT;
+            pool.add(value);
+            slot = pool.size() - 1;
+        }
+        tags[index] = (byte) (tag | ((style == null ? 0 : style.ordinal()) << 4));
+        slots[index] = slot;
+    }
+
+    //
+    // Structure
+    //
+
+    /// Appends `child` to the children of `container`.
+    void append(int container, int child) {
+        if (parents[child] != NONE || child == root) {
+            throw new IllegalArgumentException("Node already belongs to a container");
+        }
+        int size = childCount(container);
+        int last = (int) slots[container];
+        if (size == 0) {
+            firstChildren[container] = child;
+        } else {
+            nextSiblings[last] = child;
+            if (child != last + 1) kinds[container] &= ~CONTIGUOUS;
+        }
+        parents[child] = container;
+        nextSiblings[child] = NONE;
+        setChildren(container, size + 1, child);
+        int[] table = childTables.get(container);
+        if (table != null) {
+            if (table.length == size) {
+                table = Arrays.copyOf(table, size + (size >> 1) + 1);
+                childTables.put(container, table);
+            }
+            table[size] = child;
+        }
+    }
+
+    /// Replaces `oldChild` with `newChild` in place, detaching `oldChild`.
+    void replace(int container, int oldChild, int newChild) {
+        if (oldChild == newChild) return;
+        if (parents[newChild] != NONE || newChild == root) {
+            throw new IllegalArgumentException("Node already belongs to a container");
+        }
+        int previous = NONE;
+        for (int c = firstChildren[container]; c != oldChild; c = nextSiblings[c]) previous = c;
+        if (previous == NONE) {
+            firstChildren[container] = newChild;
+        } else {
+            nextSiblings[previous] = newChild;
+        }
+        nextSiblings[newChild] = nextSiblings[oldChild];
+        parents[newChild] = container;
+        if ((int) slots[container] == oldChild) setChildren(container, childCount(container), newChild);
+        kinds[container] &= ~CONTIGUOUS;
+        childTables.remove(container);
+        parents[oldChild] = NONE;
+        nextSiblings[oldChild] = NONE;
+    }
+
+    /// Unlinks `child` from `container`.
+    void detach(int container, int child) {
+        int previous = NONE;
+        for (int c = firstChildren[container]; c != child; c = nextSiblings[c]) previous = c;
+        if (previous == NONE) {
+            firstChildren[container] = nextSiblings[child];
+        } else {
+            nextSiblings[previous] = nextSiblings[child];
+        }
+        int last = (int) slots[container];
+        setChildren(container, childCount(container) - 1, last == child ? previous : last);
+        if (previous != NONE) kinds[container] &= ~CONTIGUOUS;
+        childTables.remove(container);
+        parents[child] = NONE;
+        nextSiblings[child] = NONE;
+    }
+
+    /// Detaches every child of `container`.
+    void clear(int container) {
+        for (int c = firstChildren[container]; c != NONE; ) {
+            int next = nextSiblings[c];
+            parents[c] = NONE;
+            nextSiblings[c] = NONE;
+            c = next;
+        }
+        firstChildren[container] = NONE;
+        setChildren(container, 0, NONE);
+        kinds[container] |= CONTIGUOUS;
+        childTables.remove(container);
+    }
+
+    /// Creates a map entry node linking `key` and `value`.
+    int newEntry(int key, int value) {
+        int entry = allocate();
+        kinds[entry] = ENTRY;
+        append(entry, key);
+        append(entry, value);
+        return entry;
+    }
+
+    private void setChildren(int container, int size, int last) {
+        slots[container] = ((long) size << 32) | (last & 0xFFFFFFFFL);
+    }
+
+    private int allocate() {
+        if (count == kinds.length) grow();
+        int index = count++;
+        parents[index] = NONE;
+        firstChildren[index] = NONE;
+        nextSiblings[index] = NONE;
+        setChildren(index, 0, NONE);
+        return index;
+    }
+
+    private int allocateBlock(int size) {
+        int first = count;
+        for (int i = 0; i < size; i++) allocate();
+        return first;
+    }
+
+    private void grow() {
+        int capacity = kinds.length + (kinds.length >> 1);
+        kinds = Arrays.copyOf(kinds, capacity);
+        tags = Arrays.copyOf(tags, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        firstChildren = Arrays.copyOf(firstChildren, capacity);
+        nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+        slots = Arrays.copyOf(slots, capacity);
+    }
+
+    /// Copies `node` into the allocated slot `index`, children first allocated as one block.
+    private void fill(int index, AstNode node) {
+        if (node instanceof MapAstNode<?,?> map) {
+            kinds[index] = MAP;
+            List<? extends MapEntryAstNode<?>> entries = map.getEntries();
+            linkBlock(index, allocateBlock(entries.size()), entries.size());
+            int entry = firstChildren[index];
+            for (MapEntryAstNode<?> source : entries) {
+                kinds[entry] = ENTRY;
+                linkBlock(entry, allocateBlock(2), 2);
+                fill(firstChildren[entry], source.getKey());
+                fill(firstChildren[entry] + 1, source.getValue());
+                entry++;
+            }
+        } else if (node instanceof SequenceAstNode<?> sequence) {
+            kinds[index] = SEQUENCE;
+            List<? extends AstNode> elements = sequence.getElements();
+            linkBlock(index, allocateBlock(elements.size()), elements.size());
+            int element = firstChildren[index];
+            for (AstNode source : elements) fill(element++, source);
+        } else if (node instanceof ScalarAstNode<?> scalar) {
+            kinds[index] = SCALAR;
+            setScalar(index, scalar.getPrimitive(), scalar.getQuoteStyle());
+        } else {
+            kinds[index] = SCALAR;
+            setScalar(index, node == null ? null : node.asString(), QuoteStyle.PLAIN);
+        }
+    }
+
+    private void linkBlock(int container, int first, int size) {
+        kinds[container] |= CONTIGUOUS;
+        for (int i = 0; i < size; i++) {
+            parents[first + i] = container;
+            nextSiblings[first + i] = (i + 1 < size) ? first + i + 1 : NONE;
+        }
+        firstChildren[container] = size == 0 ? NONE : first;
+        setChildren(container, size, size == 0 ? NONE : first + size - 1);
+    }
+}
@@ -0,0 +1,2 @@
+/// A compact AST stored in primitive arrays, exposed through lightweight node views.
+package io.github.qishr.cascara.common.lang.arena;
@@ -13,4 +13,23 @@ public interface AstNode {
     List<? extends CommentAstNode> getComments();
     default Token getToken() { return null; }
     default String asString() { return ""; }
+
+    /// Returns the name that [ReferenceAstNode]s use to refer to this node, or `null`.
+    default String getAnchor() { return null; }
+
+    /// Returns the offset of the first character of this node in its source, or `-1` if unknown.
+    default int getStartOffset() { return -1; }
+
+    /// Returns the offset just past the last character of this node in its source, or `-1` if unknown.
+    default int getEndOffset() { return -1; }
+
+    /// Returns `true` if this node or any node below it has changed since it was parsed.
+    ///
+    /// Nodes that do not track changes always report `true`.
+    default boolean isDirty() { return true; }
+
+    /// Returns `true` if this node itself has changed: a scalar's value, or the set of
+    /// children of a container. A node can be dirty without being modified when only one
+    /// of its descendants changed.
+    default boolean isModified() { return isDirty(); }
 }
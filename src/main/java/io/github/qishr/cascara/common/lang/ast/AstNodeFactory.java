@@ -1,6 +1,9 @@
 package io.github.qishr.cascara.common.lang.ast;
 
+import java.util.List;
+
 import io.github.qishr.cascara.common.lang.type.Primitive;
+import io.github.qishr.cascara.common.lang.type.PrimitiveDelegate;
 import io.github.qishr.cascara.common.lang.util.QuoteStyle;
 
 public interface AstNodeFactory<
@@ -16,4 +19,67 @@ public interface AstNodeFactory<
     N createScalarKeyNode(Object key);
     L createSequenceNode();
     M createMapNode();
+
+    /// Creates a sequence holding `elements`, in order.
+    ///
+    /// Parsers that finish the children of a container before the container itself can call
+    /// this instead of filling an empty [#createSequenceNode()]. That lets factories of
+    /// immutable nodes, such as the hash-consing `FrozenNodeFactory`, build the tree.
+    default L createSequenceNode(List<? extends N> elements) {
+        L sequence = createSequenceNode();
+        for (N element : elements) {
+            sequence.add(element);
+        }
+        return sequence;
+    }
+
+    /// Creates a map holding each of `values` under the key at the same index of `keys`, in
+    /// order; see [#createSequenceNode(List)].
+    default M createMapNode(List<? extends N> keys, List<? extends N> values) {
+        if (keys.size() != values.size()) {
+            throw new IllegalArgumentException(keys.size() + " keys for " + values.size() + " values");
+        }
+        M map = createMapNode();
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), values.get(i));
+        }
+        return map;
+    }
+
+    /// Creates a scalar for literal text read by a parser. Common literals of the dialect,
+    /// such as its booleans, nulls and small integers, share one [Primitive], see
+    /// [Primitive#fromString(String, QuoteStyle, PrimitiveDelegate)].
+    default S createScalarNode(String unescapedContent, QuoteStyle quoteStyle, PrimitiveDelegate delegate) {
+        return createScalarNode(Primitive.fromString(unescapedContent, quoteStyle, delegate));
+    }
+
+    /// Creates a scalar for an int. Factories whose nodes can hold numbers unboxed
+    /// override this and its siblings; the defaults box, and share the [Primitive] of
+    /// small ints and booleans, see [Primitive#canonical(Object)].
+    default S createIntegerNode(int value) {
+        return createScalarNode(Primitive.canonical(value));
+    }
+
+    default S createLongNode(long value) {
+        return createScalarNode((Object) value);
+    }
+
+    default S createDoubleNode(double value) {
+        return createScalarNode((Object) value);
+    }
+
+    default S createBooleanNode(boolean value) {
+        return createScalarNode(Primitive.canonical(value));
+    }
+
+    /// Returns `true` if this factory implements [#createReferenceNode(String, AstNode)].
+    default boolean supportsReferences() {
+        return false;
+    }
+
+    /// Gives `target`, a node created earlier for the same tree, the anchor `anchor`, and
+    /// returns a [ReferenceAstNode] that refers to it by that name.
+    default N createReferenceNode(String anchor, N target) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not create references");
+    }
 }
@@ -0,0 +1,21 @@
+package io.github.qishr.cascara.common.lang.ast;
+
+/// A sequence that can hold its elements as a primitive array when they are all numbers.
+///
+/// Consumers that want numbers rather than nodes, such as a serializer binding to an
+/// `int[]`, check [#isNumeric()] once and then read with [#getLong(int)] or
+/// [#getDouble(int)], which do not create element nodes.
+public interface NumericSequenceAstNode<T extends AstNode> extends SequenceAstNode<T> {
+    /// Returns `true` if every element is currently held as a number of one kind.
+    boolean isNumeric();
+
+    /// Returns `true` if the elements are whole numbers, `false` if they are doubles.
+    /// Only meaningful while [#isNumeric()] is `true`.
+    boolean isIntegral();
+
+    /// Returns element `index` as a long.
+    long getLong(int index);
+
+    /// Returns element `index` as a double.
+    double getDouble(int index);
+}
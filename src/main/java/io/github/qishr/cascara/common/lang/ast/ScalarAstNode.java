@@ -1,6 +1,7 @@
 package io.github.qishr.cascara.common.lang.ast;
 
 import io.github.qishr.cascara.common.lang.annotation.Nullable;
+import io.github.qishr.cascara.common.lang.type.NumberScanner;
 import io.github.qishr.cascara.common.lang.util.QuoteStyle;
 
 public interface ScalarAstNode<T extends AstNode> extends AstNode {
@@ -29,14 +30,62 @@ public interface ScalarAstNode<T extends AstNode> extends AstNode {
     /// If the primitive is `null`, an empty string is returned.
     String asString();
 
-    int asInteger();
-    int asInteger(int defaultValue);
-    double asDouble();
-    double asDouble(double defaultValue);
+    default int asInteger() {
+        return asInteger(0);
+    }
+
+    /// Returns the value as an int, or `defaultValue` if it is neither a number nor text that
+    /// reads as one. This default reads [#getPrimitive()] and scans [#asString()] otherwise.
+    default int asInteger(int defaultValue) {
+        if (getPrimitive() instanceof Number number) return number.intValue();
+        return NumberScanner.parseInt(asString(), defaultValue);
+    }
+
+    default double asDouble() {
+        return asDouble(0);
+    }
+
+    /// Returns the value as a double, or `defaultValue` if it is neither a number nor text
+    /// that reads as one. This default reads [#getPrimitive()] and scans [#asString()] otherwise.
+    default double asDouble(double defaultValue) {
+        if (getPrimitive() instanceof Number number) return number.doubleValue();
+        return NumberScanner.parseDouble(asString(), defaultValue);
+    }
+
+    default long asLong() {
+        return asLong(0);
+    }
+
+    /// Returns the value as a long, or `defaultValue` if it is not a whole number that fits.
+    default long asLong(long defaultValue) {
+        Object value = getPrimitive();
+        if (value instanceof Number number) return number.longValue();
+        return value == null ? defaultValue : NumberScanner.parseLong(value.toString(), defaultValue);
+    }
+
+    /// Returns `true` if the value is a number or boolean held without boxing, so that
+    /// [#asInteger(int)], [#asLong(long)], [#asDouble(double)] and [#asBoolean(boolean)]
+    /// read it directly.
+    default boolean isUnboxed() {
+        return false;
+    }
 
     /// Returns the boolean value of the scalar, if there is one.
-    boolean asBoolean();
+    default boolean asBoolean() {
+        return asBoolean(false);
+    }
 
     /// Returns the boolean value of the scalar, if there is one, otherwise the specified default is returned.
-    boolean asBoolean(boolean defaultValue);
+    /// Like [#asInteger(int)], this default returns `defaultValue` for text that does not read
+    /// as `true` or `false`.
+    default boolean asBoolean(boolean defaultValue) {
+        Object value = getPrimitive();
+        if (value instanceof Boolean b) return b;
+        if (value instanceof String s) {
+            String text = s.trim();
+            if (text.equalsIgnoreCase("true")) return true;
+            if (text.equalsIgnoreCase("false")) return false;
+        }
+        return defaultValue;
+    }
 }
\ No newline at end of file
@@ -8,6 +8,19 @@ public interface SequenceAstNode<T extends AstNode> extends AstNode, Iterable<T>
     boolean isEmpty();
     SequenceAstNode<T> clear();
     SequenceAstNode<T> add(T node);
+
+    /// Inserts `node` at `index`, shifting later elements up.
+    default SequenceAstNode<T> add(int index, T node) {
+        getElements().add(index, node);
+        return this;
+    }
+
+    /// Replaces the element at `index` with `node`.
+    default SequenceAstNode<T> set(int index, T node) {
+        getElements().set(index, node);
+        return this;
+    }
+
     SequenceAstNode<T> remove(T node);
     SequenceAstNode<T> remove(int index);
     T get(int index);
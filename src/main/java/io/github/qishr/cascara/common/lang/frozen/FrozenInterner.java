@@ -0,0 +1,104 @@
+package io.github.qishr.cascara.common.lang.frozen;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.github.qishr.cascara.common.diagnostic.Reporter;
+import io.github.qishr.cascara.common.diagnostic.code.LangDiagnosticCode;
+import io.github.qishr.cascara.common.lang.util.AstStructure;
+
+/// Hash-conses frozen subtrees so that structurally equal subtrees share one node graph.
+///
+/// [FrozenNode#freeze(AstNode, FrozenInterner)] passes every node it creates through
+/// [#intern(FrozenNode)] bottom-up, so children are interned before the containers that hold
+/// them. The first node of each shape becomes canonical; later equal nodes are dropped in
+/// favour of it. Only frozen nodes are interned: they cannot be edited and have no parent, so
+/// a node that occurs in several places behaves the same in each of them. A shared node keeps
+/// the source positions of its first occurrence.
+///
+/// Canonical nodes are held in a weak table keyed by the structural hash each frozen node
+/// carries, so an interner can be reused across documents without keeping them alive.
+/// Its methods are synchronized, so documents may also be frozen or built through one
+/// interner from several threads at once.
+public class FrozenInterner {
+    /// A rough per-node footprint (object header, fields, array slot) used for the savings estimate.
+    public static final int ESTIMATED_NODE_BYTES = 48;
+
+    private final Map<Long,Candidate> table = new HashMap<>();
+    private final ReferenceQueue<FrozenNode> cleared = new ReferenceQueue<>();
+
+    private long internedCount;
+    private long sharedCount;
+
+    /// Returns the canonical node structurally equal to `node`, registering `node` if it is the first.
+    public synchronized FrozenNode intern(FrozenNode node) {
+        if (node == null) return null;
+        expungeCleared();
+        internedCount++;
+
+        long hash = node.getStructuralHash();
+        Candidate head = table.get(hash);
+        for (Candidate candidate = head; candidate != null; candidate = candidate.next) {
+            FrozenNode canonical = candidate.get();
+            if (canonical == node) return node;
+            if (canonical != null && AstStructure.equals(canonical, node)) {
+                sharedCount++;
+                return canonical;
+            }
+        }
+        table.put(hash, new Candidate(node, hash, head, cleared));
+        return node;
+    }
+
+    /// Returns the number of nodes passed to [#intern(FrozenNode)].
+    public synchronized long getInternedCount() {
+        return internedCount;
+    }
+
+    /// Returns the number of interned nodes that were replaced by an existing canonical node.
+    /// Children are interned before their containers, so every released node, entries
+    /// included, is counted once.
+    public synchronized long getSharedCount() {
+        return sharedCount;
+    }
+
+    /// Returns an estimate of the heap no longer needed thanks to sharing.
+    public synchronized long getEstimatedBytesSaved() {
+        return sharedCount * ESTIMATED_NODE_BYTES;
+    }
+
+    /// Reports the sharing statistics of this interner.
+    public synchronized void report(Reporter reporter) {
+        reporter.info(LangDiagnosticCode.HASH_CONSING_SUMMARY, sharedCount, internedCount, getEstimatedBytesSaved());
+    }
+
+    private void expungeCleared() {
+        Candidate stale;
+        while ((stale = (Candidate) cleared.poll()) != null) {
+            Candidate head = table.get(stale.hash);
+            Candidate kept = null;
+            for (Candidate c = head; c != null; c = c.next) {
+                FrozenNode node = c.get();
+                if (c != stale && node != null) kept = new Candidate(node, c.hash, kept, cleared);
+            }
+            if (kept == null) {
+                table.remove(stale.hash);
+            } else {
+                table.put(stale.hash, kept);
+            }
+        }
+    }
+
+    private static final class Candidate extends WeakReference<FrozenNode> {
+        private final long hash;
+        private final Candidate next;
+
+        Candidate(FrozenNode node, long hash, Candidate next, ReferenceQueue<FrozenNode> queue) {
+            super(node, queue);
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.qishr.cascara.common.lang.frozen;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.MapEntryAstNode;
+
+public final class FrozenMapEntryNode extends FrozenNode implements MapEntryAstNode<FrozenNode> {
+    private final FrozenNode key;
+    private final FrozenNode value;
+    private final List<FrozenNode> children;
+
+    FrozenMapEntryNode(AstNode source, long structuralHash, FrozenNode key, FrozenNode value) {
+        super(source, structuralHash);
+        this.key = key;
+        this.value = value;
+        this.children = List.of(key, value);
+    }
+
+    @Override
+    public FrozenNode getKey() {
+        return key;
+    }
+
+    @Override
+    public FrozenNode getValue() {
+        return value;
+    }
+
+    @Override
+    public FrozenMapEntryNode setRaw(FrozenNode value) {
+        throw frozen();
+    }
+
+    @Override
+    public List<FrozenNode> getChildren() {
+        return children;
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.qishr.cascara.common.lang.frozen;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.MapAstNode;
+
+public final class FrozenMapNode extends FrozenNode implements MapAstNode<FrozenNode, FrozenMapEntryNode> {
+    /// Maps with at least this many entries get a key index when they are frozen.
+    public static final int INDEX_THRESHOLD = 8;
+
+    private final List<FrozenMapEntryNode> entries;
+    private final List<FrozenNode> values;
+    private final Set<FrozenNode> keys;
+    /// The first entry for each key text; `null` for small maps, which are scanned instead.
+    private final Map<String,FrozenMapEntryNode> index;
+
+    FrozenMapNode(AstNode source, long structuralHash, FrozenMapEntryNode[] entries) {
+        super(source, structuralHash);
+        this.entries = Collections.unmodifiableList(Arrays.asList(entries));
+
+        FrozenNode[] values = new FrozenNode[entries.length];
+        Set<FrozenNode> keys = new LinkedHashSet<>();
+        for (int i = 0; i < entries.length; i++) {
+            values[i] = entries[i].getValue();
+            keys.add(entries[i].getKey());
+        }
+        this.values = Collections.unmodifiableList(Arrays.asList(values));
+        this.keys = Collections.unmodifiableSet(keys);
+
+        if (entries.length >= INDEX_THRESHOLD) {
+            Map<String,FrozenMapEntryNode> index = new HashMap<>(entries.length * 2);
+            for (FrozenMapEntryNode entry : entries) {
+                index.putIfAbsent(entry.getKey().asString(), entry);
+            }
+            this.index = Map.copyOf(index);
+        } else {
+            this.index = null;
+        }
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    private FrozenMapEntryNode findEntry(String key) {
+        if (key == null) return null;
+        if (index != null) return index.get(key);
+        for (FrozenMapEntryNode entry : entries) {
+            if (key.equals(entry.getKey().asString())) return entry;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return findEntry(key) != null;
+    }
+
+    @Override
+    public FrozenNode get(String key) {
+        FrozenMapEntryNode entry = findEntry(key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    /// Finds the entry whose key is structurally equal to `key`.
+    @Override
+    public FrozenMapEntryNode getEntry(FrozenNode key) {
+        if (key == null) return null;
+        FrozenMapEntryNode entry = findEntry(key.asString());
+        if (entry == null || entry.getKey().equals(key)) return entry;
+        for (FrozenMapEntryNode candidate : entries) {
+            if (candidate.getKey().equals(key)) return candidate;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(FrozenNode key) {
+        return getEntry(key) != null;
+    }
+
+    @Override
+    public FrozenNode get(FrozenNode key) {
+        FrozenMapEntryNode entry = getEntry(key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    public FrozenMapNode getMap(String key) {
+        return (get(key) instanceof FrozenMapNode map) ? map : null;
+    }
+
+    @Override
+    public FrozenSequenceNode getSequence(String key) {
+        return (get(key) instanceof FrozenSequenceNode sequence) ? sequence : null;
+    }
+
+    /// Returns an unmodifiable list of the entries, in document order.
+    @Override
+    public List<FrozenMapEntryNode> getEntries() {
+        return entries;
+    }
+
+    @Override
+    public Set<FrozenMapEntryNode> entrySet() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(entries));
+    }
+
+    @Override
+    public Set<FrozenNode> keySet() {
+        return keys;
+    }
+
+    @Override
+    public List<FrozenNode> values() {
+        return values;
+    }
+
+    @Override
+    public List<FrozenMapEntryNode> getChildren() {
+        return entries;
+    }
+
+    @Override
+    public FrozenMapNode put(FrozenNode key, FrozenNode value) {
+        throw frozen();
+    }
+
+    @Override
+    public FrozenMapNode put(String key, FrozenNode value) {
+        throw frozen();
+    }
+
+    @Override
+    public FrozenMapNode put(String key, String value) {
+        throw frozen();
+    }
+
+    @Override
+    public FrozenMapNode remove(FrozenNode key) {
+        throw frozen();
+    }
+
+    @Override
+    public FrozenMapNode remove(String key) {
+        throw frozen();
+    }
+}
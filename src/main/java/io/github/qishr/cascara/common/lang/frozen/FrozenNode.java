@@ -0,0 +1,146 @@
+package io.github.qishr.cascara.common.lang.frozen;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.CommentAstNode;
+import io.github.qishr.cascara.common.lang.ast.MapAstNode;
+import io.github.qishr.cascara.common.lang.ast.MapEntryAstNode;
+import io.github.qishr.cascara.common.lang.ast.ScalarAstNode;
+import io.github.qishr.cascara.common.lang.ast.SequenceAstNode;
+import io.github.qishr.cascara.common.lang.util.AstStructure;
+
+/// A deeply immutable AST node.
+///
+/// [#freeze(AstNode)] copies any tree into frozen nodes. Every field of a frozen node is
+/// final and children are held in arrays that never change, so a frozen tree is safely
+/// published by the final-field guarantees of the Java memory model and can be read from
+/// any number of threads without locks or defensive copies. Mutating methods throw
+/// [UnsupportedOperationException].
+///
+/// Each node stores its structural hash, computed once while freezing, so frozen nodes are
+/// cheap to use as hash keys and compare structurally in [#equals(Object)]. Maps above a
+/// small size carry a precomputed key index.
+///
+/// Because frozen nodes cannot change, equal subtrees can safely share one node; freezing
+/// through a [FrozenInterner] does that, and so does building the tree with a
+/// [FrozenNodeFactory] in the first place.
+public abstract sealed class FrozenNode implements AstNode
+    permits FrozenScalarNode, FrozenSequenceNode, FrozenMapNode, FrozenMapEntryNode {
+
+    private final int startLine;
+    private final int startColumn;
+    private final int endLine;
+    private final int endColumn;
+    private final int startOffset;
+    private final int endOffset;
+    private final long structuralHash;
+
+    /// Copies the source positions of `source`; without one the node has no position.
+    FrozenNode(AstNode source, long structuralHash) {
+        if (source != null) {
+            this.startLine = source.getStartLine();
+            this.startColumn = source.getStartColumn();
+            this.endLine = source.getEndLine();
+            this.endColumn = source.getEndColumn();
+            this.startOffset = source.getStartOffset();
+            this.endOffset = source.getEndOffset();
+        } else {
+            this.startLine = 0;
+            this.startColumn = 0;
+            this.endLine = 0;
+            this.endColumn = 0;
+            this.startOffset = -1;
+            this.endOffset = -1;
+        }
+        this.structuralHash = structuralHash;
+    }
+
+    /// Returns a frozen copy of `node`, or `node` itself if it is already frozen.
+    public static FrozenNode freeze(AstNode node) {
+        if (node instanceof FrozenNode frozen) return frozen;
+        return freeze(node, new AstStructure.HashCache(), null);
+    }
+
+    /// Returns a frozen copy of `node` in which structurally equal subtrees, within this tree
+    /// and with earlier trees frozen through the same `interner`, share one node.
+    public static FrozenNode freeze(AstNode node, FrozenInterner interner) {
+        if (node instanceof FrozenNode frozen) return interner.intern(frozen);
+        return freeze(node, new AstStructure.HashCache(), interner);
+    }
+
+    static FrozenNode freeze(AstNode node, AstStructure.HashCache hashes, FrozenInterner interner) {
+        if (node instanceof FrozenNode frozen) return frozen;
+        long hash = hashes.hash(node);
+        FrozenNode result;
+        if (node instanceof MapAstNode<?,?> map) {
+            List<? extends MapEntryAstNode<?>> entries = map.getEntries();
+            FrozenMapEntryNode[] frozen = new FrozenMapEntryNode[entries.size()];
+            for (int i = 0; i < frozen.length; i++) {
+                MapEntryAstNode<?> entry = entries.get(i);
+                FrozenNode frozenEntry = new FrozenMapEntryNode(entry, hashes.hash(entry),
+                    freeze(entry.getKey(), hashes, interner), freeze(entry.getValue(), hashes, interner));
+                frozen[i] = (FrozenMapEntryNode) (interner != null ? interner.intern(frozenEntry) : frozenEntry);
+            }
+            result = new FrozenMapNode(node, hash, frozen);
+        } else if (node instanceof SequenceAstNode<?> sequence) {
+            List<? extends AstNode> elements = sequence.getElements();
+            FrozenNode[] frozen = new FrozenNode[elements.size()];
+            for (int i = 0; i < frozen.length; i++) {
+                frozen[i] = freeze(elements.get(i), hashes, interner);
+            }
+            result = new FrozenSequenceNode(node, hash, frozen);
+        } else if (node instanceof ScalarAstNode<?> scalar) {
+            result = new FrozenScalarNode(node, hash, scalar.getPrimitive(), scalar.getQuoteStyle());
+        } else {
+            // Other node kinds keep only their text
+            result = new FrozenScalarNode(node, hash, node.asString(), null);
+        }
+        return interner != null ? interner.intern(result) : result;
+    }
+
+    @Override
+    public int getStartLine() { return startLine; }
+    @Override
+    public int getStartColumn() { return startColumn; }
+    @Override
+    public int getEndLine() { return endLine; }
+    @Override
+    public int getEndColumn() { return endColumn; }
+    @Override
+    public int getStartOffset() { return startOffset; }
+    @Override
+    public int getEndOffset() { return endOffset; }
+
+    /// Frozen nodes never change.
+    @Override
+    public boolean isDirty() { return false; }
+
+    @Override
+    public List<? extends CommentAstNode> getComments() {
+        return List.of();
+    }
+
+    /// Returns the [AstStructure] hash of this node, computed when it was frozen.
+    public long getStructuralHash() {
+        return structuralHash;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (structuralHash ^ (structuralHash >>> 32));
+    }
+
+    /// Frozen nodes are equal when they are structurally equal.
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        return o instanceof FrozenNode other
+            && other.structuralHash == structuralHash
+            && AstStructure.equals(this, other);
+    }
+
+    static UnsupportedOperationException frozen() {
+        return new UnsupportedOperationException("Frozen AST nodes cannot be modified");
+    }
+}
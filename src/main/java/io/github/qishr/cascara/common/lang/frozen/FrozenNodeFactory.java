@@ -0,0 +1,107 @@
+package io.github.qishr.cascara.common.lang.frozen;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.ast.AstNodeFactory;
+import io.github.qishr.cascara.common.lang.type.Primitive;
+import io.github.qishr.cascara.common.lang.util.AstStructure;
+import io.github.qishr.cascara.common.lang.util.QuoteStyle;
+
+/// An [AstNodeFactory] that builds frozen trees, hash-consing every node as it is created.
+///
+/// A parser that opts into this factory gets the sharing of
+/// [FrozenNode#freeze(AstNode, FrozenInterner)] without building a mutable tree first: each
+/// node goes through the [FrozenInterner] as soon as it exists, so a duplicate subtree is
+/// released the moment the parser has finished it rather than after the whole document.
+///
+/// Frozen containers cannot be filled after they are created, so parsers build them from
+/// their finished children with [#createSequenceNode(List)] and [#createMapNode(List, List)].
+/// [#createSequenceNode()] and [#createMapNode()] return empty nodes.
+///
+/// Nodes created here have no source positions; a shared node could only keep those of one
+/// of its occurrences anyway. The factory keeps no state besides its interner, so it is as
+/// thread-safe as the interner is.
+public final class FrozenNodeFactory implements
+    AstNodeFactory<FrozenNode, FrozenScalarNode, FrozenSequenceNode, FrozenMapNode, FrozenMapEntryNode> {
+
+    private final FrozenInterner interner;
+
+    /// Creates a factory that interns through a new [FrozenInterner].
+    public FrozenNodeFactory() {
+        this(new FrozenInterner());
+    }
+
+    /// Creates a factory that interns through `interner`, sharing nodes with every tree
+    /// frozen or built through it.
+    public FrozenNodeFactory(FrozenInterner interner) {
+        if (interner == null) throw new IllegalArgumentException("interner is null");
+        this.interner = interner;
+    }
+
+    public FrozenInterner getInterner() {
+        return interner;
+    }
+
+    @Override
+    public FrozenScalarNode createScalarNode(Object primitiveValue) {
+        return createScalarNode(primitiveValue, QuoteStyle.PLAIN);
+    }
+
+    @Override
+    public FrozenScalarNode createScalarNode(Object primitiveValue, QuoteStyle quoteStyle) {
+        Object value = (primitiveValue instanceof Primitive primitive) ? primitive.unwrap() : primitiveValue;
+        return intern(new FrozenScalarNode(null, AstStructure.hashScalar(value, quoteStyle), value, quoteStyle));
+    }
+
+    @Override
+    public FrozenScalarNode createScalarNode(Primitive primitive) {
+        return createScalarNode(primitive.unwrap(), primitive.getQuoteStyle());
+    }
+
+    @Override
+    public FrozenNode createScalarKeyNode(Object key) {
+        return createScalarNode(key, QuoteStyle.PLAIN);
+    }
+
+    @Override
+    public FrozenSequenceNode createSequenceNode() {
+        return createSequenceNode(List.of());
+    }
+
+    @Override
+    public FrozenSequenceNode createSequenceNode(List<? extends FrozenNode> elements) {
+        FrozenNode[] children = elements.toArray(new FrozenNode[0]);
+        long[] hashes = new long[children.length];
+        for (int i = 0; i < children.length; i++) {
+            hashes[i] = children[i].getStructuralHash();
+        }
+        return intern(new FrozenSequenceNode(null, AstStructure.hashSequence(hashes), children));
+    }
+
+    @Override
+    public FrozenMapNode createMapNode() {
+        return createMapNode(List.of(), List.of());
+    }
+
+    @Override
+    public FrozenMapNode createMapNode(List<? extends FrozenNode> keys, List<? extends FrozenNode> values) {
+        if (keys.size() != values.size()) {
+            throw new IllegalArgumentException(keys.size() + " keys for " + values.size() + " values");
+        }
+        FrozenMapEntryNode[] entries = new FrozenMapEntryNode[keys.size()];
+        long[] hashes = new long[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            FrozenNode key = keys.get(i);
+            FrozenNode value = values.get(i);
+            long hash = AstStructure.hashEntry(key.getStructuralHash(), value.getStructuralHash());
+            entries[i] = intern(new FrozenMapEntryNode(null, hash, key, value));
+            hashes[i] = hash;
+        }
+        return intern(new FrozenMapNode(null, AstStructure.hashMap(hashes), entries));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends FrozenNode> T intern(T node) {
+        return (T) interner.intern(node);
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.qishr.cascara.common.lang.frozen;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.ScalarAstNode;
+import io.github.qishr.cascara.common.lang.type.Primitive;
+import io.github.qishr.cascara.common.lang.util.QuoteStyle;
+
+public final class FrozenScalarNode extends FrozenNode implements ScalarAstNode<FrozenNode> {
+    private final Object value;
+    private final QuoteStyle quoteStyle;
+    private final String text;
+
+    FrozenScalarNode(AstNode source, long structuralHash, Object value, QuoteStyle quoteStyle) {
+        super(source, structuralHash);
+        // A Primitive caches lazily and is not safe to share, so keep only its native value
+        this.value = (value instanceof Primitive primitive) ? primitive.unwrap() : value;
+        this.quoteStyle = quoteStyle;
+        this.text = this.value == null ? "" : this.value.toString();
+    }
+
+    @Override
+    public QuoteStyle getQuoteStyle() {
+        return quoteStyle;
+    }
+
+    @Override
+    public FrozenScalarNode setQuoteStyle(QuoteStyle style) {
+        throw frozen();
+    }
+
+    @Nullable
+    @Override
+    public String getRaw() {
+        return value == null ? null : text;
+    }
+
+    @Nullable
+    @Override
+    public Object getPrimitive() {
+        return value;
+    }
+
+    @Override
+    public FrozenScalarNode setPrimitive(Object value) {
+        throw frozen();
+    }
+
+    @Override
+    public String asString() {
+        return text;
+    }
+
+    @Override
+    public List<FrozenNode> getChildren() {
+        return List.of();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
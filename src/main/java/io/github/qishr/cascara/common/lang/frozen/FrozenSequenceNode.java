@@ -0,0 +1,79 @@
+package io.github.qishr.cascara.common.lang.frozen;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.SequenceAstNode;
+
+public final class FrozenSequenceNode extends FrozenNode implements SequenceAstNode<FrozenNode> {
+    private final List<FrozenNode> elements;
+
+    FrozenSequenceNode(AstNode source, long structuralHash, FrozenNode[] elements) {
+        super(source, structuralHash);
+        this.elements = Collections.unmodifiableList(Arrays.asList(elements));
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    @Override
+    public FrozenNode get(int index) {
+        return elements.get(index);
+    }
+
+    /// Returns an unmodifiable list of the elements.
+    @Override
+    public List<FrozenNode> getElements() {
+        return elements;
+    }
+
+    @Override
+    public List<FrozenNode> getChildren() {
+        return elements;
+    }
+
+    @Override
+    public Iterator<FrozenNode> iterator() {
+        return elements.iterator();
+    }
+
+    @Override
+    public FrozenSequenceNode clear() {
+        throw frozen();
+    }
+
+    @Override
+    public FrozenSequenceNode add(FrozenNode node) {
+        throw frozen();
+    }
+
+    @Override
+    public FrozenSequenceNode add(int index, FrozenNode node) {
+        throw frozen();
+    }
+
+    @Override
+    public FrozenSequenceNode set(int index, FrozenNode node) {
+        throw frozen();
+    }
+
+    @Override
+    public FrozenSequenceNode remove(FrozenNode node) {
+        throw frozen();
+    }
+
+    @Override
+    public FrozenSequenceNode remove(int index) {
+        throw frozen();
+    }
+}
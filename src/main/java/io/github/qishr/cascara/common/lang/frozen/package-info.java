@@ -0,0 +1,2 @@
+/// Deeply immutable ASTs that can be shared between threads without locking.
+package io.github.qishr.cascara.common.lang.frozen;
@@ -0,0 +1,149 @@
+package io.github.qishr.cascara.common.lang.persistent;
+
+/// A persistent vector stored as a 32-way trie of chunks plus a detached tail chunk.
+///
+/// `get`, `set`, `append` and `removeLast` copy only the O(log32 n) chunks on one path
+/// and share the rest with the previous version. Appends usually touch only the tail.
+final class ChunkedVector<T> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_CHUNK = new Object[0];
+    private static final ChunkedVector<?> EMPTY = new ChunkedVector<>(0, BITS, new Object[WIDTH], EMPTY_CHUNK);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private ChunkedVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> ChunkedVector<T> empty() {
+        return (ChunkedVector<T>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] chunkFor(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        if (index >= tailOffset()) return tail;
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int index) {
+        return (T) chunkFor(index)[index & MASK];
+    }
+
+    ChunkedVector<T> set(int index, T value) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = value;
+            return new ChunkedVector<>(size, shift, root, newTail);
+        }
+        return new ChunkedVector<>(size, shift, set(shift, root, index, value), tail);
+    }
+
+    private static Object[] set(int level, Object[] node, int index, Object value) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = value;
+        } else {
+            int slot = (index >>> level) & MASK;
+            copy[slot] = set(level - BITS, (Object[]) node[slot], index, value);
+        }
+        return copy;
+    }
+
+    ChunkedVector<T> append(T value) {
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = new Object[tail.length + 1];
+            System.arraycopy(tail, 0, newTail, 0, tail.length);
+            newTail[tail.length] = value;
+            return new ChunkedVector<>(size + 1, shift, root, newTail);
+        }
+        // The tail is full: push it into the trie, growing a level if the trie is full too
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = path(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new ChunkedVector<>(size + 1, newShift, newRoot, new Object[] { value });
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int slot = ((size - 1) >>> level) & MASK;
+        Object[] copy = parent.clone();
+        if (level == BITS) {
+            copy[slot] = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[slot];
+            copy[slot] = (child != null) ? pushTail(level - BITS, child, tailNode) : path(level - BITS, tailNode);
+        }
+        return copy;
+    }
+
+    private static Object[] path(int level, Object[] node) {
+        if (level == 0) return node;
+        Object[] parent = new Object[WIDTH];
+        parent[0] = path(level - BITS, node);
+        return parent;
+    }
+
+    ChunkedVector<T> removeLast() {
+        if (size == 0) throw new IllegalStateException("Cannot remove from an empty vector");
+        if (size == 1) return empty();
+        if (size - tailOffset() > 1) {
+            Object[] newTail = new Object[tail.length - 1];
+            System.arraycopy(tail, 0, newTail, 0, newTail.length);
+            return new ChunkedVector<>(size - 1, shift, root, newTail);
+        }
+        // The tail empties: the last chunk of the trie becomes the new tail
+        Object[] newTail = chunkFor(size - 2);
+        Object[] newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) newRoot = new Object[WIDTH];
+        if (shift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new ChunkedVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    private Object[] popTail(int level, Object[] node) {
+        int slot = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Object[] child = popTail(level - BITS, (Object[]) node[slot]);
+            if (child == null && slot == 0) return null;
+            Object[] copy = node.clone();
+            copy[slot] = child;
+            return copy;
+        }
+        if (slot == 0) return null;
+        Object[] copy = node.clone();
+        copy[slot] = null;
+        return copy;
+    }
+}
@@ -0,0 +1,206 @@
+package io.github.qishr.cascara.common.lang.persistent;
+
+/// A persistent hash array mapped trie from `String` keys to values.
+///
+/// Each level consumes five bits of the key's hash and stores only the slots in use, as
+/// a 32-bit bitmap plus a packed array. Updates copy the O(log32 n) nodes on the path to
+/// the changed slot and share everything else with the previous version.
+final class HashTrie<V> {
+    private static final HashTrie<?> EMPTY = new HashTrie<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private HashTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> HashTrie<V> empty() {
+        return (HashTrie<V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(String key) {
+        return root == null ? null : (V) root.get(0, key.hashCode(), key);
+    }
+
+    HashTrie<V> put(String key, V value) {
+        boolean[] added = new boolean[1];
+        Node base = (root == null) ? BitmapNode.EMPTY : root;
+        Node updated = base.put(0, key.hashCode(), key, value, added);
+        return updated == root ? this : new HashTrie<>(updated, added[0] ? size + 1 : size);
+    }
+
+    HashTrie<V> remove(String key) {
+        if (root == null) return this;
+        Node updated = root.remove(0, key.hashCode(), key);
+        return updated == root ? this : new HashTrie<>(updated, size - 1);
+    }
+
+    private interface Node {
+        Object get(int shift, int hash, String key);
+        Node put(int shift, int hash, String key, Object value, boolean[] added);
+        Node remove(int shift, int hash, String key);
+    }
+
+    /// Slots hold either a key and its value, or `null` and a child node.
+    private static final class BitmapNode implements Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        public Object get(int shift, int hash, String key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) return null;
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[i];
+            if (k == null) return ((Node) array[i + 1]).get(shift + 5, hash, key);
+            return key.equals(k) ? array[i + 1] : null;
+        }
+
+        @Override
+        public Node put(int shift, int hash, String key, Object value, boolean[] added) {
+            int bit = bit(hash, shift);
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                Object[] copy = new Object[array.length + 2];
+                System.arraycopy(array, 0, copy, 0, i);
+                copy[i] = key;
+                copy[i + 1] = value;
+                System.arraycopy(array, i, copy, i + 2, array.length - i);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, copy);
+            }
+
+            Object k = array[i];
+            Object v = array[i + 1];
+            Object replacement;
+            if (k == null) {
+                Node child = ((Node) v).put(shift + 5, hash, key, value, added);
+                if (child == v) return this;
+                replacement = child;
+            } else if (key.equals(k)) {
+                if (v == value) return this;
+                return with(i + 1, k, value);
+            } else {
+                added[0] = true;
+                replacement = split(shift + 5, (String) k, v, hash, key, value);
+            }
+            return with(i, null, replacement);
+        }
+
+        @Override
+        public Node remove(int shift, int hash, String key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) return this;
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[i];
+            if (k == null) {
+                Node child = ((Node) array[i + 1]).remove(shift + 5, hash, key);
+                if (child == array[i + 1]) return this;
+                if (child != null) return with(i, null, child);
+            } else if (!key.equals(k)) {
+                return this;
+            }
+            if (bitmap == bit) return null;
+            Object[] copy = new Object[array.length - 2];
+            System.arraycopy(array, 0, copy, 0, i);
+            System.arraycopy(array, i + 2, copy, i, array.length - i - 2);
+            return new BitmapNode(bitmap & ~bit, copy);
+        }
+
+        /// Returns a copy with slot pair `i` (or just the value, for odd `i`) replaced.
+        private BitmapNode with(int i, Object key, Object value) {
+            Object[] copy = array.clone();
+            if ((i & 1) == 0) {
+                copy[i] = key;
+                copy[i + 1] = value;
+            } else {
+                copy[i] = value;
+            }
+            return new BitmapNode(bitmap, copy);
+        }
+
+        private static Node split(int shift, String k1, Object v1, int h2, String k2, Object v2) {
+            int h1 = k1.hashCode();
+            if (h1 == h2) return new CollisionNode(h1, new Object[] { k1, v1, k2, v2 });
+            boolean[] added = new boolean[1];
+            return EMPTY.put(shift, h1, k1, v1, added).put(shift, h2, k2, v2, added);
+        }
+    }
+
+    /// Keys whose full 32-bit hashes are equal.
+    private static final class CollisionNode implements Node {
+        private final int hash;
+        private final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(String key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        public Object get(int shift, int hash, String key) {
+            int i = indexOf(key);
+            return i < 0 ? null : array[i + 1];
+        }
+
+        @Override
+        public Node put(int shift, int hash, String key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                // Nest this node under a bitmap node and insert beside it
+                return new BitmapNode(bit(this.hash, shift), new Object[] { null, this })
+                    .put(shift, hash, key, value, added);
+            }
+            int i = indexOf(key);
+            Object[] copy;
+            if (i < 0) {
+                copy = new Object[array.length + 2];
+                System.arraycopy(array, 0, copy, 0, array.length);
+                copy[array.length] = key;
+                copy[array.length + 1] = value;
+                added[0] = true;
+            } else {
+                if (array[i + 1] == value) return this;
+                copy = array.clone();
+                copy[i + 1] = value;
+            }
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        public Node remove(int shift, int hash, String key) {
+            int i = indexOf(key);
+            if (i < 0) return this;
+            if (array.length == 2) return null;
+            Object[] copy = new Object[array.length - 2];
+            System.arraycopy(array, 0, copy, 0, i);
+            System.arraycopy(array, i + 2, copy, i, array.length - i - 2);
+            return new CollisionNode(hash, copy);
+        }
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & 31);
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.qishr.cascara.common.lang.persistent;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.ast.MapEntryAstNode;
+
+public final class PersistentMapEntryNode extends PersistentNode implements MapEntryAstNode<PersistentNode> {
+    private final PersistentNode key;
+    private final PersistentNode value;
+
+    PersistentMapEntryNode(PersistentNode key, PersistentNode value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    @Override
+    public PersistentNode getKey() {
+        return key;
+    }
+
+    @Override
+    public PersistentNode getValue() {
+        return value;
+    }
+
+    /// Returns a copy of this entry with the given value. The map holding this entry is not changed.
+    @Override
+    public PersistentMapEntryNode setRaw(PersistentNode value) {
+        return value == this.value ? this : new PersistentMapEntryNode(key, value);
+    }
+
+    @Override
+    public List<PersistentNode> getChildren() {
+        return List.of(key, value);
+    }
+}
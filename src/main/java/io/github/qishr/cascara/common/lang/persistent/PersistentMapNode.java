@@ -0,0 +1,189 @@
+package io.github.qishr.cascara.common.lang.persistent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.github.qishr.cascara.common.lang.ast.MapAstNode;
+import io.github.qishr.cascara.common.lang.ast.ScalarAstNode;
+
+public final class PersistentMapNode extends PersistentNode implements MapAstNode<PersistentNode, PersistentMapEntryNode> {
+    private static final PersistentMapNode EMPTY = new PersistentMapNode(ChunkedVector.empty(), HashTrie.empty(), 0);
+
+    /// Entries in insertion order; removed entries leave a `null` until the next compaction.
+    private final ChunkedVector<PersistentMapEntryNode> slots;
+    /// The slot of the first entry for each key text.
+    private final HashTrie<Integer> positions;
+    private final int size;
+
+    /// The live entries, built on first use. The list is immutable, so a racy publish is safe.
+    private List<PersistentMapEntryNode> entries;
+
+    private PersistentMapNode(ChunkedVector<PersistentMapEntryNode> slots, HashTrie<Integer> positions, int size) {
+        this.slots = slots;
+        this.positions = positions;
+        this.size = size;
+    }
+
+    public static PersistentMapNode empty() {
+        return EMPTY;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static String keyOf(PersistentNode key) {
+        return (key instanceof ScalarAstNode<?> scalar) ? scalar.asString() : String.valueOf(key);
+    }
+
+    private PersistentMapEntryNode findEntry(String key) {
+        Integer position = (key == null) ? null : positions.get(key);
+        return position == null ? null : slots.get(position);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return findEntry(key) != null;
+    }
+
+    @Override
+    public PersistentNode get(String key) {
+        PersistentMapEntryNode entry = findEntry(key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    public boolean containsKey(PersistentNode key) {
+        return getEntry(key) != null;
+    }
+
+    @Override
+    public PersistentNode get(PersistentNode key) {
+        PersistentMapEntryNode entry = getEntry(key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    /// Finds the entry by the text of `key`.
+    @Override
+    public PersistentMapEntryNode getEntry(PersistentNode key) {
+        return key == null ? null : findEntry(keyOf(key));
+    }
+
+    @Override
+    public PersistentMapNode getMap(String key) {
+        return (get(key) instanceof PersistentMapNode map) ? map : null;
+    }
+
+    @Override
+    public PersistentSequenceNode getSequence(String key) {
+        return (get(key) instanceof PersistentSequenceNode sequence) ? sequence : null;
+    }
+
+    /// Returns a new version in which `key` maps to `value`. A new key is added at the end.
+    @Override
+    public PersistentMapNode put(PersistentNode key, PersistentNode value) {
+        return put(keyOf(key), key, value);
+    }
+
+    /// Returns a new version in which `key` maps to `value`. A new key is added at the end.
+    @Override
+    public PersistentMapNode put(String key, PersistentNode value) {
+        return put(key, null, value);
+    }
+
+    @Override
+    public PersistentMapNode put(String key, String value) {
+        return put(key, null, PersistentScalarNode.of(value));
+    }
+
+    private PersistentMapNode put(String text, PersistentNode keyNode, PersistentNode value) {
+        Integer position = positions.get(text);
+        if (position != null) {
+            PersistentMapEntryNode entry = slots.get(position);
+            PersistentMapEntryNode updated = entry.setRaw(value);
+            return updated == entry ? this : new PersistentMapNode(slots.set(position, updated), positions, size);
+        }
+        PersistentNode key = (keyNode != null) ? keyNode : PersistentScalarNode.of(text);
+        return new PersistentMapNode(
+            slots.append(new PersistentMapEntryNode(key, value)),
+            positions.put(text, slots.size()),
+            size + 1);
+    }
+
+    /// Returns a new version without `key`.
+    @Override
+    public PersistentMapNode remove(PersistentNode key) {
+        return key == null ? this : remove(keyOf(key));
+    }
+
+    /// Returns a new version without `key`.
+    @Override
+    public PersistentMapNode remove(String key) {
+        Integer position = (key == null) ? null : positions.get(key);
+        if (position == null) return this;
+        PersistentMapNode result = new PersistentMapNode(slots.set(position, null), positions.remove(key), size - 1);
+        // Compact once removed slots outnumber live entries
+        int removed = result.slots.size() - result.size;
+        return (removed > 32 && removed > result.size) ? result.compact() : result;
+    }
+
+    private PersistentMapNode compact() {
+        ChunkedVector<PersistentMapEntryNode> compacted = ChunkedVector.empty();
+        HashTrie<Integer> index = HashTrie.empty();
+        for (PersistentMapEntryNode entry : getEntries()) {
+            String text = keyOf(entry.getKey());
+            if (index.get(text) == null) index = index.put(text, compacted.size());
+            compacted = compacted.append(entry);
+        }
+        return new PersistentMapNode(compacted, index, size);
+    }
+
+    /// Returns an unmodifiable list of the entries in insertion order, built once per version.
+    @Override
+    public List<PersistentMapEntryNode> getEntries() {
+        List<PersistentMapEntryNode> result = entries;
+        if (result == null) {
+            List<PersistentMapEntryNode> live = new ArrayList<>(size);
+            for (int i = 0; i < slots.size(); i++) {
+                PersistentMapEntryNode entry = slots.get(i);
+                if (entry != null) live.add(entry);
+            }
+            result = Collections.unmodifiableList(live);
+            entries = result;
+        }
+        return result;
+    }
+
+    @Override
+    public Set<PersistentMapEntryNode> entrySet() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(getEntries()));
+    }
+
+    @Override
+    public Set<PersistentNode> keySet() {
+        Set<PersistentNode> keys = new LinkedHashSet<>();
+        for (PersistentMapEntryNode entry : getEntries()) keys.add(entry.getKey());
+        return Collections.unmodifiableSet(keys);
+    }
+
+    @Override
+    public List<PersistentNode> values() {
+        List<PersistentNode> values = new ArrayList<>(size);
+        for (PersistentMapEntryNode entry : getEntries()) values.add(entry.getValue());
+        return Collections.unmodifiableList(values);
+    }
+
+    @Override
+    public List<PersistentMapEntryNode> getChildren() {
+        return getEntries();
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.qishr.cascara.common.lang.persistent;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.CommentAstNode;
+import io.github.qishr.cascara.common.lang.ast.MapAstNode;
+import io.github.qishr.cascara.common.lang.ast.MapEntryAstNode;
+import io.github.qishr.cascara.common.lang.ast.ScalarAstNode;
+import io.github.qishr.cascara.common.lang.ast.SequenceAstNode;
+
+/// An immutable AST node whose updates return new versions.
+///
+/// Unlike the reference nodes, `put`, `add`, `remove`, `set` and `clear` leave the receiver
+/// untouched and return the updated node, which shares every unchanged part with the
+/// original. Maps index their keys with a hash array mapped trie and keep their entries in
+/// a chunked vector, and sequences are chunked vectors, so a single update costs O(log n)
+/// (inserting or removing in the middle of a sequence is O(n)). Always use the returned
+/// node: `map = map.put(key, value)`.
+///
+/// Nested changes rebuild only the path from the root, see [#setIn(List, PersistentNode)].
+/// Because every version is immutable, readers holding one see a consistent tree while
+/// writers publish new roots, for example through a [PersistentRoot].
+public abstract sealed class PersistentNode implements AstNode
+    permits PersistentScalarNode, PersistentSequenceNode, PersistentMapNode, PersistentMapEntryNode {
+
+    PersistentNode() { }
+
+    /// Copies any tree into persistent nodes, or returns `node` if it is already persistent.
+    public static PersistentNode of(AstNode node) {
+        if (node instanceof PersistentNode persistent) return persistent;
+        if (node instanceof MapAstNode<?,?> map) {
+            PersistentMapNode result = PersistentMapNode.empty();
+            for (MapEntryAstNode<?> entry : map.getEntries()) {
+                result = result.put(of(entry.getKey()), of(entry.getValue()));
+            }
+            return result;
+        }
+        if (node instanceof SequenceAstNode<?> sequence) {
+            PersistentSequenceNode result = PersistentSequenceNode.empty();
+            for (AstNode element : sequence.getElements()) {
+                result = result.add(of(element));
+            }
+            return result;
+        }
+        if (node instanceof ScalarAstNode<?> scalar) {
+            return PersistentScalarNode.of(scalar.getPrimitive(), scalar.getQuoteStyle());
+        }
+        return PersistentScalarNode.of(node == null ? null : node.asString());
+    }
+
+    /// Returns the node at `path` (map keys and sequence indexes), or `null` if there is none.
+    @Nullable
+    public PersistentNode getIn(List<?> path) {
+        PersistentNode node = this;
+        for (Object step : path) {
+            node = node.child(step);
+            if (node == null) return null;
+        }
+        return node;
+    }
+
+    /// Returns a new version of this tree with the node at `path` replaced by `value`.
+    ///
+    /// Only the nodes along the path are copied. The last step may name a new map key, or
+    /// the index one past the end of a sequence to append.
+    ///
+    /// @throws IllegalArgumentException If an intermediate step does not exist.
+    public PersistentNode setIn(List<?> path, PersistentNode value) {
+        return setIn(path, 0, value);
+    }
+
+    private PersistentNode setIn(List<?> path, int depth, PersistentNode value) {
+        if (depth == path.size()) return value;
+        Object step = path.get(depth);
+        PersistentNode child = child(step);
+        if (child == null && depth + 1 < path.size()) {
+            throw new IllegalArgumentException("No node at step " + depth + " (" + step + ") of " + path);
+        }
+        PersistentNode updated = (child == null) ? value : child.setIn(path, depth + 1, value);
+        if (updated == child) return this;
+
+        if (this instanceof PersistentMapNode map && step instanceof String key) {
+            return map.put(key, updated);
+        }
+        if (this instanceof PersistentSequenceNode sequence && step instanceof Integer index) {
+            return (index == sequence.size()) ? sequence.add(updated) : sequence.set(index, updated);
+        }
+        throw new IllegalArgumentException("Cannot apply step " + depth + " (" + step + ") of " + path);
+    }
+
+    private PersistentNode child(Object step) {
+        if (step instanceof String key && this instanceof PersistentMapNode map) return map.get(key);
+        if (step instanceof Integer index && this instanceof PersistentSequenceNode sequence) {
+            return (index >= 0 && index < sequence.size()) ? sequence.get(index) : null;
+        }
+        return null;
+    }
+
+    @Override
+    public int getStartLine() { return 0; }
+    @Override
+    public int getStartColumn() { return 0; }
+    @Override
+    public int getEndLine() { return 0; }
+    @Override
+    public int getEndColumn() { return 0; }
+
+    @Override
+    public List<? extends CommentAstNode> getComments() {
+        return List.of();
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.qishr.cascara.common.lang.persistent;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/// A mutable holder for the current version of a persistent tree.
+///
+/// Readers call [#get()] and keep working on that version for as long as they like;
+/// writers derive a new version and publish it atomically. [#update(UnaryOperator)]
+/// retries when another writer published in between, so `update` functions must be free
+/// of side effects.
+public final class PersistentRoot {
+    private final AtomicReference<PersistentNode> current;
+
+    public PersistentRoot(PersistentNode initial) {
+        this.current = new AtomicReference<>(initial);
+    }
+
+    public PersistentNode get() {
+        return current.get();
+    }
+
+    public void set(PersistentNode root) {
+        current.set(root);
+    }
+
+    /// Publishes `update` only if the current version is still `expected`.
+    public boolean compareAndSet(PersistentNode expected, PersistentNode update) {
+        return current.compareAndSet(expected, update);
+    }
+
+    /// Applies `update` to the current version and publishes the result, returning it.
+    public PersistentNode update(UnaryOperator<PersistentNode> update) {
+        while (true) {
+            PersistentNode previous = current.get();
+            PersistentNode next = update.apply(previous);
+            if (current.compareAndSet(previous, next)) return next;
+        }
+    }
+}
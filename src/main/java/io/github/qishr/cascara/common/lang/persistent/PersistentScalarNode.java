@@ -0,0 +1,95 @@
+package io.github.qishr.cascara.common.lang.persistent;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+import io.github.qishr.cascara.common.lang.ast.ScalarAstNode;
+import io.github.qishr.cascara.common.lang.type.Primitive;
+import io.github.qishr.cascara.common.lang.util.QuoteStyle;
+
+public final class PersistentScalarNode extends PersistentNode implements ScalarAstNode<PersistentNode> {
+    private static final PersistentScalarNode NULL = new PersistentScalarNode(null, QuoteStyle.PLAIN);
+    private static final PersistentScalarNode TRUE = new PersistentScalarNode(Boolean.TRUE, QuoteStyle.PLAIN);
+    private static final PersistentScalarNode FALSE = new PersistentScalarNode(Boolean.FALSE, QuoteStyle.PLAIN);
+    private static final PersistentScalarNode EMPTY = new PersistentScalarNode("", QuoteStyle.PLAIN);
+    private static final int SMALL_LOW = -128;
+    private static final PersistentScalarNode[] SMALL = new PersistentScalarNode[1152];
+
+    private final Object value;
+    private final QuoteStyle quoteStyle;
+
+    private PersistentScalarNode(Object value, QuoteStyle quoteStyle) {
+        this.value = (value instanceof Primitive primitive) ? primitive.unwrap() : value;
+        this.quoteStyle = quoteStyle;
+    }
+
+    public static PersistentScalarNode of(Object value) {
+        return of(value, QuoteStyle.PLAIN);
+    }
+
+    /// Returns a scalar node; plain `null`, booleans, empty strings and small integers are
+    /// shared instances, which is safe because persistent nodes never change.
+    public static PersistentScalarNode of(Object value, QuoteStyle quoteStyle) {
+        if (value instanceof Primitive primitive) value = primitive.unwrap();
+        if (quoteStyle == QuoteStyle.PLAIN) {
+            if (value == null) return NULL;
+            if (value instanceof Boolean bool) return bool ? TRUE : FALSE;
+            if (value instanceof String text && text.isEmpty()) return EMPTY;
+            if (value instanceof Integer number && number >= SMALL_LOW && number < SMALL_LOW + SMALL.length) {
+                int index = number - SMALL_LOW;
+                // Racy but safe: nodes are immutable with final fields, so any published one is complete
+                PersistentScalarNode node = SMALL[index];
+                if (node == null) {
+                    node = new PersistentScalarNode(number, quoteStyle);
+                    SMALL[index] = node;
+                }
+                return node;
+            }
+        }
+        return new PersistentScalarNode(value, quoteStyle);
+    }
+
+    @Override
+    public QuoteStyle getQuoteStyle() {
+        return quoteStyle;
+    }
+
+    /// Returns a copy with the given quote style.
+    @Override
+    public PersistentScalarNode setQuoteStyle(QuoteStyle style) {
+        return style == quoteStyle ? this : of(value, style);
+    }
+
+    @Nullable
+    @Override
+    public String getRaw() {
+        return value == null ? null : value.toString();
+    }
+
+    @Nullable
+    @Override
+    public Object getPrimitive() {
+        return value;
+    }
+
+    /// Returns a copy with the given value.
+    @Override
+    public PersistentScalarNode setPrimitive(Object value) {
+        return of(value, quoteStyle);
+    }
+
+    @Override
+    public String asString() {
+        return value == null ? "" : value.toString();
+    }
+
+    @Override
+    public List<PersistentNode> getChildren() {
+        return List.of();
+    }
+
+    @Override
+    public String toString() {
+        return asString();
+    }
+}
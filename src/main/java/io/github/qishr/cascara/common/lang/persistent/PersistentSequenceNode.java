@@ -0,0 +1,114 @@
+package io.github.qishr.cascara.common.lang.persistent;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.ast.SequenceAstNode;
+
+public final class PersistentSequenceNode extends PersistentNode implements SequenceAstNode<PersistentNode> {
+    private static final PersistentSequenceNode EMPTY = new PersistentSequenceNode(ChunkedVector.empty());
+
+    private final ChunkedVector<PersistentNode> elements;
+
+    private PersistentSequenceNode(ChunkedVector<PersistentNode> elements) {
+        this.elements = elements;
+    }
+
+    public static PersistentSequenceNode empty() {
+        return EMPTY;
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return elements.size() == 0;
+    }
+
+    @Override
+    public PersistentNode get(int index) {
+        return elements.get(index);
+    }
+
+    /// Returns a new version with `node` appended.
+    @Override
+    public PersistentSequenceNode add(PersistentNode node) {
+        return new PersistentSequenceNode(elements.append(node));
+    }
+
+    /// Returns a new version with `node` inserted at `index`. O(n) unless `index` is the end.
+    @Override
+    public PersistentSequenceNode add(int index, PersistentNode node) {
+        if (index == size()) return add(node);
+        if (index < 0 || index > size()) throw new IndexOutOfBoundsException(index);
+        ChunkedVector<PersistentNode> result = ChunkedVector.empty();
+        for (int i = 0; i < size(); i++) {
+            if (i == index) result = result.append(node);
+            result = result.append(elements.get(i));
+        }
+        return new PersistentSequenceNode(result);
+    }
+
+    /// Returns a new version with the element at `index` replaced.
+    @Override
+    public PersistentSequenceNode set(int index, PersistentNode node) {
+        return elements.get(index) == node ? this : new PersistentSequenceNode(elements.set(index, node));
+    }
+
+    /// Returns a new version without the element at `index`. O(n) unless it is the last element.
+    @Override
+    public PersistentSequenceNode remove(int index) {
+        if (index == size() - 1) return new PersistentSequenceNode(elements.removeLast());
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException(index);
+        ChunkedVector<PersistentNode> result = ChunkedVector.empty();
+        for (int i = 0; i < size(); i++) {
+            if (i != index) result = result.append(elements.get(i));
+        }
+        return new PersistentSequenceNode(result);
+    }
+
+    /// Returns a new version without the first occurrence of `node`.
+    @Override
+    public PersistentSequenceNode remove(PersistentNode node) {
+        for (int i = 0; i < size(); i++) {
+            if (elements.get(i).equals(node)) return remove(i);
+        }
+        return this;
+    }
+
+    /// Returns the empty sequence.
+    @Override
+    public PersistentSequenceNode clear() {
+        return EMPTY;
+    }
+
+    /// Returns an unmodifiable view of the elements.
+    @Override
+    public List<PersistentNode> getElements() {
+        return new AbstractList<>() {
+            @Override
+            public PersistentNode get(int index) {
+                return elements.get(index);
+            }
+
+            @Override
+            public int size() {
+                return elements.size();
+            }
+        };
+    }
+
+    @Override
+    public List<PersistentNode> getChildren() {
+        return getElements();
+    }
+
+    @Override
+    public Iterator<PersistentNode> iterator() {
+        return getElements().iterator();
+    }
+}
@@ -0,0 +1,2 @@
+/// Persistent AST nodes whose updates return new versions sharing unchanged structure.
+package io.github.qishr.cascara.common.lang.persistent;
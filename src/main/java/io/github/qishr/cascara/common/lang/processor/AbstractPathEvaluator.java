@@ -0,0 +1,39 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.PathExpression;
+
+/// Base [PathEvaluator] that evaluates expressions through cached [CompiledPath] plans.
+///
+/// The text of a [PathExpression] is taken from its `asString()`; repeated evaluations
+/// of the same text reuse one plan instead of re-interpreting the expression.
+public abstract class AbstractPathEvaluator implements PathEvaluator {
+    private final PathCompiler compiler;
+
+    protected AbstractPathEvaluator() {
+        this(PathCompiler.getDefault());
+    }
+
+    protected AbstractPathEvaluator(PathCompiler compiler) {
+        this.compiler = compiler;
+    }
+
+    @Override
+    public List<AstNode> evaluate(AstNode root, PathExpression<?> expr) {
+        return evaluate(root, expr.asString());
+    }
+
+    public List<AstNode> evaluate(AstNode root, String expression) {
+        return compiler.compile(expression).evaluate(root);
+    }
+
+    public AstNode evaluateFirst(AstNode root, String expression) {
+        return compiler.compile(expression).evaluateFirst(root);
+    }
+
+    protected PathCompiler getCompiler() {
+        return compiler;
+    }
+}
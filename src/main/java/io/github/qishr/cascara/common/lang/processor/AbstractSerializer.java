@@ -1,29 +1,34 @@
 package io.github.qishr.cascara.common.lang.processor;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 import io.github.qishr.cascara.common.diagnostic.NoOpReporter;
 import io.github.qishr.cascara.common.diagnostic.Reporter;
 import io.github.qishr.cascara.common.diagnostic.code.GenericDiagnosticCode;
 import io.github.qishr.cascara.common.diagnostic.code.LangDiagnosticCode;
-import io.github.qishr.cascara.common.lang.annotation.AnyGetter;
-import io.github.qishr.cascara.common.lang.annotation.AnySetter;
-import io.github.qishr.cascara.common.lang.annotation.DataField;
-import io.github.qishr.cascara.common.lang.annotation.DataIgnore;
 import io.github.qishr.cascara.common.lang.annotation.Serializable;
 import io.github.qishr.cascara.common.lang.ast.AstNodeFactory;
 import io.github.qishr.cascara.common.lang.ast.AstNode;
 import io.github.qishr.cascara.common.lang.ast.MapAstNode;
 import io.github.qishr.cascara.common.lang.ast.MapEntryAstNode;
+import io.github.qishr.cascara.common.lang.ast.NumericSequenceAstNode;
+import io.github.qishr.cascara.common.lang.ast.ReferenceAstNode;
 import io.github.qishr.cascara.common.lang.ast.ScalarAstNode;
 import io.github.qishr.cascara.common.lang.ast.SequenceAstNode;
 import io.github.qishr.cascara.common.lang.exception.SerializerException;
@@ -31,10 +36,12 @@ import io.github.qishr.cascara.common.lang.type.Primitive;
 import io.github.qishr.cascara.common.lang.type.PrimitiveDelegate;
 import io.github.qishr.cascara.common.lang.type.ScalarDescriptor;
 import io.github.qishr.cascara.common.lang.type.TypeDescriptor;
+import io.github.qishr.cascara.common.lang.type.TypeDescriptorRegistry;
 import io.github.qishr.cascara.common.lang.type.TypeSerializer;
-import io.github.qishr.cascara.common.service.ServiceProviderFactory;
+import io.github.qishr.cascara.common.lang.util.LanguageOptions;
+import io.github.qishr.cascara.common.lang.util.SourceStringBuffer;
+import io.github.qishr.cascara.common.service.ServiceProviderLayer;
 import io.github.qishr.cascara.common.util.Properties;
-import io.github.qishr.cascara.common.util.ReflectionUtils;
 
 public abstract class AbstractSerializer<
     T extends Serializer<N>,
@@ -44,35 +51,195 @@ public abstract class AbstractSerializer<
     M extends MapAstNode<N,E>,
     E extends MapEntryAstNode<N>
 > implements Serializer<N> {
-    protected Reporter reporter = new NoOpReporter();
-    private Properties properties;
+    /// The reporter set with [#setReporter(Reporter)], used by calls made without a
+    /// [SerializerContext].
+    protected volatile Reporter reporter = new NoOpReporter();
+    /// The options set with [#setOptions(LanguageOptions)], or `null`.
+    protected volatile LanguageOptions<?> options;
+    /// The parser set with [#setParser(AstParser)], or `null`.
+    protected volatile AstParser<N,?> parser;
+    private final Properties properties;
     private final String contentType;
     private final AstNodeFactory<N,S,L,M,E> astFactory;
 
-    private final Map<Class<?>,TypeDescriptor<?>> typeDescriptors = new HashMap<>();
-    private final ServiceProviderFactory providerFactory = new ServiceProviderFactory();
+    /// Descriptors registered with [#registerTypeDescriptor(TypeDescriptor)]; all others come
+    /// from [TypeDescriptorRegistry].
+    private final Map<Class<?>,TypeDescriptor<?>> typeDescriptors = new ConcurrentHashMap<>();
+    /// This serializer's own instances of generated serializers, which are bound to it.
+    private final Map<Class<?>,GeneratedSerializer<?>> generatedSerializers = new ConcurrentHashMap<>();
+
+    /// The context of the call in progress on each thread, if it was given one.
+    private final ThreadLocal<SerializerContext> callContext = new ThreadLocal<>();
+    private volatile boolean frozen;
+
+    private volatile boolean preserveReferences;
+    /// The objects and nodes seen by the call in progress on each thread, while references
+    /// are preserved.
+    private final ThreadLocal<References> references = new ThreadLocal<>();
+    /// The reference targets being converted on each thread, so that an alias to one of its
+    /// own ancestors fails instead of recursing without end.
+    private final ThreadLocal<Set<AstNode>> resolving = new ThreadLocal<>();
 
     private final PrimitiveDelegate primitiveDelegate;
 
+    private final GeneratedSerializer.Binder binder = new ObjectBinder();
+
+    /// Binding plans by class, computed from [#getAllFields(Class)] and
+    /// [#getAllMethods(Class)] on first use.
+    private final ClassValue<BindingPlan> plans = new ClassValue<>() {
+        @Override
+        protected BindingPlan computeValue(Class<?> type) {
+            return new BindingPlan(type, getAllFields(type), getAllMethods(type));
+        }
+    };
+
     protected AbstractSerializer(String contentType, AstNodeFactory<N,S,L,M,E> astFactory, PrimitiveDelegate primitiveDelegate) {
         this.contentType = contentType;
         this.astFactory = astFactory;
         this.primitiveDelegate = primitiveDelegate;
+        this.properties = new Properties();
+        properties.set("contentType", contentType);
     }
 
     protected abstract T self();
 
     @Override
     public Properties getServiceProperties() {
-        if (properties == null) {
-            properties = new Properties();
-            properties.set("contentType", contentType);
-        }
         return properties;
     }
 
+    //
+    // Sharing
+    //
+
+    /// Ends the configuration of this serializer. After this, registering descriptors and
+    /// setting the reporter, options or parser throw an [IllegalStateException], and the
+    /// serializer can be shared by any number of threads. Calls that need their own
+    /// reporter or options use [#withContext(SerializerContext, Supplier)].
+    public T freeze() {
+        frozen = true;
+        return self();
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /// Throws an [IllegalStateException] if this serializer is [frozen][#freeze()]. Setters
+    /// of subclasses call this before changing their configuration.
+    protected void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException(getClass().getSimpleName() + " is frozen and cannot be reconfigured");
+        }
+    }
+
+    /// Runs `call` on this thread with the reporter and options of `context` in place of
+    /// those of the serializer, and returns its result. Calls may be nested.
+    public <R> R withContext(SerializerContext context, Supplier<R> call) {
+        if (context == null) {
+            throw new IllegalArgumentException("context must not be null");
+        }
+        SerializerContext previous = callContext.get();
+        callContext.set(context);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                callContext.remove();
+            } else {
+                callContext.set(previous);
+            }
+        }
+    }
+
+    /// Returns the reporter of the current call.
+    protected Reporter getReporter() {
+        SerializerContext context = callContext.get();
+        return context == null ? reporter : context.getReporter();
+    }
+
+    /// Returns the options of the current call, or `null` if neither the call nor the
+    /// serializer has any.
+    protected LanguageOptions<?> getOptions() {
+        SerializerContext context = callContext.get();
+        return context == null || context.getOptions() == null ? options : context.getOptions();
+    }
+
+    /// Sets whether an object that is reached more than once is written once. Its later
+    /// occurrences become [ReferenceAstNode]s that refer to the first, which makes cyclic
+    /// object graphs serializable. Either way, references in the AST are resolved when
+    /// deserializing, and while this is on, each referenced node becomes one shared object.
+    ///
+    /// @throws IllegalStateException if the node factory does not create references.
+    public T setPreserveReferences(boolean preserveReferences) {
+        checkNotFrozen();
+        if (preserveReferences && !astFactory.supportsReferences()) {
+            throw new IllegalStateException(contentType + " nodes do not support references");
+        }
+        this.preserveReferences = preserveReferences;
+        return self();
+    }
+
+    public boolean isPreservingReferences() {
+        return preserveReferences;
+    }
+
+    /// Sets the parser that [#fromText(String, Class, Projection)] and
+    /// [#updateFromText(String, Object)] use. Subclasses that override this call it.
+    @Override
+    public T setParser(AstParser<N,?> parser) {
+        checkNotFrozen();
+        this.parser = parser;
+        return self();
+    }
+
+    /// Returns the parser set with [#setParser(AstParser)], or `null`.
+    protected AstParser<N,?> getParser() {
+        return parser;
+    }
+
+    /// Returns the parser set with [#setParser(AstParser)].
+    ///
+    /// @throws IllegalStateException if none is set.
+    private AstParser<N,?> requireParser() {
+        AstParser<N,?> parser = getParser();
+        if (parser == null) {
+            throw new IllegalStateException(contentType + " serializer has no parser");
+        }
+        return parser;
+    }
+
+    //
+    // Projections
+    //
+
+    @Override
+    public <C> C fromAst(N astNode, Class<C> jvmType, Projection projection) {
+        if (projection == null || projection.isAll()) {
+            return fromAst(astNode, jvmType);
+        }
+        return deserialize(astNode, jvmType, projection);
+    }
+
+    /// Parses `text` with [AstParser#parseLazy] and binds the keys inside
+    /// `projection`. Only parsers that override `parseLazy` skip the containers of the other
+    /// keys; the default parses all of `text`.
+    ///
+    /// @throws IllegalStateException if no parser is set.
+    @Override
+    public <C> C fromText(String text, Class<C> jvmType, Projection projection) throws SerializerException {
+        if (projection == null || projection.isAll()) {
+            return fromText(text, jvmType);
+        }
+        return deserialize(requireParser().parseLazy(new SourceStringBuffer(text)), jvmType, projection);
+    }
+
     @Override
     public T registerTypeDescriptor(TypeDescriptor<?> typeDescriptor) {
+        checkNotFrozen();
+        if (typeDescriptor instanceof GeneratedSerializer<?> generated) {
+            generated.bind(binder);
+        }
         typeDescriptors.put(typeDescriptor.getJvmType(), typeDescriptor);
         return self();
     }
@@ -85,10 +252,30 @@ public abstract class AbstractSerializer<
 	@SuppressWarnings("unchecked")
     protected N serialize(Object jvmInstance) {
         if (isPrimitive(jvmInstance)) {
-            return (N)astFactory.createScalarNode(jvmInstance);
+            // The typed factory methods hold numbers unboxed or share common values
+            return (N) switch (jvmInstance) {
+                case Integer number -> astFactory.createIntegerNode(number);
+                case Long number -> astFactory.createLongNode(number);
+                case Double number -> astFactory.createDoubleNode(number);
+                case Boolean bool -> astFactory.createBooleanNode(bool);
+                default -> astFactory.createScalarNode(jvmInstance);
+            };
         }
 
-        TypeDescriptor<?> typeDescriptor = getTypeDescriptor(jvmInstance.getClass());
+        References refs = enterReferences();
+        try {
+            if (refs != null && refs.nodes.containsKey(jvmInstance)) {
+                return createReference(refs, jvmInstance);
+            }
+            return serializeValue(jvmInstance);
+        } finally {
+            exitReferences(refs);
+        }
+    }
+
+	@SuppressWarnings("unchecked")
+    private N serializeValue(Object jvmInstance) {
+        TypeDescriptor<?> typeDescriptor = getValueDescriptor(jvmInstance.getClass());
 
         if (typeDescriptor != null) {
             if (typeDescriptor instanceof TypeSerializer typeSerializer) {
@@ -100,7 +287,7 @@ public abstract class AbstractSerializer<
                 try {
                     // If you're wondering why this is not a String,
                     // an Instant is not a String - it's a Long
-                    primitive = descriptor.toPrimitive(jvmInstance).setDelegate(primitiveDelegate);
+                    primitive = descriptor.toPrimitive(jvmInstance).withDelegate(primitiveDelegate);
                 } catch (Exception e) {
                     throw new SerializerException(e, LangDiagnosticCode.FAILED_TO_MAP_AST, jvmInstance.getClass().getSimpleName(), e.getMessage());
                 }
@@ -126,20 +313,24 @@ public abstract class AbstractSerializer<
 
 
     // @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
     protected M serializeObject(Object jvmInstance) {
         Class<?> jvmType = jvmInstance.getClass();
+        GeneratedSerializer generated = getGeneratedSerializer(jvmType, Projection.ALL);
+        if (generated != null) {
+            return (M) generated.serialize(jvmInstance);
+        }
         M rootMap = astFactory.createMapNode();
+        trackNode(jvmInstance, castToNode(rootMap));
 
-        for (Field field : getAllFields(jvmType)) {
-            field.setAccessible(true);
-            if (field.isAnnotationPresent(DataIgnore.class)) continue;
-
-            if (field.isAnnotationPresent(AnySetter.class)) {
+        BindingPlan plan = getBindingPlan(jvmType);
+        for (BindingPlan.Property property : plan.properties) {
+            if (property.anySetter) {
                 Map<?, ?> map;
                 try {
-                    map = (Map<?, ?>) field.get(jvmInstance);
-                } catch (IllegalAccessException e) {
-                    throw new SerializerException(e, LangDiagnosticCode.FIELD_NOT_ACCESSIBLE, field.getName());
+                    map = (Map<?, ?>) (Object) property.getter.invokeExact(jvmInstance);
+                } catch (Throwable e) {
+                    throw new SerializerException(e, LangDiagnosticCode.FIELD_NOT_ACCESSIBLE, property.getName());
                 }
                 if (map != null) {
                     for (Map.Entry<?, ?> entry : map.entrySet()) {
@@ -151,83 +342,76 @@ public abstract class AbstractSerializer<
                 continue;
             }
 
-            Object value;
-			try {
-				value = field.get(jvmInstance);
-			} catch (IllegalAccessException e) {
-                throw new SerializerException(e, LangDiagnosticCode.FIELD_NOT_ACCESSIBLE, field.getName());
-			}
-            if (value != null) {
-                String keyName = field.isAnnotationPresent(DataField.class)
-                    ? field.getAnnotation(DataField.class).key() : field.getName();
-                if (keyName == null || keyName.isEmpty()) keyName = field.getName();
-
-                N keyNode = castToNode(astFactory.createScalarKeyNode(keyName));
-
-                N valueNode = serialize(value);
+            N valueNode = serializeProperty(jvmInstance, property);
+            if (valueNode != null) {
+                N keyNode = castToNode(astFactory.createScalarKeyNode(property.key));
                 rootMap.put(keyNode, valueNode);
             }
         }
 
         // 2. Process dynamic settings (@YamlAnyGetter)
-        for (Method method : getAllMethods(jvmType)) { //.getDeclaredMethods()) {
-            if (method.isAnnotationPresent(AnyGetter.class)) {
-                method.setAccessible(true);
-
-                // Invoke the method to get the Map
-                Object result;
-
-				try {
-					result = method.invoke(jvmInstance);
-
-                    // TODO: Handle these gracefully
-
-                    // IllegalAccessException - if this Method object is enforcing Java language access control and the underlying method is inaccessible.
-                    // IllegalArgumentException - if the method is an instance method and the specified object argument is not an instance of the class or interface declaring the underlying method (or of a subclass or implementor thereof); if the number of actual and formal parameters differ; if an unwrapping conversion for primitive arguments fails; or if, after possible unwrapping, a parameter value cannot be converted to the corresponding formal parameter type by a method invocation conversion.
-                    // InvocationTargetException - if the underlying method throws an exception.
-                    // NullPointerException - if the specified object is null and the method is an instance method.
-                    // ExceptionInInitializerError - if the initialization provoked by this method fails.
-
-                } catch (IllegalAccessException e) {
-                    throw new SerializerException(e, LangDiagnosticCode.FIELD_NOT_ACCESSIBLE, method.getName());
-				} catch (InvocationTargetException e) {
-                    throw new SerializerException(e, LangDiagnosticCode.INVOCATION_TARGET_EXCEPTION, method.getName());
-				}
+        for (BindingPlan.AnyMethod getter : plan.anyGetters) {
+            // Invoke the method to get the Map
+            Object result;
+            try {
+                result = (Object) getter.handle.invokeExact(jvmInstance);
+            } catch (Throwable e) {
+                // TODO: Handle these gracefully
+                throw new SerializerException(e, LangDiagnosticCode.INVOCATION_TARGET_EXCEPTION, getter.getName());
+            }
 
-                if (result instanceof Map<?, ?> map) {
-                    for (Map.Entry<?, ?> entry : map.entrySet()) {
-                        N keyNode = serialize(entry.getKey());
-                        N valueNode = serialize(entry.getValue());
-                        rootMap.put(keyNode, valueNode);
-                    }
+            if (result instanceof Map<?, ?> map) {
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    N keyNode = serialize(entry.getKey());
+                    N valueNode = serialize(entry.getValue());
+                    rootMap.put(keyNode, valueNode);
                 }
             }
         }
         return rootMap;
     }
 
+    /// Reads a field and serializes its value, or returns `null` if the value is `null`.
+    /// `int`, `long`, `double` and `boolean` fields are read through their exact-typed
+    /// handles and handed to the factory without boxing.
+    private N serializeProperty(Object jvmInstance, BindingPlan.Property property) {
+        MethodHandle getter = property.getter;
+        Object value;
+        try {
+            switch (property.kind) {
+                case BindingPlan.INT:
+                    return castToNode(astFactory.createIntegerNode((int) getter.invokeExact(jvmInstance)));
+                case BindingPlan.LONG:
+                    return castToNode(astFactory.createLongNode((long) getter.invokeExact(jvmInstance)));
+                case BindingPlan.DOUBLE:
+                    return castToNode(astFactory.createDoubleNode((double) getter.invokeExact(jvmInstance)));
+                case BindingPlan.BOOLEAN:
+                    return castToNode(astFactory.createBooleanNode((boolean) getter.invokeExact(jvmInstance)));
+                default:
+                    value = (Object) getter.invokeExact(jvmInstance);
+            }
+        } catch (Throwable e) {
+            throw new SerializerException(e, LangDiagnosticCode.FIELD_NOT_ACCESSIBLE, property.getName());
+        }
+        return value == null ? null : serialize(value);
+    }
+
     /// Serializes a List into a YamlSequence.
     protected L serializeList(List<?> list) {
         L sequence = astFactory.createSequenceNode();
-        // L sequence = new YamlSequenceNode();
+        trackNode(list, castToNode(sequence));
         for (Object item : list) {
             if (item == null) continue;
-
-            // Check if the item is itself serializable (a nested object)
-            if (item.getClass().isAnnotationPresent(Serializable.class)) {
-                // Recursive call for nested objects (e.g., JsonSchemaAssociation)
-                sequence.add(castToNode(serializeObject(item)));
-            } else {
-                // Assume it's a primitive/string (e.g., List<String>)
-                sequence.add(serialize(item));
-            }
+            // Nested objects (e.g., JsonSchemaAssociation) go through serialize() too, so
+            // that an object met again becomes a reference
+            sequence.add(serialize(item));
         }
         return sequence;
     }
 
     protected M serializeMap(Map<?, ?> map) {
         M yamlMap = astFactory.createMapNode();
-        // M yamlMap = new YamlMapNode();
+        trackNode(map, castToNode(yamlMap));
         for (Map.Entry<?, ?> entry : map.entrySet()) {
             if (entry.getKey() == null) continue;
 
@@ -250,15 +434,24 @@ public abstract class AbstractSerializer<
     //
 
     /// Converts a Yaml AST structure back into a Java object of the specified type.
-    @SuppressWarnings("unchecked")
     protected <C> C deserialize(AstNode yaml, Class<C> jvmType) throws SerializerException {
+        return deserialize(yaml, jvmType, Projection.ALL);
+    }
+
+    /// Converts a Yaml AST structure back into a Java object of the specified type, binding
+    /// only the keys that `projection` includes. The values of other keys are not read.
+    @SuppressWarnings("unchecked")
+    protected <C> C deserialize(AstNode yaml, Class<C> jvmType, Projection projection) throws SerializerException {
         // If the YAML node is null, or it's a scalar representing a null value,
         // we return null immediately. This allows 'security: ' to map to a null Object.
         if (yaml == null || (yaml instanceof ScalarAstNode scalar && scalar.getPrimitive() == null)) {
             return null;
         }
+        if (yaml instanceof ReferenceAstNode<?> reference) {
+            return (C) deserializeReference(reference, null, ResolvedType.of(jvmType), projection);
+        }
 
-        Set<String> claimedKeys = new HashSet<>();
+        References refs = enterReferences();
         try {
 
             // 1. SHORTCUT: If the target is a standard Collection, bypass POJO logic
@@ -276,97 +469,163 @@ public abstract class AbstractSerializer<
                 return (C) new ArrayList<>();
             }
 
+            GeneratedSerializer<?> generated = getGeneratedSerializer(jvmType, projection);
+            if (generated != null) {
+                return (C) generated.deserialize(yaml);
+            }
+
             // 1. Validation
             if (!jvmType.isAnnotationPresent(Serializable.class)) {
                 throw new SerializerException(yaml, LangDiagnosticCode.CLASS_NOT_SERIALIZABLE, jvmType.getSimpleName());
             }
 
-            C instance;
-            try {
-                instance = jvmType.getConstructor().newInstance();
-            } catch (InstantiationException e) {
-                throw new SerializerException(e, LangDiagnosticCode.INSTANTIATION_EXCEPTION, jvmType.getConstructor());
-            } catch (IllegalAccessException e) {
-                throw new SerializerException(e, LangDiagnosticCode.FIELD_NOT_ACCESSIBLE, jvmType.getConstructor());
-            } catch (IllegalArgumentException e) {
-                throw new SerializerException(e, LangDiagnosticCode.ILLEGAL_ARGUMENT_EXCEPTION, jvmType.getConstructor());
-            } catch (InvocationTargetException e) {
-                throw new SerializerException(e, LangDiagnosticCode.INVOCATION_TARGET_EXCEPTION, jvmType.getConstructor());
+            BindingPlan plan = getBindingPlan(jvmType);
+            if (plan.constructor == null) {
+                throw new NoSuchMethodException(jvmType.getName() + ".<init>()");
             }
+            C instance = (C) newInstance(plan);
+            trackObject(yaml, instance);
 
             // 2. We now check against the generic MapAstNode interface
-            if (!(yaml instanceof MapAstNode mapNode)) {
+            if (!(yaml instanceof MapAstNode<?,?> mapNode)) {
                 throw new SerializerException(yaml, LangDiagnosticCode.EXPECTED_MAP_STRUCTURE, jvmType.getSimpleName());
             }
 
-            // 3. Process Declared Fields
-            for (Field field : getAllFields(jvmType)) {
-                field.setAccessible(true);
-                if (field.isAnnotationPresent(DataIgnore.class)) continue;
-
-                // Determine the YAML key for this field
-                String key = field.getName();
-                if (field.isAnnotationPresent(DataField.class)) {
-                    String annotatedKey = field.getAnnotation(DataField.class).key();
-                    if (annotatedKey != null && !annotatedKey.isEmpty()) {
-                        key = annotatedKey;
+            // 3. Bind the entries in one pass: each key goes to its fields through the
+            //    plan's perfect hash, and keys no field claims go to the any-setters.
+            //    The first entry of a repeated key wins, as with a keyed lookup.
+            boolean[] bound = new boolean[plan.properties.size()];
+            for (MapEntryAstNode<?> entry : mapNode.getEntries()) {
+                String key = keyText(entry.getKey());
+                Projection valueProjection = projection.get(key);
+                if (valueProjection == null) continue;
+                BindingPlan.Property[] claimed = plan.propertiesFor(key);
+                if (claimed == null) {
+                    // 4. Handle dynamic properties via @YamlAnySetter
+                    if (!plan.anySetters.isEmpty() && !isSchemaOrId(key)) {
+                        processAnySetter(instance, plan, key, entry.getValue());
                     }
+                    continue;
                 }
-
-                claimedKeys.add(key);
-
-                // Use the new generic 'get' method
-                AstNode valueNode = mapNode.get(key);
-
-                if (valueNode != null) {
-                    // We pass field.getType() so it knows this is a List, a String, etc.
-                    Object convertedValue = deserializeNode(valueNode, field, field.getType());
-                    if (convertedValue != null) {
-                        try {
-                            field.set(instance, convertedValue);
-                        } catch (IllegalArgumentException e) {
-                            throw new SerializerException(e, LangDiagnosticCode.ILLEGAL_ARGUMENT_EXCEPTION, field.getName());
-                        } catch (IllegalAccessException e) {
-                            throw new SerializerException(e, LangDiagnosticCode.FIELD_NOT_ACCESSIBLE, field.getName());
-                        }
+                for (BindingPlan.Property property : claimed) {
+                    if (bound[property.index]) continue;
+                    bound[property.index] = true;
+                    if (entry.getValue() != null) {
+                        bindProperty(instance, property, entry.getValue(), valueProjection);
                     }
                 }
             }
 
-            // 4. Handle dynamic properties via @YamlAnySetter
-            processAnySetter(instance, (M)yaml, claimedKeys, jvmType);
-
             return instance;
         } catch (NoSuchMethodException e) {
             throw new SerializerException(yaml, e, LangDiagnosticCode.NO_SUCH_METHOD, jvmType.getSimpleName());
+        } finally {
+            exitReferences(refs);
+        }
+    }
+
+    private Object newInstance(BindingPlan plan) {
+        if (plan.factory != null) {
+            try {
+                return (Object) plan.factory.invokeExact();
+            } catch (Throwable e) {
+                throw new SerializerException(e, LangDiagnosticCode.INVOCATION_TARGET_EXCEPTION, plan.constructor);
+            }
+        }
+        try {
+            return plan.constructor.newInstance();
+        } catch (InstantiationException e) {
+            throw new SerializerException(e, LangDiagnosticCode.INSTANTIATION_EXCEPTION, plan.constructor);
+        } catch (IllegalAccessException e) {
+            throw new SerializerException(e, LangDiagnosticCode.FIELD_NOT_ACCESSIBLE, plan.constructor);
+        } catch (IllegalArgumentException e) {
+            throw new SerializerException(e, LangDiagnosticCode.ILLEGAL_ARGUMENT_EXCEPTION, plan.constructor);
+        } catch (InvocationTargetException e) {
+            throw new SerializerException(e, LangDiagnosticCode.INVOCATION_TARGET_EXCEPTION, plan.constructor);
+        }
+    }
+
+    private void bindProperty(Object instance, BindingPlan.Property property, AstNode valueNode, Projection projection) {
+        if (property.kind != BindingPlan.OBJECT && bindUnboxed(instance, property, valueNode)) return;
+
+        // We pass the field type so it knows this is a List, a String, etc.
+        Object convertedValue = deserializeNode(valueNode, property, property.genericType, projection);
+        if (convertedValue != null) {
+            writeProperty(instance, property, convertedValue);
+        }
+    }
+
+    /// Writes an unboxed scalar straight into an `int`, `long`, `double` or `boolean` field.
+    /// Returns `false` to fall back to [#deserializeNode], when the node holds its value as
+    /// an object or a type descriptor is registered for the field type.
+    private boolean bindUnboxed(Object instance, BindingPlan.Property property, AstNode node) {
+        if (!(node instanceof ScalarAstNode<?> scalar) || !scalar.isUnboxed()
+            || property.setter == null || getValueDescriptor(property.type) != null) {
+            return false;
+        }
+        MethodHandle setter = property.setter;
+        try {
+            switch (property.kind) {
+                case BindingPlan.INT -> setter.invokeExact(instance, scalar.asInteger(0));
+                case BindingPlan.LONG -> setter.invokeExact(instance, scalar.asLong(0));
+                case BindingPlan.DOUBLE -> setter.invokeExact(instance, scalar.asDouble(0));
+                case BindingPlan.BOOLEAN -> setter.invokeExact(instance, scalar.asBoolean(false));
+                default -> {
+                    return false;
+                }
+            }
+        } catch (Throwable e) {
+            throw new SerializerException(node, e, LangDiagnosticCode.FIELD_NOT_ACCESSIBLE, property.getName());
+        }
+        return true;
+    }
+
+    private void writeProperty(Object instance, BindingPlan.Property property, Object value) {
+        if (property.setter == null) {
+            throw new SerializerException(LangDiagnosticCode.FIELD_NOT_ACCESSIBLE, property.getName());
+        }
+        try {
+            property.setter.invoke(instance, value);
+        } catch (ClassCastException | WrongMethodTypeException e) {
+            throw new SerializerException(e, LangDiagnosticCode.ILLEGAL_ARGUMENT_EXCEPTION, property.getName());
+        } catch (Throwable e) {
+            throw new SerializerException(e, LangDiagnosticCode.FIELD_NOT_ACCESSIBLE, property.getName());
         }
     }
 
     /// Dispatches a node to the correct deserialization logic.
     /// @param node The AST node to convert.
-    /// @param field The field being populated (can be null for nested elements).
-    /// @param targetType The class type to convert to.
+    /// @param property The field being populated (can be null for nested elements).
+    /// @param type The type to convert to, with the element types of collections.
+    /// @param projection The keys to bind in objects and maps.
     /// Dispatches a node to the correct deserialization logic based on target type.
-    private Object deserializeNode(AstNode node, Field field, Class<?> targetType) {
+    private Object deserializeNode(AstNode node, BindingPlan.Property property, ResolvedType type, Projection projection) {
         if (node == null) return null;
+        if (node instanceof ReferenceAstNode<?> reference) {
+            return deserializeReference(reference, property, type, projection);
+        }
+        Class<?> targetType = type.raw;
 
         // 1. High Priority Symmetrical Check: Intercept custom YAML type serializers
-        TypeDescriptor<?> typeDescriptor = getTypeDescriptor(targetType);
+        TypeDescriptor<?> typeDescriptor = getValueDescriptor(targetType);
         if (typeDescriptor instanceof TypeSerializer<?> typeSerializer) {
             return typeSerializer.deserialize(node);
         }
 
         // 2. Nested @Serializable objects
         if (targetType.isAnnotationPresent(Serializable.class)) {
-            return deserialize((AstNode)node, targetType);
+            return deserialize((AstNode)node, targetType, projection);
         }
 
         // 3. Collections
+        if (targetType == int[].class || targetType == long[].class || targetType == double[].class) {
+            return deserializeNumericArray(node, property, targetType);
+        }
         if (List.class.isAssignableFrom(targetType)) {
-            return deserializeList(node, field);
+            return deserializeList(node, type.elementType(), property != null ? property.getName() : "", projection);
         }
         if (Map.class.isAssignableFrom(targetType)) {
-            return deserializeMap(node, field);
+            return deserializeMap(node, type.mapKeyType(), type.mapValueType(), property, projection);
         }
 
         // 4. Scalars (Primitives, Strings, Enums)
@@ -410,13 +669,13 @@ public abstract class AbstractSerializer<
         );
     }
 
-    private List<?> deserializeList(AstNode node, Field field) {
+    /// Elements are bound with `projection`: projections pass through sequences.
+    private List<?> deserializeList(AstNode node, ResolvedType itemType, String name, Projection projection) {
         if (node == null) return new ArrayList<>();
-        Class<?> itemType = ReflectionUtils.getGenericTypeOfListField(field);
 
         // Fallback for single values in YAML where a list was expected
         if (node instanceof ScalarAstNode scalar) {
-            Object val = deserializeScalar(scalar, itemType);
+            Object val = deserializeScalar(scalar, itemType.raw);
             // If the value is null (like an empty key), return an empty mutable list
             if (val == null) return new ArrayList<>();
 
@@ -427,12 +686,13 @@ public abstract class AbstractSerializer<
         }
 
         if (!(node instanceof SequenceAstNode sequence)) {
-            throw new SerializerException(node, LangDiagnosticCode.EXPECTED_SEQUENCE, field.getName());
+            throw new SerializerException(node, LangDiagnosticCode.EXPECTED_SEQUENCE, name);
         }
 
         List<Object> result = new ArrayList<>();
+        trackObject(node, result);
         for (AstNode item : sequence.getChildren()) {
-            Object val = deserializeNode(item, null, itemType);
+            Object val = deserializeNode(item, null, itemType, projection);
             // YAML sequences can have null entries (- ), we should decide if we allow them.
             // Usually, for a list of strings/objects, we skip nulls or add them.
             result.add(val);
@@ -440,16 +700,52 @@ public abstract class AbstractSerializer<
         return result;
     }
 
-    private Map<?, ?> deserializeMap(AstNode node, Field field) {
+    /// Binds a sequence to an `int[]`, `long[]` or `double[]`. Packed numeric sequences are
+    /// copied straight from their primitive storage without creating element nodes.
+    private Object deserializeNumericArray(AstNode node, BindingPlan.Property property, Class<?> arrayType) {
+        if (!(node instanceof SequenceAstNode<?> sequence)) {
+            throw new SerializerException(node, LangDiagnosticCode.EXPECTED_SEQUENCE,
+                property != null ? property.getName() : arrayType.getSimpleName());
+        }
+        int size = sequence.size();
+
+        if (sequence instanceof NumericSequenceAstNode<?> numeric && numeric.isNumeric()) {
+            if (arrayType == double[].class) {
+                double[] result = new double[size];
+                for (int i = 0; i < size; i++) result[i] = numeric.getDouble(i);
+                return result;
+            }
+            if (arrayType == long[].class) {
+                long[] result = new long[size];
+                for (int i = 0; i < size; i++) result[i] = numeric.getLong(i);
+                return result;
+            }
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) result[i] = (int) numeric.getLong(i);
+            return result;
+        }
+
+        Class<?> componentType = arrayType.getComponentType();
+        Object result = Array.newInstance(componentType, size);
+        for (int i = 0; i < size; i++) {
+            Object value = deserializeNode(sequence.get(i), null, ResolvedType.of(componentType), Projection.ALL);
+            if (value != null) Array.set(result, i, value);
+        }
+        return result;
+    }
+
+    private Map<?, ?> deserializeMap(AstNode node, ResolvedType keyType, ResolvedType valType, BindingPlan.Property property, Projection projection) {
         if (!(node instanceof MapAstNode)) return new LinkedHashMap<>();
         @SuppressWarnings("unchecked")
 		M mapNode = (M)node;
 
-        Class<?> keyType = ReflectionUtils.getGenericTypeOfMapKey(field);
-        Class<?> valType = ReflectionUtils.getGenericTypeOfMapValue(field);
         Map<Object, Object> result = new LinkedHashMap<>();
+        trackObject(node, result);
 
         for (E entry : mapNode.getEntries()) {
+            Projection valueProjection = projection.isAll() ? projection : projection.get(keyText(entry.getKey()));
+            if (valueProjection == null) continue;
+
             // Object primitiveKey = (entry.getKey() instanceof ScalarAstNode scalar)
             //         ? scalar.getPrimitive()
             //         : entry.getKey().toString();
@@ -457,13 +753,13 @@ public abstract class AbstractSerializer<
 
             Object key;
             if (entry.getKey() instanceof ScalarAstNode scalarKey) {
-                key = deserializeScalar(scalarKey, keyType);
+                key = deserializeScalar(scalarKey, keyType.raw);
             } else {
                 // TODO: Implement this...
                 throw new SerializerException(node, GenericDiagnosticCode.ERROR, "Non-scalar key not implemented");
             }
 
-            Object val = deserializeNode(entry.getValue(), field, valType);
+            Object val = deserializeNode(entry.getValue(), property, valType, valueProjection);
             if (key != null) result.put(key, val != null ? val : ""); // TODO: Is "" okay here?
         }
 
@@ -512,14 +808,13 @@ public abstract class AbstractSerializer<
             return Enum.valueOf((Class<Enum>) targetType, text);
         }
 
-        Primitive yamlPrimitive = Primitive.of(jvmInstance);
-        yamlPrimitive.setDelegate(primitiveDelegate);
+        Primitive yamlPrimitive = Primitive.of(jvmInstance).setDelegate(primitiveDelegate);
         if (targetType == boolean.class || targetType == Boolean.class) {
             return yamlPrimitive.asBoolean(false);
         } else if (targetType == int.class || targetType == Integer.class) {
             return yamlPrimitive.asInteger(0);
         } else if (targetType == long.class || targetType == Long.class) {
-            return (long) yamlPrimitive.asInteger(0); // TODO: add asLong to YamlPrimitive
+            return yamlPrimitive.asLong(0);
         } else if (targetType == float.class || targetType == Float.class) {
             return (float) yamlPrimitive.asDouble(0); // TODO: add asFloat to YamlPrimitive
         } else if (targetType == double.class || targetType == Double.class) {
@@ -540,11 +835,12 @@ public abstract class AbstractSerializer<
 
     private Map<String, Object> convertYamlMapToStandardMap(MapAstNode<?,?> mapNode) {
         Map<String, Object> result = new LinkedHashMap<>();
+        trackObject(mapNode, result);
         for (MapEntryAstNode<?> entry : mapNode.getEntries()) {
             // Convert key (usually a scalar) to String
-            String key = entry.getKey().toString();
+            String key = keyText(entry.getKey());
             // Recursively convert the value
-            Object value = deserializeNode(entry.getValue(), null, Object.class);
+            Object value = deserializeNode(entry.getValue(), null, ResolvedType.OBJECT, Projection.ALL);
             result.put(key, value);
         }
         return result;
@@ -552,9 +848,10 @@ public abstract class AbstractSerializer<
 
     private List<Object> convertYamlSequenceToStandardList(SequenceAstNode<?> seqNode) {
         List<Object> result = new ArrayList<>();
+        trackObject(seqNode, result);
         for (AstNode child : seqNode.getChildren()) {
             // Recursively convert each item in the list
-            result.add(deserializeNode(child, null, Object.class));
+            result.add(deserializeNode(child, null, ResolvedType.OBJECT, Projection.ALL));
         }
         return result;
     }
@@ -567,42 +864,36 @@ public abstract class AbstractSerializer<
         return jvmType;
     }
 
-    private void processAnySetter(Object instance, M rootMap, Set<String> claimedKeys, Class<?> jvmType) {
-        for (Method method : getAllMethods(jvmType)) {
-            if (method.isAnnotationPresent(AnySetter.class)) {
-                method.setAccessible(true);
-                for (E entry : rootMap.getEntries()) {
-                    // entry.getKey() returns an Astode.
-                    // We use toString() because our ScalarAstNode override returns stringValue.
-                    String key = entry.getKey().toString();
-
-                    if (!claimedKeys.contains(key) && !isSchemaOrId(key)) {
-                        Object value;
-                        AstNode valueNode = entry.getValue();
-                        if (valueNode instanceof ScalarAstNode scalar) {
-                            value = scalar.getPrimitive();
-                        } else if (valueNode instanceof MapAstNode map) {
-                            value = convertYamlMapToStandardMap(map);
-                        } else if (valueNode instanceof SequenceAstNode seq) {
-                            value = convertYamlSequenceToStandardList(seq);
-                        } else {
-                            // If it's a complex object (Map/List), for now we pass the AST node
-                            // or we'd need a recursive "astToMap" helper.
-                            value = valueNode;
-                        }
-                        try {
-                            method.invoke(instance, key, value);
-                        } catch (IllegalAccessException e) {
-                            throw new SerializerException(e, LangDiagnosticCode.FIELD_NOT_ACCESSIBLE, method.getName());
-                        } catch (InvocationTargetException e) {
-                            throw new SerializerException(e, LangDiagnosticCode.INVOCATION_TARGET_EXCEPTION, method.getName());
-                        }
-                    }
-                }
+    private void processAnySetter(Object instance, BindingPlan plan, String key, AstNode valueNode) {
+        for (BindingPlan.AnyMethod setter : plan.anySetters) {
+            Object value = anyValue(valueNode);
+            try {
+                setter.handle.invokeExact(instance, key, value);
+            } catch (Throwable e) {
+                throw new SerializerException(e, LangDiagnosticCode.INVOCATION_TARGET_EXCEPTION, setter.getName());
             }
         }
     }
 
+    /// Converts the value of an entry that no field claims, for an any-setter.
+    private Object anyValue(AstNode valueNode) {
+        if (valueNode instanceof ScalarAstNode<?> scalar) {
+            return scalar.getPrimitive();
+        } else if (valueNode instanceof MapAstNode<?,?> map) {
+            return convertYamlMapToStandardMap(map);
+        } else if (valueNode instanceof SequenceAstNode<?> seq) {
+            return convertYamlSequenceToStandardList(seq);
+        }
+        // If it's a complex object (Map/List), for now we pass the AST node
+        // or we'd need a recursive "astToMap" helper.
+        return valueNode;
+    }
+
+    /// Returns the text of a scalar key, or the `toString()` of any other key node.
+    private static String keyText(AstNode key) {
+        return (key instanceof ScalarAstNode<?> scalar) ? scalar.asString() : String.valueOf(key);
+    }
+
     private boolean isSchemaOrId(String key) {
         return "$schema".equals(key) || "$id".equals(key);
     }
@@ -642,6 +933,11 @@ public abstract class AbstractSerializer<
         return methods;
     }
 
+    /// Returns the binding plan of `jvmType`, computing it on first use.
+    BindingPlan getBindingPlan(Class<?> jvmType) {
+        return plans.get(jvmType);
+    }
+
     @SuppressWarnings("unchecked")
     private <V extends AstNode> N castToNode(V node) {
         return (N) node;
@@ -661,13 +957,455 @@ public abstract class AbstractSerializer<
 
     protected TypeDescriptor<?> getTypeDescriptor(Class<?> jvmType) {
         // 1. First check if one has been registered locally
-        if (typeDescriptors.containsKey(jvmType)) {
-            return typeDescriptors.get(jvmType);
+        TypeDescriptor<?> descriptor = typeDescriptors.get(jvmType);
+        if (descriptor != null) {
+            return descriptor;
         }
 
-        // 2. Use service provider layer to get one
-        TypeDescriptor<?> descriptor = providerFactory.createTypeDescriptor(jvmType);
-        typeDescriptors.put(jvmType, descriptor);
+        // 2. Use the descriptor shared through the service provider layer
+        descriptor = TypeDescriptorRegistry.getDefault().getTypeDescriptor(jvmType);
+        if (descriptor instanceof GeneratedSerializer<?> shared) {
+            // Generated code knows the fields of its own class only, not those of subclasses
+            if (shared.getJvmType() != jvmType) {
+                return null;
+            }
+            return generatedSerializers.compute(jvmType, (type, generated) ->
+                generated != null && generated.getClass() == shared.getClass()
+                    ? generated
+                    : ServiceProviderLayer.loadProvider(shared.getClass()).bind(binder));
+        }
         return descriptor;
     }
+
+    /// Returns the descriptor that converts values of `jvmType`, or `null` if there is none.
+    /// Generated serializers are left out: whether they bind their class is up to
+    /// [#getGeneratedSerializer].
+    private TypeDescriptor<?> getValueDescriptor(Class<?> jvmType) {
+        TypeDescriptor<?> descriptor = getTypeDescriptor(jvmType);
+        return descriptor instanceof GeneratedSerializer<?> ? null : descriptor;
+    }
+
+    /// Returns the generated serializer to bind `jvmType` with, or `null` to bind it by reflection.
+    ///
+    /// Generated code reads and writes every instance field through raw classes and does not
+    /// track identities, so it is used only when no projection narrows the keys, references
+    /// are not preserved, the fields of the class lose nothing when bound by raw class, and
+    /// none of them is static.
+    private GeneratedSerializer<?> getGeneratedSerializer(Class<?> jvmType, Projection projection) {
+        if (preserveReferences || !projection.isAll()) {
+            return null;
+        }
+        if (!(getTypeDescriptor(jvmType) instanceof GeneratedSerializer<?> generated)) {
+            return null;
+        }
+        BindingPlan plan = getBindingPlan(jvmType);
+        return plan.exactTypes && !plan.hasStaticFields ? generated : null;
+    }
+
+    //
+    // Updates
+    //
+
+    /// Merges `astNode` into `existing` in place and returns `existing`.
+    ///
+    /// Each key of the AST is bound as by [#fromAst], except that a field whose current
+    /// value is an object, list or map is updated rather than replaced: nested objects are
+    /// updated in turn, list elements are updated by position, and map values by key. Lists
+    /// and maps end up with the elements and keys of the AST, and fields whose keys the AST
+    /// does not have keep their values. Collections that cannot be changed are replaced.
+    @Override
+    public <C> C updateFromAst(N astNode, C existing) {
+        if (existing == null) {
+            throw new IllegalArgumentException("existing must not be null");
+        }
+        if (!update(astNode, existing, ResolvedType.of(existing.getClass()))) {
+            throw new SerializerException(astNode, LangDiagnosticCode.INCOMPATIBLE_TYPES,
+                astNode == null ? "null" : astNode.getClass().getSimpleName(), existing.getClass().getSimpleName());
+        }
+        return existing;
+    }
+
+    /// Parses `text` with the parser set with [#setParser(AstParser)] and merges it into
+    /// `existing`, as [#updateFromAst(AstNode, Object)] does.
+    ///
+    /// @throws IllegalStateException if no parser is set.
+    @Override
+    public <C> C updateFromText(String text, C existing) throws SerializerException {
+        return updateFromAst(requireParser().parse(text), existing);
+    }
+
+    /// Merges `node` into `existing`, or returns `false` if it cannot be merged and the
+    /// caller has to replace `existing` with a new value.
+    private boolean update(AstNode node, Object existing, ResolvedType type) {
+        if (node == null || node instanceof ReferenceAstNode<?>) {
+            // A reference binds the object made for its target
+            return false;
+        }
+        if (getValueDescriptor(existing.getClass()) != null) {
+            return false;
+        }
+        References refs = enterReferences();
+        try {
+            if (existing instanceof List<?> list && node instanceof SequenceAstNode<?> sequence) {
+                return updateList(list, sequence, type.elementType());
+            }
+            if (existing instanceof Map<?, ?> map && node instanceof MapAstNode<?,?> mapNode) {
+                return updateMap(map, mapNode, type.mapKeyType(), type.mapValueType());
+            }
+            if (existing.getClass().isAnnotationPresent(Serializable.class) && node instanceof MapAstNode<?,?> mapNode) {
+                updateObject(existing, mapNode);
+                return true;
+            }
+            return false;
+        } finally {
+            exitReferences(refs);
+        }
+    }
+
+    private void updateObject(Object instance, MapAstNode<?,?> mapNode) {
+        BindingPlan plan = getBindingPlan(instance.getClass());
+        trackObject(mapNode, instance);
+
+        boolean[] bound = new boolean[plan.properties.size()];
+        for (MapEntryAstNode<?> entry : mapNode.getEntries()) {
+            String key = keyText(entry.getKey());
+            BindingPlan.Property[] claimed = plan.propertiesFor(key);
+            if (claimed == null) {
+                if (!plan.anySetters.isEmpty() && !isSchemaOrId(key)) {
+                    processAnySetter(instance, plan, key, entry.getValue());
+                }
+                continue;
+            }
+            for (BindingPlan.Property property : claimed) {
+                if (bound[property.index]) continue;
+                bound[property.index] = true;
+                AstNode valueNode = entry.getValue();
+                if (valueNode == null) continue;
+                if (property.kind == BindingPlan.OBJECT && !(valueNode instanceof ScalarAstNode<?>)) {
+                    Object current;
+                    try {
+                        current = (Object) property.getter.invokeExact(instance);
+                    } catch (Throwable e) {
+                        throw new SerializerException(e, LangDiagnosticCode.FIELD_NOT_ACCESSIBLE, property.getName());
+                    }
+                    if (current != null && update(valueNode, current, property.genericType)) continue;
+                }
+                bindProperty(instance, property, valueNode, Projection.ALL);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean updateList(List<?> existing, SequenceAstNode<?> sequence, ResolvedType itemType) {
+        List<Object> list = (List<Object>) existing;
+        List<? extends AstNode> items = sequence.getChildren();
+        if (!canUpdate(list, items.size())) return false;
+        try {
+            for (int i = 0; i < items.size(); i++) {
+                AstNode item = items.get(i);
+                if (i < list.size()) {
+                    Object current = list.get(i);
+                    if (current == null || !update(item, current, itemType)) {
+                        list.set(i, deserializeNode(item, null, itemType, Projection.ALL));
+                    }
+                } else {
+                    list.add(deserializeNode(item, null, itemType, Projection.ALL));
+                }
+            }
+            if (list.size() > items.size()) {
+                list.subList(items.size(), list.size()).clear();
+            }
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+        trackObject(sequence, list);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean updateMap(Map<?, ?> existing, MapAstNode<?,?> mapNode, ResolvedType keyType, ResolvedType valType) {
+        Map<Object, Object> map = (Map<Object, Object>) existing;
+        if (!canUpdate(map)) return false;
+        Set<Object> keys = new HashSet<>();
+        try {
+            for (MapEntryAstNode<?> entry : mapNode.getEntries()) {
+                if (!(entry.getKey() instanceof ScalarAstNode<?> scalarKey)) {
+                    throw new SerializerException(mapNode, GenericDiagnosticCode.ERROR, "Non-scalar key not implemented");
+                }
+                Object key = deserializeScalar(scalarKey, keyType.raw);
+                if (key == null) continue;
+                keys.add(key);
+
+                Object current = map.get(key);
+                if (current == null || !update(entry.getValue(), current, valType)) {
+                    Object val = deserializeNode(entry.getValue(), null, valType, Projection.ALL);
+                    map.put(key, val != null ? val : "");
+                }
+            }
+            map.keySet().retainAll(keys);
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+        trackObject(mapNode, map);
+        return true;
+    }
+
+    /// Returns `false` if `list` rejects the writes that updating it to `size` elements
+    /// makes. Each write is tried with one that leaves the list as it was, so that a list
+    /// that cannot be changed is replaced before any of its elements are updated.
+    private static boolean canUpdate(List<Object> list, int size) {
+        // An empty list is only added to, and the first add fails before anything changed
+        if (list.isEmpty()) return true;
+        try {
+            list.set(0, list.get(0));
+            if (size != list.size()) {
+                list.add(list.get(0));
+                list.remove(list.size() - 1);
+            }
+            return true;
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    /// Returns `false` if `map` rejects puts, tried by putting back one of its own entries.
+    private static boolean canUpdate(Map<Object, Object> map) {
+        if (map.isEmpty()) return true;
+        try {
+            Map.Entry<Object, Object> first = map.entrySet().iterator().next();
+            map.put(first.getKey(), first.getValue());
+            return true;
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    //
+    // References
+    //
+
+    /// The identities seen by one top-level call and the calls it makes.
+    private final class References {
+        /// Nodes by the object they were serialized from.
+        final Map<Object,N> nodes = new IdentityHashMap<>();
+        /// Anchors by the node they were given to.
+        final Map<N,String> anchors = new IdentityHashMap<>();
+        /// Objects by the node they were deserialized from.
+        final Map<AstNode,Object> objects = new IdentityHashMap<>();
+        int depth;
+    }
+
+    /// Starts a call that tracks references, or returns `null` if references are not preserved.
+    private References enterReferences() {
+        if (!preserveReferences) return null;
+        References refs = references.get();
+        if (refs == null) {
+            refs = new References();
+            references.set(refs);
+        }
+        refs.depth++;
+        return refs;
+    }
+
+    private void exitReferences(References refs) {
+        if (refs != null && --refs.depth == 0) {
+            references.remove();
+        }
+    }
+
+    /// Records that `node` was serialized from `jvmInstance`.
+    private void trackNode(Object jvmInstance, N node) {
+        References refs = references.get();
+        if (refs != null) refs.nodes.put(jvmInstance, node);
+    }
+
+    /// Records that `jvmInstance` was deserialized from `node`.
+    private void trackObject(AstNode node, Object jvmInstance) {
+        References refs = references.get();
+        if (refs != null) refs.objects.put(node, jvmInstance);
+    }
+
+    private N createReference(References refs, Object jvmInstance) {
+        N target = refs.nodes.get(jvmInstance);
+        if (target == null) {
+            throw new SerializerException(LangDiagnosticCode.CYCLIC_REFERENCE, jvmInstance.getClass().getSimpleName());
+        }
+        String anchor = refs.anchors.computeIfAbsent(target, node -> "ref" + (refs.anchors.size() + 1));
+        return astFactory.createReferenceNode(anchor, target);
+    }
+
+    /// Returns the object already made from the target of `reference`, or converts the target.
+    private Object deserializeReference(ReferenceAstNode<?> reference, BindingPlan.Property property, ResolvedType type, Projection projection) {
+        AstNode target = reference.resolve();
+        if (target == null || target == reference) {
+            throw new SerializerException(reference, LangDiagnosticCode.UNRESOLVED_REFERENCE, reference.getReferenceTarget());
+        }
+        References refs = references.get();
+        if (refs != null && refs.objects.containsKey(target)) {
+            return refs.objects.get(target);
+        }
+        // Without an object made for the target, an alias inside it would convert it again
+        Set<AstNode> active = resolving.get();
+        if (active == null) {
+            active = Collections.newSetFromMap(new IdentityHashMap<>());
+            resolving.set(active);
+        }
+        if (!active.add(target)) {
+            throw new SerializerException(reference, LangDiagnosticCode.CYCLIC_REFERENCE, reference.getReferenceTarget());
+        }
+        try {
+            return deserializeNode(target, property, type, projection);
+        } finally {
+            active.remove(target);
+            if (active.isEmpty()) resolving.remove();
+        }
+    }
+
+    //
+    // Generated Serializers
+    //
+
+    /// Gives generated serializers writers and readers over this serializer's nodes.
+    private class ObjectBinder implements GeneratedSerializer.Binder {
+        @Override
+        public ObjectWriter newWriter() {
+            return new MapWriter(astFactory.createMapNode());
+        }
+
+        @Override
+        public ObjectReader newReader(MapAstNode<?,?> node) {
+            return new MapReader(node);
+        }
+    }
+
+    private class MapWriter implements ObjectWriter {
+        private final M map;
+
+        MapWriter(M map) {
+            this.map = map;
+        }
+
+        private void put(String key, N value) {
+            map.put(castToNode(astFactory.createScalarKeyNode(key)), value);
+        }
+
+        @Override
+        public void writeInt(String key, int value) {
+            put(key, castToNode(astFactory.createIntegerNode(value)));
+        }
+
+        @Override
+        public void writeLong(String key, long value) {
+            put(key, castToNode(astFactory.createLongNode(value)));
+        }
+
+        @Override
+        public void writeDouble(String key, double value) {
+            put(key, castToNode(astFactory.createDoubleNode(value)));
+        }
+
+        @Override
+        public void writeBoolean(String key, boolean value) {
+            put(key, castToNode(astFactory.createBooleanNode(value)));
+        }
+
+        @Override
+        public void write(String key, Object value) {
+            if (value != null) put(key, serialize(value));
+        }
+
+        @Override
+        public void writeEntries(Map<?, ?> entries) {
+            if (entries == null) return;
+            for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                N keyNode = serialize(entry.getKey());
+                N valueNode = serialize(entry.getValue());
+                map.put(keyNode, valueNode);
+            }
+        }
+
+        @Override
+        public AstNode getNode() {
+            return map;
+        }
+    }
+
+    private class MapReader implements ObjectReader {
+        private final MapAstNode<?,?> map;
+
+        MapReader(MapAstNode<?,?> map) {
+            this.map = map;
+        }
+
+        @Override
+        public AstNode get(String key) {
+            return map.get(key);
+        }
+
+        /// Returns the node as an unboxed scalar, or `null` if it must be converted as an object.
+        private ScalarAstNode<?> unboxed(AstNode node, Class<?> type) {
+            return (node instanceof ScalarAstNode<?> scalar && scalar.isUnboxed() && getValueDescriptor(type) == null)
+                ? scalar : null;
+        }
+
+        @Override
+        public int readInt(AstNode node, int defaultValue) {
+            ScalarAstNode<?> scalar = unboxed(node, int.class);
+            if (scalar != null) return scalar.asInteger(0);
+            Object value = deserializeNode(node, null, ResolvedType.of(int.class), Projection.ALL);
+            return value == null ? defaultValue : ((Number) value).intValue();
+        }
+
+        @Override
+        public long readLong(AstNode node, long defaultValue) {
+            ScalarAstNode<?> scalar = unboxed(node, long.class);
+            if (scalar != null) return scalar.asLong(0);
+            Object value = deserializeNode(node, null, ResolvedType.of(long.class), Projection.ALL);
+            return value == null ? defaultValue : ((Number) value).longValue();
+        }
+
+        @Override
+        public double readDouble(AstNode node, double defaultValue) {
+            ScalarAstNode<?> scalar = unboxed(node, double.class);
+            if (scalar != null) return scalar.asDouble(0);
+            Object value = deserializeNode(node, null, ResolvedType.of(double.class), Projection.ALL);
+            return value == null ? defaultValue : ((Number) value).doubleValue();
+        }
+
+        @Override
+        public boolean readBoolean(AstNode node, boolean defaultValue) {
+            ScalarAstNode<?> scalar = unboxed(node, boolean.class);
+            if (scalar != null) return scalar.asBoolean(false);
+            Object value = deserializeNode(node, null, ResolvedType.of(boolean.class), Projection.ALL);
+            return value == null ? defaultValue : (Boolean) value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <V> V read(AstNode node, Class<V> type) {
+            return (V) deserializeNode(node, null, ResolvedType.of(type), Projection.ALL);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <V> List<V> readList(AstNode node, Class<V> elementType) {
+            return (List<V>) deserializeList(node, ResolvedType.of(elementType), "", Projection.ALL);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <K, V> Map<K, V> readMap(AstNode node, Class<K> keyType, Class<V> valueType) {
+            return (Map<K, V>) deserializeMap(node, ResolvedType.of(keyType), ResolvedType.of(valueType), null, Projection.ALL);
+        }
+
+        @Override
+        public void readRemaining(Set<String> keys, BiConsumer<String, Object> setter) {
+            for (MapEntryAstNode<?> entry : map.getEntries()) {
+                String key = keyText(entry.getKey());
+                if (!keys.contains(key) && !isSchemaOrId(key)) {
+                    setter.accept(key, anyValue(entry.getValue()));
+                }
+            }
+        }
+    }
 }
@@ -6,6 +6,8 @@ import java.util.List;
 import io.github.qishr.cascara.common.lang.annotation.Beta;
 import io.github.qishr.cascara.common.lang.ast.AstNode;
 import io.github.qishr.cascara.common.lang.token.Token;
+import io.github.qishr.cascara.common.lang.util.LazyChildren;
+import io.github.qishr.cascara.common.lang.util.SourceBuffer;
 
 @Beta
 public interface AstParser<N extends AstNode, T extends Token> extends Processor {
@@ -32,4 +34,19 @@ public interface AstParser<N extends AstNode, T extends Token> extends Processor
     /// @param tokens A list of tokens representing the tokenized text source.
     /// @return The root [AstNode].
     N parse(List<T> tokens);
+
+    /// Entry point for a lazy parse of a random-access source.
+    ///
+    /// A lazy parser scans past the body of each map and sequence, recording its source
+    /// offsets in a [LazyChildren], and only parses the children on the first call to
+    /// `getChildren()`, `get(key)` or `getEntries()`. Reading a handful of values from a
+    /// large document then costs little more than finding their containers.
+    ///
+    /// Parsers that do not support lazy parsing fall back to a full parse.
+    ///
+    /// @param source A random-access buffer over the raw text source.
+    /// @return The root [AstNode].
+    default N parseLazy(SourceBuffer source) {
+        return parse(source.subSequence(0, source.length()).toString());
+    }
 }
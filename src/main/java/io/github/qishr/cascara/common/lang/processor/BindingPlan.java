@@ -0,0 +1,268 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.qishr.cascara.common.lang.annotation.AnyGetter;
+import io.github.qishr.cascara.common.lang.annotation.AnySetter;
+import io.github.qishr.cascara.common.lang.annotation.DataField;
+import io.github.qishr.cascara.common.lang.annotation.DataIgnore;
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+import io.github.qishr.cascara.common.lang.type.KeywordMatcher;
+
+/// How [AbstractSerializer] binds one class: its keys, fields, their generic types, any-getters,
+/// any-setters and constructor, found by reflection once and then reused for every instance.
+///
+/// Fields, methods and the constructor are reached through [MethodHandle]s made from the
+/// accessible reflective objects. Fields of type `int`, `long`, `double` and `boolean` get
+/// handles of their exact primitive type, so they are read and written without boxing.
+///
+/// Plans are immutable. A serializer keeps them in a [ClassValue], so they are computed on
+/// first use of a class and shared by all threads after that.
+final class BindingPlan {
+    static final byte OBJECT = 0;
+    static final byte INT = 1;
+    static final byte LONG = 2;
+    static final byte DOUBLE = 3;
+    static final byte BOOLEAN = 4;
+
+    /// Classes with more keys than this look them up in a [HashMap]: a perfect hash over many
+    /// keys of one length can need tables of many thousands of slots.
+    static final int MAX_MATCHED_KEYS = 32;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /// One bound field.
+    static final class Property {
+        /// The position in [#properties].
+        final int index;
+        final Field field;
+        /// The map key: the [DataField] key if there is one, otherwise the field name.
+        final String key;
+        final Class<?> type;
+        /// [#INT], [#LONG], [#DOUBLE] or [#BOOLEAN] for those primitive types, otherwise [#OBJECT].
+        final byte kind;
+        /// `true` for an [AnySetter] field, whose map entries are written inline.
+        final boolean anySetter;
+        /// The generic type of the field, with the type arguments of the bound class.
+        final ResolvedType genericType;
+        /// Reads the field: `(Object)int`, `(Object)long`, `(Object)double` or `(Object)boolean`
+        /// by [#kind], otherwise `(Object)Object`.
+        final MethodHandle getter;
+        /// Writes the field, with the matching value type, or `null` if it cannot be written.
+        final MethodHandle setter;
+
+        /// `owner` is the declaring class of `field` as the bound class parameterizes it.
+        Property(int index, Field field, ResolvedType owner) {
+            this.index = index;
+            this.field = field;
+            this.type = field.getType();
+            this.kind = kindOf(type);
+            this.anySetter = field.isAnnotationPresent(AnySetter.class);
+
+            String name = field.getName();
+            DataField dataField = field.getAnnotation(DataField.class);
+            if (dataField != null && dataField.key() != null && !dataField.key().isEmpty()) {
+                name = dataField.key();
+            }
+            this.key = name;
+
+            this.genericType = ResolvedType.of(field.getGenericType(), owner);
+
+            Class<?> valueType = kind == OBJECT ? Object.class : type;
+            boolean isStatic = Modifier.isStatic(field.getModifiers());
+            try {
+                MethodHandle get = LOOKUP.unreflectGetter(field);
+                if (isStatic) get = MethodHandles.dropArguments(get, 0, Object.class);
+                this.getter = get.asType(MethodType.methodType(valueType, Object.class));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read field " + field, e);
+            }
+            MethodHandle set;
+            try {
+                set = LOOKUP.unreflectSetter(field);
+                if (isStatic) set = MethodHandles.dropArguments(set, 0, Object.class);
+                set = set.asType(MethodType.methodType(void.class, Object.class, valueType));
+            } catch (IllegalAccessException e) {
+                // Static final fields cannot be written
+                set = null;
+            }
+            this.setter = set;
+        }
+
+        String getName() {
+            return field.getName();
+        }
+    }
+
+    /// An any-getter or any-setter method with a handle adapted to `(Object)Object` or
+    /// `(Object,String,Object)void`.
+    static final class AnyMethod {
+        final Method method;
+        final MethodHandle handle;
+
+        AnyMethod(Method method, MethodType type) {
+            this.method = method;
+            try {
+                this.handle = LOOKUP.unreflect(method).asType(type);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot call method " + method, e);
+            } catch (WrongMethodTypeException e) {
+                throw new IllegalArgumentException("Method " + method + " cannot be used as " + type, e);
+            }
+        }
+
+        String getName() {
+            return method.getName();
+        }
+    }
+
+    final Class<?> type;
+    /// The fields that are not [DataIgnore]d, superclass fields last.
+    final List<Property> properties;
+    /// `true` if every field is of a plain class, or a class whose type arguments are plain
+    /// classes, so that binding by raw classes, as generated code does, loses no type.
+    final boolean exactTypes;
+    /// `true` if a bound field is static. Generated serializers leave such classes to reflection.
+    final boolean hasStaticFields;
+    /// The keys of [#properties]; entries with other keys go to the any-setters.
+    final Set<String> keys;
+    /// [#keys] compiled into a perfect hash, and the properties of each key by its index, or
+    /// `null` if the keys are looked up in [#propertiesByKey].
+    private final KeywordMatcher keyMatcher;
+    private final Property[][] propertiesByIndex;
+    /// The properties of each key, or `null` if [#keyMatcher] is used.
+    private final Map<String,Property[]> propertiesByKey;
+    final List<AnyMethod> anyGetters;
+    final List<AnyMethod> anySetters;
+    /// The public no-argument constructor, or `null` if there is none.
+    final Constructor<?> constructor;
+    /// The constructor as a `()Object` handle, or `null` if it cannot be made into one, in
+    /// which case [#constructor] is called reflectively.
+    final MethodHandle factory;
+
+    BindingPlan(Class<?> type, List<Field> fields, List<Method> methods) {
+        this.type = type;
+
+        ResolvedType self = ResolvedType.of(type);
+        List<Property> properties = new ArrayList<>();
+        Set<String> keys = new LinkedHashSet<>();
+        boolean exactTypes = true;
+        boolean hasStaticFields = false;
+        for (Field field : fields) {
+            if (field.isAnnotationPresent(DataIgnore.class)) continue;
+            field.setAccessible(true);
+            exactTypes &= isExact(field.getGenericType());
+            hasStaticFields |= Modifier.isStatic(field.getModifiers());
+            ResolvedType owner = self.as(field.getDeclaringClass());
+            Property property = new Property(properties.size(), field, owner);
+            properties.add(property);
+            keys.add(property.key);
+        }
+        this.properties = Collections.unmodifiableList(properties);
+        this.exactTypes = exactTypes;
+        this.hasStaticFields = hasStaticFields;
+        this.keys = Collections.unmodifiableSet(keys);
+
+        Map<String,Property[]> propertiesByKey = new HashMap<>();
+        for (String key : keys) {
+            // A key declared again by a superclass binds both fields
+            propertiesByKey.put(key, properties.stream().filter(p -> p.key.equals(key)).toArray(Property[]::new));
+        }
+        KeywordMatcher keyMatcher = null;
+        if (keys.size() <= MAX_MATCHED_KEYS) {
+            try {
+                keyMatcher = KeywordMatcher.of(keys.toArray(String[]::new));
+            } catch (IllegalArgumentException e) {
+                // No collision-free table; look the keys up in the map instead
+            }
+        }
+        this.keyMatcher = keyMatcher;
+        if (keyMatcher == null) {
+            this.propertiesByIndex = null;
+            this.propertiesByKey = propertiesByKey;
+        } else {
+            this.propertiesByIndex = new Property[keyMatcher.size()][];
+            for (int i = 0; i < propertiesByIndex.length; i++) {
+                propertiesByIndex[i] = propertiesByKey.get(keyMatcher.getKeyword(i));
+            }
+            this.propertiesByKey = null;
+        }
+
+        MethodType getterType = MethodType.methodType(Object.class, Object.class);
+        MethodType setterType = MethodType.methodType(void.class, Object.class, String.class, Object.class);
+        List<AnyMethod> anyGetters = new ArrayList<>();
+        List<AnyMethod> anySetters = new ArrayList<>();
+        for (Method method : methods) {
+            if (method.isAnnotationPresent(AnyGetter.class)) {
+                method.setAccessible(true);
+                anyGetters.add(new AnyMethod(method, getterType));
+            }
+            if (method.isAnnotationPresent(AnySetter.class)) {
+                method.setAccessible(true);
+                anySetters.add(new AnyMethod(method, setterType));
+            }
+        }
+        this.anyGetters = Collections.unmodifiableList(anyGetters);
+        this.anySetters = Collections.unmodifiableList(anySetters);
+
+        Constructor<?> constructor;
+        try {
+            constructor = type.getConstructor();
+        } catch (NoSuchMethodException e) {
+            constructor = null;
+        }
+        this.constructor = constructor;
+
+        MethodHandle factory = null;
+        if (constructor != null && !Modifier.isAbstract(type.getModifiers()) && constructor.trySetAccessible()) {
+            try {
+                factory = LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+            } catch (IllegalAccessException e) {
+                // Leave it to Constructor.newInstance, which reports the failure
+            }
+        }
+        this.factory = factory;
+    }
+
+    /// Returns the properties bound to `key`, or `null` if no field claims it.
+    @Nullable
+    Property[] propertiesFor(String key) {
+        if (keyMatcher == null) return propertiesByKey.get(key);
+        int index = keyMatcher.indexOf(key);
+        return index < 0 ? null : propertiesByIndex[index];
+    }
+
+    /// Returns `true` for a class, or a parameterized type whose arguments are all classes.
+    private static boolean isExact(Type type) {
+        if (type instanceof Class<?>) return true;
+        if (!(type instanceof ParameterizedType parameterized)) return false;
+        for (Type argument : parameterized.getActualTypeArguments()) {
+            if (!(argument instanceof Class<?>)) return false;
+        }
+        return true;
+    }
+
+    private static byte kindOf(Class<?> type) {
+        if (type == int.class) return INT;
+        if (type == long.class) return LONG;
+        if (type == double.class) return DOUBLE;
+        if (type == boolean.class) return BOOLEAN;
+        return OBJECT;
+    }
+}
@@ -0,0 +1,154 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.MapAstNode;
+import io.github.qishr.cascara.common.lang.ast.MapEntryAstNode;
+import io.github.qishr.cascara.common.lang.ast.ReferenceAstNode;
+import io.github.qishr.cascara.common.lang.ast.SequenceAstNode;
+
+/// An immutable, reusable evaluation plan produced by [PathCompiler].
+///
+/// A plan holds no reference to any AST, so a single instance can be shared
+/// between threads and evaluated against any number of documents.
+public final class CompiledPath {
+    private final String expression;
+    private final Step[] steps;
+    private final boolean singular;
+
+    CompiledPath(String expression, List<Step> steps) {
+        this.expression = expression;
+        this.steps = steps.toArray(new Step[0]);
+        boolean singular = true;
+        for (Step step : this.steps) {
+            singular &= !(step instanceof WildcardStep);
+        }
+        this.singular = singular;
+    }
+
+    /// Returns the expression text this plan was compiled from.
+    public String getExpression() {
+        return expression;
+    }
+
+    /// Returns `true` if the path can match at most one node.
+    public boolean isSingular() {
+        return singular;
+    }
+
+    /// Returns all nodes matched by this path, in document order.
+    public List<AstNode> evaluate(AstNode root) {
+        if (root == null) return List.of();
+        if (singular) {
+            AstNode node = evaluateFirst(root);
+            return node == null ? List.of() : List.of(node);
+        }
+
+        List<AstNode> current = new ArrayList<>();
+        List<AstNode> next = new ArrayList<>();
+        current.add(root);
+        for (Step step : steps) {
+            for (AstNode node : current) {
+                step.select(deref(node), next);
+            }
+            List<AstNode> swap = current;
+            current = next;
+            next = swap;
+            next.clear();
+            if (current.isEmpty()) break;
+        }
+        return current;
+    }
+
+    /// Returns the first node matched by this path, or `null` if nothing matches.
+    @Nullable
+    public AstNode evaluateFirst(AstNode root) {
+        if (!singular) {
+            List<AstNode> all = evaluate(root);
+            return all.isEmpty() ? null : all.get(0);
+        }
+        AstNode node = root;
+        for (int i = 0; i < steps.length && node != null; i++) {
+            node = steps[i].selectOne(deref(node));
+        }
+        return node;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private static AstNode deref(AstNode node) {
+        while (node instanceof ReferenceAstNode<?> reference) {
+            AstNode target = reference.resolve();
+            if (target == null || target == node) break;
+            node = target;
+        }
+        return node;
+    }
+
+    //
+    // Steps
+    //
+
+    abstract static class Step {
+        abstract AstNode selectOne(AstNode node);
+
+        void select(AstNode node, List<AstNode> out) {
+            AstNode selected = selectOne(node);
+            if (selected != null) out.add(selected);
+        }
+    }
+
+    static final class KeyStep extends Step {
+        private final String key;
+
+        KeyStep(String key) {
+            this.key = key;
+        }
+
+        @Override
+        AstNode selectOne(AstNode node) {
+            return (node instanceof MapAstNode<?,?> map) ? map.get(key) : null;
+        }
+    }
+
+    static final class IndexStep extends Step {
+        private final int index;
+
+        IndexStep(int index) {
+            this.index = index;
+        }
+
+        @Override
+        AstNode selectOne(AstNode node) {
+            if (!(node instanceof SequenceAstNode<?> sequence)) return null;
+            int i = index < 0 ? sequence.size() + index : index;
+            return (i >= 0 && i < sequence.size()) ? sequence.get(i) : null;
+        }
+    }
+
+    static final class WildcardStep extends Step {
+        @Override
+        AstNode selectOne(AstNode node) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        void select(AstNode node, List<AstNode> out) {
+            if (node instanceof MapAstNode<?,?> map) {
+                for (MapEntryAstNode<?> entry : map.getEntries()) {
+                    out.add(entry.getValue());
+                }
+            } else if (node instanceof SequenceAstNode<?> sequence) {
+                for (AstNode element : sequence) {
+                    out.add(element);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import io.github.qishr.cascara.common.diagnostic.code.LangDiagnosticCode;
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.MapAstNode;
+import io.github.qishr.cascara.common.lang.ast.ScalarAstNode;
+import io.github.qishr.cascara.common.lang.exception.SerializerException;
+import io.github.qishr.cascara.common.lang.type.AbstractTypeDescriptor;
+import io.github.qishr.cascara.common.lang.type.TypeSerializer;
+
+/// The base class of the serializers that the `@Serializable` annotation processor
+/// generates, one per class.
+///
+/// A generated serializer reads and writes fields directly, so binding a class that has one
+/// needs no reflection. It is registered as a `ServiceProvider` like any other
+/// [TypeSerializer]. When [AbstractSerializer] loads one, it [binds][#bind(Binder)] it to
+/// its own node factory and conversions. A generated serializer is only used for exactly
+/// its own class, never for subclasses, and only where its raw-class reads bind the same
+/// values as reflection: with no projection, without preserved references, and for classes
+/// with no static fields and whose fields have no nested, wildcard or variable type arguments.
+public abstract class GeneratedSerializer<T> extends AbstractTypeDescriptor<T> implements TypeSerializer<T> {
+    /// Creates writers and readers over the nodes of one serializer.
+    public interface Binder {
+        ObjectWriter newWriter();
+
+        ObjectReader newReader(MapAstNode<?,?> node);
+    }
+
+    private Binder binder;
+
+    protected GeneratedSerializer(Class<T> jvmType) {
+        super(jvmType, "object");
+        properties.set("generated", true);
+    }
+
+    /// Binds this serializer to the writers and readers of a serializer.
+    public GeneratedSerializer<T> bind(Binder binder) {
+        this.binder = binder;
+        return this;
+    }
+
+    @Override
+    public AstNode serialize(T jvmInstance) throws SerializerException {
+        ObjectWriter out = binder().newWriter();
+        write(jvmInstance, out);
+        return out.getNode();
+    }
+
+    @Override
+    public T deserialize(AstNode astNode) throws SerializerException {
+        if (astNode == null || (astNode instanceof ScalarAstNode<?> scalar && scalar.getPrimitive() == null)) {
+            return null;
+        }
+        if (!(astNode instanceof MapAstNode<?,?> map)) {
+            throw new SerializerException(astNode, LangDiagnosticCode.EXPECTED_MAP_STRUCTURE, getJvmType().getSimpleName());
+        }
+        return read(binder().newReader(map));
+    }
+
+    /// Writes the fields and any-getter entries of `instance`.
+    protected abstract void write(T instance, ObjectWriter out);
+
+    /// Creates an instance and reads its fields and any-setter entries.
+    protected abstract T read(ObjectReader in);
+
+    private Binder binder() {
+        if (binder == null) {
+            throw new IllegalStateException(getClass().getSimpleName() + " is not bound to a serializer");
+        }
+        return binder;
+    }
+}
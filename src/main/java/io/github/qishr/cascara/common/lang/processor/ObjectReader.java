@@ -0,0 +1,42 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+
+/// Reads the fields of one object from a map node, converting values the way the
+/// serializer that created it would.
+///
+/// This is what a [GeneratedSerializer] reads from. The `read` methods return `null` for
+/// null values, which leaves the field untouched, and the primitive methods return the
+/// given default in that case.
+public interface ObjectReader {
+    /// Returns the value node of `key`, or `null` if the map has no such key.
+    @Nullable
+    AstNode get(String key);
+
+    int readInt(AstNode node, int defaultValue);
+
+    long readLong(AstNode node, long defaultValue);
+
+    double readDouble(AstNode node, double defaultValue);
+
+    boolean readBoolean(AstNode node, boolean defaultValue);
+
+    /// Converts `node` to `type`, which may be a wrapper of a primitive type.
+    @Nullable
+    <V> V read(AstNode node, Class<V> type);
+
+    /// Converts `node` to a list whose elements are converted to `elementType`.
+    <V> List<V> readList(AstNode node, Class<V> elementType);
+
+    /// Converts `node` to a map whose keys and values are converted to `keyType` and `valueType`.
+    <K, V> Map<K, V> readMap(AstNode node, Class<K> keyType, Class<V> valueType);
+
+    /// Passes every entry whose key is not in `keys` to `setter`, as for an any-setter.
+    void readRemaining(Set<String> keys, BiConsumer<String, Object> setter);
+}
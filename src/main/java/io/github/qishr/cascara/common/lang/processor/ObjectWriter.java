@@ -0,0 +1,30 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import java.util.Map;
+
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+
+/// Writes the fields of one object into a map node of the serializer that created it.
+///
+/// This is what a [GeneratedSerializer] writes to. Values are serialized the same way
+/// [AbstractSerializer] serializes field values, and the primitive methods hand their
+/// values to the node factory without boxing.
+public interface ObjectWriter {
+    void writeInt(String key, int value);
+
+    void writeLong(String key, long value);
+
+    void writeDouble(String key, double value);
+
+    void writeBoolean(String key, boolean value);
+
+    /// Writes `value` under `key`, or nothing if `value` is `null`.
+    void write(String key, Object value);
+
+    /// Writes every entry of `entries` inline, as for an any-getter. Does nothing if
+    /// `entries` is `null`.
+    void writeEntries(Map<?, ?> entries);
+
+    /// Returns the map node written so far.
+    AstNode getNode();
+}
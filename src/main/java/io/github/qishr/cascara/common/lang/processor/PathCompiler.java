@@ -0,0 +1,134 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.qishr.cascara.common.diagnostic.code.LangDiagnosticCode;
+import io.github.qishr.cascara.common.lang.exception.ParserException;
+
+/// Compiles path expression text into reusable [CompiledPath] plans, caching them by text.
+///
+/// The supported syntax is a language-agnostic subset of JSONPath:
+///
+/// | Syntax            | Meaning                                        |
+/// |-------------------|------------------------------------------------|
+/// | `$`               | The root node (optional)                       |
+/// | `.name` or `name` | The value of the map entry with key `name`     |
+/// | `['name']`        | Same, for keys containing `.`, `[` or spaces   |
+/// | `[2]`, `[-1]`     | Sequence element, negative indexes from the end |
+/// | `.*` or `[*]`     | Every map value or sequence element            |
+///
+/// For example `$.servers[0].ports[*]` or `spec.containers[-1]['image name']`.
+public class PathCompiler {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final PathCompiler DEFAULT = new PathCompiler(DEFAULT_CAPACITY);
+
+    private final int capacity;
+    private final Map<String,CompiledPath> cache = new ConcurrentHashMap<>();
+
+    public PathCompiler(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /// Returns the shared, process-wide compiler.
+    public static PathCompiler getDefault() {
+        return DEFAULT;
+    }
+
+    /// Returns the cached plan for `expression`, compiling it on first use.
+    ///
+    /// @throws ParserException If the expression is malformed.
+    public CompiledPath compile(String expression) {
+        CompiledPath path = cache.get(expression);
+        if (path == null) {
+            path = new CompiledPath(expression, parse(expression));
+            if (cache.size() >= capacity) {
+                // Expressions are usually a small fixed set; a full cache means ad-hoc text, so start over
+                cache.clear();
+            }
+            cache.put(expression, path);
+        }
+        return path;
+    }
+
+    //
+    // Parsing
+    //
+
+    private static List<CompiledPath.Step> parse(String text) {
+        List<CompiledPath.Step> steps = new ArrayList<>();
+        int length = text.length();
+        int i = 0;
+
+        if (i < length && text.charAt(i) == '$') i++;
+
+        // Without a leading `$` the first key may omit its dot
+        boolean bare = i == 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '[') {
+                i = parseBracket(text, i + 1, steps);
+            } else if (c == '.' || bare) {
+                if (c == '.') i++;
+                int start = i;
+                while (i < length && text.charAt(i) != '.' && text.charAt(i) != '[') i++;
+                if (start == i) throw error(text, start, "expected a key");
+                String name = text.substring(start, i);
+                steps.add(name.equals("*") ? new CompiledPath.WildcardStep() : new CompiledPath.KeyStep(name));
+            } else {
+                throw error(text, i, "unexpected '" + c + "'");
+            }
+            bare = false;
+        }
+        return steps;
+    }
+
+    /// Parses the contents of `[...]` starting just after the bracket and returns the position after `]`.
+    private static int parseBracket(String text, int i, List<CompiledPath.Step> steps) {
+        int length = text.length();
+        if (i >= length) throw error(text, i, "unterminated '['");
+
+        char c = text.charAt(i);
+        if (c == '\'' || c == '"') {
+            StringBuilder key = new StringBuilder();
+            int j = i + 1;
+            while (j < length && text.charAt(j) != c) {
+                char k = text.charAt(j++);
+                if (k == '\\' && j < length) k = text.charAt(j++);
+                key.append(k);
+            }
+            if (j + 1 >= length || text.charAt(j + 1) != ']') throw error(text, i, "unterminated quoted key");
+            steps.add(new CompiledPath.KeyStep(key.toString()));
+            return j + 2;
+        }
+
+        int close = text.indexOf(']', i);
+        if (close < 0) throw error(text, i, "unterminated '['");
+        if (close == i + 1 && c == '*') {
+            steps.add(new CompiledPath.WildcardStep());
+            return close + 1;
+        }
+
+        int index = 0;
+        int j = i;
+        boolean negative = j < close && text.charAt(j) == '-';
+        if (negative) j++;
+        if (j == close) throw error(text, i, "expected an index");
+        for (; j < close; j++) {
+            char d = text.charAt(j);
+            if (d < '0' || d > '9' || index > (Integer.MAX_VALUE - 9) / 10) {
+                throw error(text, j, "invalid index");
+            }
+            index = index * 10 + (d - '0');
+        }
+        steps.add(new CompiledPath.IndexStep(negative ? -index : index));
+        return close + 1;
+    }
+
+    private static ParserException error(String text, int position, String reason) {
+        return new ParserException(1, position + 1, LangDiagnosticCode.INVALID_PATH, text, position, reason);
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.qishr.cascara.common.lang.annotation.DataField;
+import io.github.qishr.cascara.common.lang.annotation.DataIgnore;
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+import io.github.qishr.cascara.common.lang.annotation.Serializable;
+
+/// The keys to bind when deserializing, as a tree of map keys.
+///
+/// A projection is made from dotted key paths, such as `server.host`, or from a view class
+/// whose fields name the keys to bind. Paths pass through sequences, so `services.name`
+/// binds the `name` of every element of `services`. The key `*` stands for any key without
+/// a path of its own, as for the entries of a map: `routes.*.target`. A key whose path ends
+/// there binds its whole value.
+///
+/// Keys that a projection leaves out are skipped without reading their values. When the AST
+/// comes from a parser that overrides [AstParser#parseLazy], the containers below those keys
+/// are not parsed either; other parsers still read the whole text.
+///
+/// Projections are immutable.
+public final class Projection {
+    /// Binds every key.
+    public static final Projection ALL = new Projection(null);
+
+    /// The key that matches keys without a projection of their own.
+    public static final String ANY_KEY = "*";
+
+    /// The projections of the included keys, or `null` if all keys are included.
+    private final Map<String,Projection> keys;
+
+    private Projection(Map<String,Projection> keys) {
+        this.keys = keys;
+    }
+
+    /// Returns a projection of the dotted key paths `paths`.
+    public static Projection of(String... paths) {
+        return of(List.of(paths));
+    }
+
+    /// Returns a projection of the dotted key paths `paths`.
+    public static Projection of(Collection<String> paths) {
+        Builder root = new Builder();
+        for (String path : paths) {
+            if (path == null || path.isEmpty()) {
+                throw new IllegalArgumentException("Projection paths must not be empty");
+            }
+            Builder node = root;
+            for (String key : path.split("\\.", -1)) {
+                if (key.isEmpty()) {
+                    throw new IllegalArgumentException("Invalid projection path \"" + path + "\"");
+                }
+                if (node.keys == null) break;
+                node = node.keys.computeIfAbsent(key, k -> new Builder());
+            }
+            // The path ends here, so everything below is bound
+            node.keys = null;
+        }
+        return root.build();
+    }
+
+    /// Returns a projection of the keys of the fields of `view`. Fields whose type, or
+    /// whose element or value type, is [Serializable] are projected to the fields of that
+    /// type in turn.
+    public static Projection of(Class<?> view) {
+        if (view == null) {
+            throw new IllegalArgumentException("view must not be null");
+        }
+        return ofView(ResolvedType.of(view), new HashSet<>());
+    }
+
+    /// Returns `true` if this projection binds every key.
+    public boolean isAll() {
+        return keys == null;
+    }
+
+    /// Returns the projection of the value of `key`, or `null` if `key` is not bound.
+    @Nullable
+    public Projection get(String key) {
+        if (keys == null) return this;
+        Projection projection = keys.get(key);
+        return projection != null ? projection : keys.get(ANY_KEY);
+    }
+
+    /// Returns the bound keys, or `null` if every key is bound.
+    @Nullable
+    public Set<String> getKeys() {
+        return keys == null ? null : keys.keySet();
+    }
+
+    @Override
+    public String toString() {
+        if (keys == null) return "*";
+        StringBuilder sb = new StringBuilder("{");
+        for (Map.Entry<String,Projection> entry : keys.entrySet()) {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(entry.getKey());
+            if (!entry.getValue().isAll()) sb.append(entry.getValue());
+        }
+        return sb.append('}').toString();
+    }
+
+    private static Projection ofView(ResolvedType view, Set<Class<?>> visiting) {
+        if (!visiting.add(view.raw)) {
+            // A recursive view binds the recursion whole
+            return ALL;
+        }
+        Map<String,Projection> keys = new LinkedHashMap<>();
+        for (Class<?> c = view.raw; c != null && c != Object.class; c = c.getSuperclass()) {
+            ResolvedType owner = view.as(c);
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+                if (field.isAnnotationPresent(DataIgnore.class)) continue;
+                String key = field.getName();
+                DataField dataField = field.getAnnotation(DataField.class);
+                if (dataField != null && dataField.key() != null && !dataField.key().isEmpty()) {
+                    key = dataField.key();
+                }
+                keys.putIfAbsent(key, ofValue(ResolvedType.of(field.getGenericType(), owner), visiting));
+            }
+        }
+        visiting.remove(view.raw);
+        return new Projection(Collections.unmodifiableMap(keys));
+    }
+
+    private static Projection ofValue(ResolvedType type, Set<Class<?>> visiting) {
+        if (List.class.isAssignableFrom(type.raw)) {
+            return ofValue(type.elementType(), visiting);
+        }
+        if (Map.class.isAssignableFrom(type.raw)) {
+            Projection values = ofValue(type.mapValueType(), visiting);
+            return values.isAll() ? ALL : new Projection(Map.of(ANY_KEY, values));
+        }
+        return type.raw.isAnnotationPresent(Serializable.class) ? ofView(type, visiting) : ALL;
+    }
+
+    private static final class Builder {
+        Map<String,Builder> keys = new LinkedHashMap<>();
+
+        Projection build() {
+            if (keys == null) return ALL;
+            Map<String,Projection> built = new LinkedHashMap<>();
+            keys.forEach((key, child) -> built.put(key, child.build()));
+            return new Projection(Collections.unmodifiableMap(built));
+        }
+    }
+}
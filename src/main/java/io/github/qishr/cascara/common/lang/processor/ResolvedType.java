@@ -0,0 +1,166 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.List;
+import java.util.Map;
+
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+
+/// A generic type with its type arguments resolved to classes, to any depth.
+///
+/// `List<Map<String, List<Foo>>>` resolves to `List` with the argument `Map`, which has the
+/// arguments `String` and `List`, and so on. Wildcards resolve to their bound, and type
+/// variables to the argument given for them in the context they are resolved in, such as a
+/// subclass that extends `Base<Foo>`. Variables without an argument resolve to their bound.
+///
+/// Resolved types are immutable. [BindingPlan] resolves the type of each field once, so
+/// nested collections are bound without further reflection.
+final class ResolvedType {
+    private static final ResolvedType[] NONE = new ResolvedType[0];
+
+    static final ResolvedType OBJECT = new ResolvedType(Object.class, NONE);
+    static final ResolvedType STRING = new ResolvedType(String.class, NONE);
+
+    final Class<?> raw;
+    private final ResolvedType[] arguments;
+
+    // Computed on first use; racing threads compute equal values
+    private ResolvedType elementType;
+    private ResolvedType mapKeyType;
+    private ResolvedType mapValueType;
+
+    private ResolvedType(Class<?> raw, ResolvedType[] arguments) {
+        this.raw = raw;
+        this.arguments = arguments;
+    }
+
+    /// Returns `type` without type arguments.
+    static ResolvedType of(Class<?> type) {
+        if (type == Object.class) return OBJECT;
+        if (type == String.class) return STRING;
+        return new ResolvedType(type, NONE);
+    }
+
+    /// Resolves `type`, which appears in the declaration of `context.raw`, replacing the
+    /// type variables of that class with the arguments of `context`.
+    static ResolvedType of(Type type, ResolvedType context) {
+        if (type instanceof Class<?> c) {
+            return of(c);
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            Type[] typeArguments = parameterized.getActualTypeArguments();
+            ResolvedType[] arguments = new ResolvedType[typeArguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = of(typeArguments[i], context);
+            }
+            return new ResolvedType((Class<?>) parameterized.getRawType(), arguments);
+        }
+        if (type instanceof WildcardType wildcard) {
+            // `? super Foo` accepts a Foo, so that is what gets created
+            Type[] lower = wildcard.getLowerBounds();
+            return of(lower.length > 0 ? lower[0] : wildcard.getUpperBounds()[0], context);
+        }
+        if (type instanceof TypeVariable<?> variable) {
+            if (context != null && variable.getGenericDeclaration() == context.raw) {
+                TypeVariable<?>[] parameters = context.raw.getTypeParameters();
+                for (int i = 0; i < parameters.length && i < context.arguments.length; i++) {
+                    if (parameters[i].equals(variable)) return context.arguments[i];
+                }
+            }
+            return of(erasure(variable));
+        }
+        if (type instanceof GenericArrayType array) {
+            Class<?> component = of(array.getGenericComponentType(), context).raw;
+            return of(Array.newInstance(component, 0).getClass());
+        }
+        return OBJECT;
+    }
+
+    /// Returns the type argument at `index`, or `null` if this type has none there.
+    @Nullable
+    ResolvedType argument(int index) {
+        return index < arguments.length ? arguments[index] : null;
+    }
+
+    /// Returns how this type parameterizes `target`, a superclass or interface of it, or
+    /// `null` if it does not extend `target`.
+    @Nullable
+    ResolvedType as(Class<?> target) {
+        if (raw == target) {
+            return this;
+        }
+        if (!target.isAssignableFrom(raw)) {
+            return null;
+        }
+        Type superclass = raw.getGenericSuperclass();
+        if (superclass != null) {
+            ResolvedType found = of(superclass, this).as(target);
+            if (found != null) return found;
+        }
+        for (Type superInterface : raw.getGenericInterfaces()) {
+            ResolvedType found = of(superInterface, this).as(target);
+            if (found != null) return found;
+        }
+        return null;
+    }
+
+    /// Returns the element type of a `List`, or `Object` if it is not known.
+    ResolvedType elementType() {
+        ResolvedType result = elementType;
+        if (result == null) {
+            result = elementType = typeArgument(List.class, 0, OBJECT);
+        }
+        return result;
+    }
+
+    /// Returns the key type of a `Map`, or `String` if it is not known.
+    ResolvedType mapKeyType() {
+        ResolvedType result = mapKeyType;
+        if (result == null) {
+            result = mapKeyType = typeArgument(Map.class, 0, STRING);
+        }
+        return result;
+    }
+
+    /// Returns the value type of a `Map`, or `String` if it is not known.
+    ResolvedType mapValueType() {
+        ResolvedType result = mapValueType;
+        if (result == null) {
+            result = mapValueType = typeArgument(Map.class, 1, STRING);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        if (arguments.length == 0) return raw.getSimpleName();
+        StringBuilder sb = new StringBuilder(raw.getSimpleName()).append('<');
+        for (int i = 0; i < arguments.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(arguments[i]);
+        }
+        return sb.append('>').toString();
+    }
+
+    private ResolvedType typeArgument(Class<?> target, int index, ResolvedType fallback) {
+        ResolvedType parameterized = as(target);
+        ResolvedType argument = parameterized == null ? null : parameterized.argument(index);
+        return argument == null ? fallback : argument;
+    }
+
+    private static Class<?> erasure(Type type) {
+        if (type instanceof Class<?> c) return c;
+        if (type instanceof ParameterizedType parameterized) return (Class<?>) parameterized.getRawType();
+        if (type instanceof TypeVariable<?> variable) return erasure(variable.getBounds()[0]);
+        if (type instanceof WildcardType wildcard) return erasure(wildcard.getUpperBounds()[0]);
+        if (type instanceof GenericArrayType array) {
+            return Array.newInstance(erasure(array.getGenericComponentType()), 0).getClass();
+        }
+        return Object.class;
+    }
+}
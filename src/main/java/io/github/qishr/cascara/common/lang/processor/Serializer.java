@@ -49,6 +49,55 @@ public interface Serializer<N extends AstNode> extends Processor {
     /// @throws SerializerException If the AST structure does not match the target type.
     <C> C fromAst(N astNode, Class<C> jvmType);
 
+    /// Transforms an AST into a specific Java type, binding only the keys that `projection`
+    /// includes. The values of other keys are skipped without being read.
+    ///
+    /// @param astNode  The root AST node to interpret.
+    /// @param jvmType The target type to instantiate and populate.
+    /// @param projection The keys to bind, or [Projection#ALL].
+    /// @param <C>   The type of the resulting object.
+    /// @return A partly populated instance of the requested class.
+    /// @throws UnsupportedOperationException If this serializer cannot project and
+    ///         `projection` is not [Projection#ALL].
+    default <C> C fromAst(N astNode, Class<C> jvmType, Projection projection) {
+        if (projection == null || projection.isAll()) {
+            return fromAst(astNode, jvmType);
+        }
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support projections");
+    }
+
+    /// Parses a string into a specific Java type, binding only the keys that `projection`
+    /// includes. With a parser that overrides [AstParser#parseLazy], the skipped values
+    /// are not parsed at all.
+    ///
+    /// @throws UnsupportedOperationException If this serializer cannot project and
+    ///         `projection` is not [Projection#ALL].
+    default <C> C fromText(String text, Class<C> jvmType, Projection projection) throws SerializerException {
+        if (projection == null || projection.isAll()) {
+            return fromText(text, jvmType);
+        }
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support projections");
+    }
+
+    /// Merges an AST into an existing object in place, reusing its nested objects, lists
+    /// and maps where the keys of the AST match, and returns it.
+    ///
+    /// @param astNode  The root AST node to merge.
+    /// @param existing The object to update.
+    /// @param <C>   The type of the object.
+    /// @return `existing`.
+    /// @throws SerializerException If the AST structure does not match the object.
+    /// @throws UnsupportedOperationException If this serializer cannot update objects.
+    default <C> C updateFromAst(N astNode, C existing) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not update objects");
+    }
+
+    /// Parses a string and merges it into an existing object in place, as
+    /// [#updateFromAst(AstNode, Object)] does.
+    default <C> C updateFromText(String text, C existing) throws SerializerException {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not update objects");
+    }
+
     Serializer<N> registerTypeDescriptor(TypeDescriptor<?> typeDescriptor);
     Serializer<N> setParser(AstParser<N,?> parser);
 }
@@ -0,0 +1,48 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import io.github.qishr.cascara.common.diagnostic.NoOpReporter;
+import io.github.qishr.cascara.common.diagnostic.Reporter;
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+import io.github.qishr.cascara.common.lang.util.LanguageOptions;
+
+/// The reporter and options of one serializer call.
+///
+/// A serializer shared between threads cannot take a reporter or options through its
+/// setters without affecting every other caller. Instead, each call can be made inside
+/// [AbstractSerializer#withContext(SerializerContext, java.util.function.Supplier)] with
+/// its own context. Contexts are immutable.
+public final class SerializerContext {
+    private final Reporter reporter;
+    private final LanguageOptions<?> options;
+
+    private SerializerContext(Reporter reporter, LanguageOptions<?> options) {
+        this.reporter = reporter == null ? new NoOpReporter() : reporter;
+        this.options = options;
+    }
+
+    public static SerializerContext of(Reporter reporter) {
+        return new SerializerContext(reporter, null);
+    }
+
+    public static SerializerContext of(Reporter reporter, LanguageOptions<?> options) {
+        return new SerializerContext(reporter, options);
+    }
+
+    public Reporter getReporter() {
+        return reporter;
+    }
+
+    /// Returns the options of the call, or `null` to use those of the serializer.
+    @Nullable
+    public LanguageOptions<?> getOptions() {
+        return options;
+    }
+
+    public SerializerContext withReporter(Reporter reporter) {
+        return new SerializerContext(reporter, options);
+    }
+
+    public SerializerContext withOptions(LanguageOptions<?> options) {
+        return new SerializerContext(reporter, options);
+    }
+}
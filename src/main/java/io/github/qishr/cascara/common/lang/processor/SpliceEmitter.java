@@ -0,0 +1,113 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.MapAstNode;
+import io.github.qishr.cascara.common.lang.ast.MapEntryAstNode;
+import io.github.qishr.cascara.common.lang.ast.SequenceAstNode;
+
+/// Re-emits an edited AST by copying the original source text of everything that did not change.
+///
+/// The emitter walks the tree from the root using [AstNode#isDirty()] and the source spans
+/// reported by [AstNode#getStartOffset()] and [AstNode#getEndOffset()]:
+///
+/// - A clean node with a span is copied verbatim from the source.
+/// - A dirty container that was not itself modified (only something below it changed) is
+///   copied piecewise: the source text between its children is kept, and each child is
+///   emitted recursively.
+/// - Anything else (modified nodes, nodes created in memory) is handed to the language's
+///   [Renderer].
+///
+/// Editing one value of a large document therefore costs one bulk copy on either side of
+/// the edit, and the formatting and comments of the rest of the document are preserved.
+public final class SpliceEmitter {
+
+    /// Renders a node that cannot be copied from the source.
+    @FunctionalInterface
+    public interface Renderer {
+        /// Writes the text of `node` to `out`. For a node that replaces parsed text,
+        /// [AstNode#getStartColumn()] still reports where that text began.
+        void render(AstNode node, Appendable out) throws IOException;
+    }
+
+    private final CharSequence source;
+    private final Renderer renderer;
+
+    /// @param source The text the tree was parsed from.
+    /// @param renderer The language emitter used for dirty regions.
+    public SpliceEmitter(CharSequence source, Renderer renderer) {
+        this.source = source;
+        this.renderer = renderer;
+    }
+
+    /// Emits `root` to a string.
+    public String emit(AstNode root) {
+        StringBuilder out = new StringBuilder(source.length());
+        try {
+            emit(root, out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    /// Emits `root` to `out`.
+    public void emit(AstNode root, Appendable out) throws IOException {
+        node(root, out);
+    }
+
+    private void node(AstNode node, Appendable out) throws IOException {
+        if (hasSpan(node)) {
+            if (!node.isDirty()) {
+                copy(node.getStartOffset(), node.getEndOffset(), out);
+                return;
+            }
+            if (!node.isModified() && isContainer(node) && splice(node, out)) return;
+        }
+        renderer.render(node, out);
+    }
+
+    /// Copies the text around the children of `node`, emitting each child in turn.
+    /// Returns `false`, having written nothing, if a child has no usable span.
+    private boolean splice(AstNode node, Appendable out) throws IOException {
+        List<? extends AstNode> children = node.getChildren();
+        int position = node.getStartOffset();
+        for (AstNode child : children) {
+            if (!hasSpan(child) || child.getStartOffset() < position || child.getEndOffset() > node.getEndOffset()) {
+                return false;
+            }
+            position = child.getEndOffset();
+        }
+
+        position = node.getStartOffset();
+        for (AstNode child : children) {
+            copy(position, child.getStartOffset(), out);
+            node(child, out);
+            position = child.getEndOffset();
+        }
+        copy(position, node.getEndOffset(), out);
+        return true;
+    }
+
+    private void copy(int start, int end, Appendable out) throws IOException {
+        if (start >= end) return;
+        if (out instanceof Writer writer && source instanceof String text) {
+            writer.write(text, start, end - start);
+        } else if (out instanceof StringBuilder builder) {
+            builder.append(source, start, end);
+        } else {
+            out.append(source, start, end);
+        }
+    }
+
+    private static boolean hasSpan(AstNode node) {
+        return node.getStartOffset() >= 0 && node.getEndOffset() >= node.getStartOffset();
+    }
+
+    private static boolean isContainer(AstNode node) {
+        return node instanceof MapAstNode<?,?> || node instanceof SequenceAstNode<?> || node instanceof MapEntryAstNode<?>;
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.qishr.cascara.common.lang.reference;
+
+import java.util.Collections;
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.CommentAstNode;
+import io.github.qishr.cascara.common.lang.ast.ReferenceAstNode;
+
+/// A node that stands for another node of the same tree, the one whose anchor is
+/// [#getReferenceTarget()].
+///
+/// The target is not a child of the alias, so walking the children of a tree visits each
+/// shared node once, and a tree with cycles can be walked.
+public final class ReferenceAliasNode extends ReferenceNode implements ReferenceAstNode<ReferenceNode> {
+    private final String anchor;
+    private final ReferenceNode target;
+
+    public ReferenceAliasNode(String anchor, ReferenceNode target) {
+        this.anchor = anchor;
+        this.target = target;
+    }
+
+    @Override
+    public String getReferenceTarget() {
+        return anchor;
+    }
+
+    @Override
+    public ReferenceNode resolve() {
+        return target;
+    }
+
+    @Override
+    public String asString() {
+        return "*" + anchor;
+    }
+
+    @Override
+    public List<? extends AstNode> getChildren() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<CommentAstNode> getComments() {
+        return Collections.emptyList();
+    }
+}
@@ -12,16 +12,16 @@ public final class ReferenceMapEntryNode extends ReferenceNode implements MapEnt
     public ReferenceMapEntryNode(ReferenceNode key, ReferenceNode value) {
         this.key = key;
         this.value = value;
+        adopt(key);
+        adopt(value);
     }
 
     public ReferenceMapEntryNode(String key, ReferenceNode value) {
-        this.key = new ReferenceScalarNode(key);
-        this.value = value;
+        this(new ReferenceScalarNode(key), value);
     }
 
     public ReferenceMapEntryNode(String key, String value) {
-        this.key = new ReferenceScalarNode(key);
-        this.value = new ReferenceScalarNode(value);
+        this(new ReferenceScalarNode(key), new ReferenceScalarNode(value));
     }
 
     @Override
@@ -37,6 +37,8 @@ public final class ReferenceMapEntryNode extends ReferenceNode implements MapEnt
     @Override
     public ReferenceMapEntryNode setRaw(ReferenceNode value) {
         this.value = value;
+        adopt(value);
+        markModified();
         return this;
     }
 
@@ -1,27 +1,54 @@
 package io.github.qishr.cascara.common.lang.reference;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import io.github.qishr.cascara.common.lang.ast.*;
+import io.github.qishr.cascara.common.lang.util.LazyChildren;
 
 
 public final class ReferenceMapNode extends ReferenceNode implements MapAstNode<ReferenceNode, ReferenceMapEntryNode> {
+    /// Maps with at least this many entries look keys up through a hash index instead of a scan.
+    public static final int INDEX_THRESHOLD = 8;
 
-    private List<ReferenceMapEntryNode> entries = new ArrayList<>();
+    private List<ReferenceMapEntryNode> entries;
+    private LazyChildren<ReferenceMapEntryNode> deferred;
+
+    /// The first entry for each key string, built on the first lookup in a large map.
+    /// The entry list stays the source of truth for order; the index is only for lookup.
+    /// Changes made through [#getEntries()] drop it, so it is rebuilt on the next lookup.
+    private Map<String,ReferenceMapEntryNode> index;
+    private final List<ReferenceMapEntryNode> entriesView = new Entries();
+
+    public ReferenceMapNode() {
+        this.entries = new ArrayList<>();
+    }
+
+    /// Creates a map whose entries are parsed on first access.
+    public ReferenceMapNode(LazyChildren<ReferenceMapEntryNode> deferred) {
+        if (deferred == null) throw new IllegalArgumentException("deferred is null");
+        this.deferred = deferred;
+    }
+
+    /// Returns `false` while the entries of a lazily parsed map have not been read yet.
+    public boolean isMaterialized() {
+        return deferred == null;
+    }
 
     /// {@inheritDoc}
     @Override
     public boolean isEmpty() {
-        return entries.isEmpty();
+        return entries().isEmpty();
     }
 
     /// {@inheritDoc}
     @Override
     public int size() {
-        return entries.size();
+        return entries().size();
     }
 
     @Override
@@ -37,48 +64,58 @@ public final class ReferenceMapNode extends ReferenceNode implements MapAstNode<
 
     @Override
     public ReferenceMapEntryNode getEntry(ReferenceNode key) {
-        for (ReferenceMapEntryNode entry : entries) {
+        if (key == null) return null;
+        ReferenceMapEntryNode candidate = findEntry(keyOf(key));
+        if (candidate == null || candidate.getKey().equals(key)) return candidate;
+        // Another entry has the same key text; fall back to matching the key node itself
+        for (ReferenceMapEntryNode entry : entries()) {
             if (entry.getKey().equals(key)) return entry;
         }
         return null;
     }
 
+    /// Returns the entries. Changes made through the list are seen by key lookups.
     @Override
     public List<ReferenceMapEntryNode> getEntries() {
-        return entries;
+        return entriesView;
     }
 
     @Override
     public Set<ReferenceNode> keySet() {
-        return Set.copyOf(entries.stream().map(e -> e.getKey()).toList());
+        return Set.copyOf(entries().stream().map(e -> e.getKey()).toList());
     }
 
     @Override
     public ReferenceMapNode put(ReferenceNode key, ReferenceNode value) {
-        for (ReferenceMapEntryNode entry : entries) {
-            if (entry.getKey().equals(key)) {
-                entry.setRaw(value);
-                return this;
-            }
+        ReferenceMapEntryNode entry = getEntry(key);
+        if (entry != null) {
+            entry.setRaw(value);
+        } else {
+            addEntry(new ReferenceMapEntryNode(key, value));
         }
-        entries.add(new ReferenceMapEntryNode(key, value));
         return this;
     }
 
     @Override
     public ReferenceMapNode remove(ReferenceNode key) {
-        entries.remove(key);
+        removeEntry(getEntry(key));
+        return this;
+    }
+
+    /// Appends `entry` without looking for an existing entry with the same key, as a parser does.
+    public ReferenceMapNode addEntry(ReferenceMapEntryNode entry) {
+        entries().add(entry);
+        if (index != null) {
+            index.putIfAbsent(keyOf(entry.getKey()), entry);
+        }
+        adopt(entry);
+        markModified();
         return this;
     }
 
     @Override
     public boolean containsKey(String key) {
-        for (ReferenceMapEntryNode entry : entries) {
-            if (entry.getKey() instanceof ReferenceScalarNode scalar && key.equals(scalar.asString())) {
-                return true;
-            }
-        }
-        return false;
+        return findEntry(key) != null;
     }
 
     @Override
@@ -90,57 +127,30 @@ public final class ReferenceMapNode extends ReferenceNode implements MapAstNode<
 
     @Override
     public ReferenceMapNode put(String key, ReferenceNode value) {
-        for (ReferenceMapEntryNode entry : entries) {
-            ReferenceNode kNode = entry.getKey();
-            // Check if the existing key's string value matches the requested key
-            if (kNode instanceof ReferenceScalarNode scalar && key.equals(scalar.asString())) {
-                entry.setRaw(value);
-                return this;
-            }
+        ReferenceMapEntryNode entry = findEntry(key);
+        if (entry != null) {
+            entry.setRaw(value);
+        } else {
+            addEntry(new ReferenceMapEntryNode(new ReferenceScalarNode(key), value));
         }
-        // Only if not found, create the new entry
-        ReferenceNode keyNode = new ReferenceScalarNode(key);
-        entries.add(new ReferenceMapEntryNode(keyNode, value));
         return this;
     }
 
     @Override
     public ReferenceMapNode remove(String key) {
-        Iterator<ReferenceMapEntryNode> it = entries.iterator();
-        while (it.hasNext()) {
-            ReferenceMapEntryNode entry = it.next();
-            AstNode k = entry.getKey();
-            if (k instanceof ScalarAstNode scalar && scalar.asString().equals(key)) {
-                it.remove();
-                return this;
-            }
-        }
+        removeEntry(findEntry(key));
         return this;
     }
 
     @Override
     public ReferenceNode get(String key) {
-        if (key == null) return null;
-        for (ReferenceMapEntryNode entry : entries) {
-            ReferenceNode kNode = entry.getKey();
-            String entryKey = null;
-            if (kNode instanceof ReferenceScalarNode scalar) {
-                entryKey = scalar.asString();
-            } else {
-                entryKey = kNode.toString();
-            }
-
-            if (key.equals(entryKey)) {
-                ReferenceNode val = entry.getValue();
-                return val;
-            }
-        }
-        return null;
+        ReferenceMapEntryNode entry = findEntry(key);
+        return entry == null ? null : entry.getValue();
     }
 
     @Override
     public List<ReferenceMapEntryNode> getChildren() {
-        return entries;
+        return entriesView;
     }
 
     @Override
@@ -169,4 +179,113 @@ public final class ReferenceMapNode extends ReferenceNode implements MapAstNode<
         // TODO Auto-generated method stub
         throw new UnsupportedOperationException("Unimplemented method 'values'");
     }
+
+
+    @Override
+    protected List<? extends AstNode> loadedChildren() {
+        return isMaterialized() ? entries() : List.of();
+    }
+
+    //
+    // Key Lookup
+    //
+
+    private static String keyOf(ReferenceNode key) {
+        return (key instanceof ScalarAstNode<?> scalar) ? scalar.asString() : String.valueOf(key);
+    }
+
+    /// Returns the first entry whose key text is `key`.
+    private ReferenceMapEntryNode findEntry(String key) {
+        if (key == null) return null;
+        Map<String,ReferenceMapEntryNode> lookup = index();
+        if (lookup == null) {
+            for (ReferenceMapEntryNode entry : entries()) {
+                if (key.equals(keyOf(entry.getKey()))) return entry;
+            }
+            return null;
+        }
+        ReferenceMapEntryNode entry = lookup.get(key);
+        if (entry != null && !key.equals(keyOf(entry.getKey()))) {
+            // A key node was edited in place since the index was built
+            index = null;
+            entry = index().get(key);
+        }
+        return entry;
+    }
+
+    /// Returns the key index, building it if the map is large enough, or `null` for small maps.
+    private Map<String,ReferenceMapEntryNode> index() {
+        List<ReferenceMapEntryNode> list = entries();
+        if (list.size() < INDEX_THRESHOLD) {
+            index = null;
+            return null;
+        }
+        if (index == null) {
+            index = new HashMap<>(list.size() * 2);
+            for (ReferenceMapEntryNode entry : list) {
+                index.putIfAbsent(keyOf(entry.getKey()), entry);
+            }
+        }
+        return index;
+    }
+
+    private void removeEntry(ReferenceMapEntryNode entry) {
+        if (entry == null || !entries().remove(entry)) return;
+        if (index != null) {
+            String key = keyOf(entry.getKey());
+            if (index.get(key) == entry) {
+                index.remove(key);
+                // Promote a later entry with the same key, if there is one
+                for (ReferenceMapEntryNode other : entries) {
+                    if (key.equals(keyOf(other.getKey()))) {
+                        index.put(key, other);
+                        break;
+                    }
+                }
+            }
+        }
+        markModified();
+    }
+
+    /// The entry list as [#getEntries()] returns it; any change drops the key index.
+    private final class Entries extends AbstractList<ReferenceMapEntryNode> {
+        @Override
+        public ReferenceMapEntryNode get(int index) {
+            return entries().get(index);
+        }
+
+        @Override
+        public int size() {
+            return entries().size();
+        }
+
+        @Override
+        public ReferenceMapEntryNode set(int i, ReferenceMapEntryNode entry) {
+            ReferenceMapEntryNode previous = entries().set(i, entry);
+            index = null;
+            return previous;
+        }
+
+        @Override
+        public void add(int i, ReferenceMapEntryNode entry) {
+            entries().add(i, entry);
+            index = null;
+        }
+
+        @Override
+        public ReferenceMapEntryNode remove(int i) {
+            ReferenceMapEntryNode previous = entries().remove(i);
+            index = null;
+            return previous;
+        }
+    }
+
+    private List<ReferenceMapEntryNode> entries() {
+        if (deferred != null) {
+            entries = new ArrayList<>(deferred.get());
+            entries.forEach(this::adopt);
+            deferred = null;
+        }
+        return entries;
+    }
 }
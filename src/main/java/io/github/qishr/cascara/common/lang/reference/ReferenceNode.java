@@ -1,10 +1,20 @@
 package io.github.qishr.cascara.common.lang.reference;
 
+import java.util.List;
+
 import io.github.qishr.cascara.common.lang.annotation.Nullable;
 import io.github.qishr.cascara.common.lang.ast.*;
+import io.github.qishr.cascara.common.lang.frozen.FrozenNode;
 import io.github.qishr.cascara.common.lang.token.Token;
 
 public abstract class ReferenceNode implements AstNode {
+    private int startOffset = -1;
+    private int endOffset = -1;
+    private ReferenceNode parent;
+    private boolean modified;
+    private boolean dirty;
+    private String anchor;
+
     @Override
     public int getStartLine() { return 0; }
     @Override
@@ -17,4 +27,78 @@ public abstract class ReferenceNode implements AstNode {
     @Nullable
     @Override
     public Token getToken() { return null; }
+
+    @Override
+    public int getStartOffset() { return startOffset; }
+    @Override
+    public int getEndOffset() { return endOffset; }
+
+    @Nullable
+    @Override
+    public String getAnchor() { return anchor; }
+
+    /// Sets the name that [ReferenceAliasNode]s use to refer to this node.
+    public ReferenceNode setAnchor(String anchor) {
+        this.anchor = anchor;
+        return this;
+    }
+
+    /// Records where the node was parsed from.
+    public ReferenceNode setSourceSpan(int startOffset, int endOffset) {
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        return this;
+    }
+
+    /// A node without a source span was created in memory and so is always dirty.
+    @Override
+    public boolean isDirty() {
+        return dirty || startOffset < 0;
+    }
+
+    @Override
+    public boolean isModified() {
+        return modified || startOffset < 0;
+    }
+
+    /// Returns a deeply immutable copy of this subtree that can be shared between threads.
+    public FrozenNode freeze() {
+        return FrozenNode.freeze(this);
+    }
+
+    /// Returns the container that most recently adopted this node, if any.
+    @Nullable
+    public ReferenceNode getParent() {
+        return parent;
+    }
+
+    /// Makes this node the parent of `child`.
+    protected void adopt(ReferenceNode child) {
+        if (child != null) child.parent = this;
+    }
+
+    /// Clears the change flags of this node and every loaded node below it.
+    ///
+    /// Parsers call this once the tree is complete, so that building it does not count as a change.
+    public ReferenceNode markClean() {
+        modified = false;
+        dirty = false;
+        for (AstNode child : loadedChildren()) {
+            if (child instanceof ReferenceNode node) node.markClean();
+        }
+        return this;
+    }
+
+    /// Returns the children that are already in memory, without triggering a lazy load.
+    protected List<? extends AstNode> loadedChildren() {
+        return getChildren();
+    }
+
+    /// Flags this node as modified and its ancestors as dirty.
+    protected void markModified() {
+        modified = true;
+        for (ReferenceNode node = this; node != null && !node.dirty; node = node.parent) {
+            node.dirty = true;
+        }
+    }
 }
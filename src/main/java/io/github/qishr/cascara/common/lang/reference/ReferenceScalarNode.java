@@ -2,35 +2,131 @@ package io.github.qishr.cascara.common.lang.reference;
 
 import io.github.qishr.cascara.common.lang.annotation.Nullable;
 import io.github.qishr.cascara.common.lang.ast.*;
+import io.github.qishr.cascara.common.lang.type.NumberScanner;
+import io.github.qishr.cascara.common.lang.type.Primitive;
 import io.github.qishr.cascara.common.lang.util.QuoteStyle;
 
 import java.util.Collections;
 import java.util.List;
 
+/// A mutable scalar.
+///
+/// Whole numbers, doubles and booleans are kept in a primitive field rather than as a boxed
+/// object, so a scalar read from a large numeric document costs the node alone.
+/// [#asInteger()], [#asLong()], [#asDouble()] and [#asBoolean()] read that field directly;
+/// only [#getPrimitive()] boxes it, and it returns the same wrapper type that was stored, so
+/// an `Integer` stays an `Integer`. A plain [Primitive] holding such a value, as parsers
+/// create, is unboxed as well and not kept: [#getPrimitive()] returns a new [Primitive] of
+/// the same value, whose text [#asString()] also returns. Any other value, including a quoted
+/// [Primitive] or an instance of a subclass, is kept as an object.
 public final class ReferenceScalarNode extends ReferenceNode implements ScalarAstNode<ReferenceNode> {
+    private static final byte OBJECT = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEAN = 4;
 
+    /// The value when [#kind] is [#OBJECT], otherwise `null`.
     private Object value;
+    /// The value when [#kind] is not [#OBJECT]: the number itself, the bits of a double, or 0 or 1.
+    private long bits;
+    private byte kind;
+    /// `true` if the unboxed value was given as a [Primitive], so [#getPrimitive()] returns one.
+    private boolean wrapped;
     private QuoteStyle quoteStyle = QuoteStyle.PLAIN;
 
     public ReferenceScalarNode(Object value) {
-        this.value = value;
+        store(value);
+    }
+
+    public static ReferenceScalarNode of(long value) {
+        ReferenceScalarNode node = new ReferenceScalarNode(null);
+        node.storeLong(value);
+        return node;
+    }
+
+    public static ReferenceScalarNode of(double value) {
+        ReferenceScalarNode node = new ReferenceScalarNode(null);
+        node.kind = DOUBLE;
+        node.bits = Double.doubleToRawLongBits(value);
+        return node;
+    }
+
+    public static ReferenceScalarNode of(boolean value) {
+        ReferenceScalarNode node = new ReferenceScalarNode(null);
+        node.kind = BOOLEAN;
+        node.bits = value ? 1 : 0;
+        return node;
+    }
+
+    private void store(Object value) {
+        boolean wrapped = false;
+        if (value instanceof Primitive primitive && primitive.getClass() == Primitive.class
+            && primitive.getQuoteStyle() == QuoteStyle.PLAIN) {
+            Object unwrapped = primitive.unwrap();
+            if (unwrapped instanceof Integer || unwrapped instanceof Long
+                || unwrapped instanceof Double || unwrapped instanceof Boolean) {
+                wrapped = true;
+                value = unwrapped;
+            }
+        }
+        this.value = null;
+        this.wrapped = wrapped;
+        if (value instanceof Integer number) {
+            kind = INT;
+            bits = number;
+        } else if (value instanceof Long number) {
+            kind = LONG;
+            bits = number;
+        } else if (value instanceof Double number) {
+            kind = DOUBLE;
+            bits = Double.doubleToRawLongBits(number);
+        } else if (value instanceof Boolean bool) {
+            kind = BOOLEAN;
+            bits = bool ? 1 : 0;
+        } else {
+            kind = OBJECT;
+            bits = 0;
+            this.value = value;
+        }
+    }
+
+    private void storeLong(long value) {
+        this.value = null;
+        this.wrapped = false;
+        this.kind = (value == (int) value) ? INT : LONG;
+        this.bits = value;
+    }
+
+    /// Returns `true` if the value is held in a primitive field rather than as an object.
+    @Override
+    public boolean isUnboxed() {
+        return kind != OBJECT;
     }
 
     @Override
     public ReferenceScalarNode setQuoteStyle(QuoteStyle style) {
         this.quoteStyle = style;
+        markModified();
         return this;
     }
 
     @Override
     @Nullable
     public String getRaw() {
-        return value == null ? null : value.toString();
+        return kind == OBJECT && value == null ? null : asString();
     }
 
     @Override
     public String asString() {
-        return value == null ? "" : value.toString();
+        if (value != null) return value.toString();
+        return switch (kind) {
+            case INT -> Integer.toString((int) bits);
+            case LONG -> Long.toString(bits);
+            case DOUBLE -> Double.toString(Double.longBitsToDouble(bits));
+            case BOOLEAN -> bits != 0 ? "true" : "false";
+            default -> "";
+        };
     }
 
     @Override
@@ -40,8 +136,22 @@ public final class ReferenceScalarNode extends ReferenceNode implements ScalarAs
 
     @Override
     public int asInteger(int defaultValue) {
-        if (value instanceof Number n) return n.intValue();
-        try { return Integer.parseInt(asString()); } catch (Exception e) { return defaultValue; }
+        return switch (kind) {
+            case INT, LONG -> (int) bits;
+            case DOUBLE -> (int) Double.longBitsToDouble(bits);
+            case BOOLEAN -> defaultValue;
+            default -> (value instanceof Number n) ? n.intValue() : NumberScanner.parseInt(asString(), defaultValue);
+        };
+    }
+
+    @Override
+    public long asLong(long defaultValue) {
+        return switch (kind) {
+            case INT, LONG -> bits;
+            case DOUBLE -> (long) Double.longBitsToDouble(bits);
+            case BOOLEAN -> defaultValue;
+            default -> (value instanceof Number n) ? n.longValue() : NumberScanner.parseLong(asString(), defaultValue);
+        };
     }
 
     @Override
@@ -51,8 +161,12 @@ public final class ReferenceScalarNode extends ReferenceNode implements ScalarAs
 
     @Override
     public double asDouble(double defaultValue) {
-        if (value instanceof Number n) return n.doubleValue();
-        try { return Double.parseDouble(asString()); } catch (Exception e) { return defaultValue; }
+        return switch (kind) {
+            case INT, LONG -> bits;
+            case DOUBLE -> Double.longBitsToDouble(bits);
+            case BOOLEAN -> defaultValue;
+            default -> (value instanceof Number n) ? n.doubleValue() : NumberScanner.parseDouble(asString(), defaultValue);
+        };
     }
 
     @Override
@@ -62,19 +176,47 @@ public final class ReferenceScalarNode extends ReferenceNode implements ScalarAs
 
     @Override
     public boolean asBoolean(boolean defaultValue) {
+        if (kind == BOOLEAN) return bits != 0;
         if (value instanceof Boolean b) return b;
         return Boolean.parseBoolean(asString());
     }
 
+    /// Returns the value, boxing it if it is held in a primitive field, and wrapping it in a new
+    /// [Primitive] if it was stored as one.
     @Nullable
     @Override
     public Object getPrimitive() {
-        return value;
+        Object boxed = switch (kind) {
+            case INT -> (int) bits;
+            case LONG -> bits;
+            case DOUBLE -> Double.longBitsToDouble(bits);
+            case BOOLEAN -> bits != 0;
+            default -> value;
+        };
+        return wrapped ? Primitive.of(boxed) : boxed;
     }
 
     @Override
     public ReferenceScalarNode setPrimitive(Object value) {
-        this.value = value;
+        store(value);
+        markModified();
+        return this;
+    }
+
+    /// Sets a whole number without boxing it.
+    public ReferenceScalarNode setLong(long value) {
+        storeLong(value);
+        markModified();
+        return this;
+    }
+
+    /// Sets a double without boxing it.
+    public ReferenceScalarNode setDouble(double value) {
+        this.value = null;
+        this.wrapped = false;
+        this.kind = DOUBLE;
+        this.bits = Double.doubleToRawLongBits(value);
+        markModified();
         return this;
     }
 
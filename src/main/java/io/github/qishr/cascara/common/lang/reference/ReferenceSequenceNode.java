@@ -1,62 +1,161 @@
 package io.github.qishr.cascara.common.lang.reference;
 
 import io.github.qishr.cascara.common.lang.ast.*;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 
-public final class ReferenceSequenceNode extends ReferenceNode implements SequenceAstNode<ReferenceNode> {
+import io.github.qishr.cascara.common.lang.util.LazyChildren;
+import io.github.qishr.cascara.common.lang.util.QuoteStyle;
 
-    private final List<ReferenceNode> elements = new ArrayList<>();
+/// A mutable sequence.
+///
+/// A sequence of numbers can be packed into a `long[]` or `double[]` instead of holding one
+/// scalar node per element: [#of(List)] and lazily loaded sequences pack themselves when
+/// they have at least [#PACK_THRESHOLD] elements that are all whole numbers or all doubles,
+/// and [#ofLongs(long[])] and [#ofDoubles(double[])] build packed sequences directly.
+/// Element nodes are then created on demand by [#get(int)] and kept, so repeated access
+/// returns the same node and changes made through it are seen by [#getLong(int)] and
+/// [#getDouble(int)]. Any structural change, or storing a non-matching value, converts the
+/// sequence back to a list of nodes. Packed elements have no source span of their own.
+public final class ReferenceSequenceNode extends ReferenceNode implements NumericSequenceAstNode<ReferenceNode> {
+    /// Sequences shorter than this are not worth packing.
+    public static final int PACK_THRESHOLD = 16;
+
+    private List<ReferenceNode> elements;
+    private LazyChildren<ReferenceNode> deferred;
+
+    /// Packed whole numbers, or `null`.
+    private long[] longs;
+    /// Packed doubles, or `null`.
+    private double[] doubles;
+    private int packedSize;
+    /// The element nodes created so far for a packed sequence, or `null`.
+    private ReferenceScalarNode[] views;
+
+    public ReferenceSequenceNode() {
+        this.elements = new ArrayList<>();
+    }
+
+    private ReferenceSequenceNode(long[] longs, double[] doubles, int packedSize) {
+        this.longs = longs;
+        this.doubles = doubles;
+        this.packedSize = packedSize;
+    }
+
+    /// Creates a sequence whose elements are parsed on first access.
+    public ReferenceSequenceNode(LazyChildren<ReferenceNode> deferred) {
+        if (deferred == null) throw new IllegalArgumentException("deferred is null");
+        this.deferred = deferred;
+    }
+
+    /// Creates a sequence of `elements`, packing them if they are all numbers of one kind.
+    /// Parsers use this when a sequence is complete.
+    public static ReferenceSequenceNode of(List<? extends ReferenceNode> elements) {
+        ReferenceSequenceNode sequence = new ReferenceSequenceNode();
+        sequence.fill(elements);
+        return sequence;
+    }
+
+    /// Creates a packed sequence of whole numbers. The array is used directly, not copied.
+    public static ReferenceSequenceNode ofLongs(long[] values) {
+        return new ReferenceSequenceNode(values, null, values.length);
+    }
+
+    /// Creates a packed sequence of doubles. The array is used directly, not copied.
+    public static ReferenceSequenceNode ofDoubles(double[] values) {
+        return new ReferenceSequenceNode(null, values, values.length);
+    }
+
+    /// Returns `false` while the elements of a lazily parsed sequence have not been read yet.
+    public boolean isMaterialized() {
+        return deferred == null;
+    }
+
+    /// Returns `true` if the elements are held in a primitive array.
+    public boolean isPacked() {
+        load();
+        return isPackedNow();
+    }
 
     @Override
     public int size() {
-        return elements.size();
+        load();
+        return isPackedNow() ? packedSize : elements.size();
     }
 
     @Override
     public boolean isEmpty() {
-        return elements.isEmpty();
+        return size() == 0;
     }
 
     @Override
     public ReferenceSequenceNode clear() {
-        elements.clear();
+        deferred = null;
+        longs = null;
+        doubles = null;
+        views = null;
+        elements = new ArrayList<>();
+        markModified();
         return this;
     }
 
     @Override
     public ReferenceSequenceNode add(ReferenceNode node) {
-        elements.add(node);
+        elements().add(node);
+        adopt(node);
+        markModified();
+        return this;
+    }
+
+    @Override
+    public ReferenceSequenceNode add(int index, ReferenceNode node) {
+        elements().add(index, node);
+        adopt(node);
+        markModified();
+        return this;
+    }
+
+    @Override
+    public ReferenceSequenceNode set(int index, ReferenceNode node) {
+        elements().set(index, node);
+        adopt(node);
+        markModified();
         return this;
     }
 
     @Override
     public ReferenceSequenceNode remove(ReferenceNode node) {
-        elements.remove(node);
+        if (elements().remove(node)) markModified();
         return this;
     }
 
     @Override
     public ReferenceSequenceNode remove(int index) {
-        elements.remove(index);
+        elements().remove(index);
+        markModified();
         return this;
     }
 
     @Override
     public ReferenceNode get(int index) {
-        return elements.get(index);
+        load();
+        return isPackedNow() ? view(index) : elements.get(index);
     }
 
+    /// Returns the elements. For a packed sequence this is a view; changing it unpacks the sequence.
     @Override
     public List<ReferenceNode> getElements() {
-        return elements;
+        load();
+        return isPackedNow() ? new PackedElements() : elements;
     }
 
     @Override
     public List<? extends AstNode> getChildren() {
-        return elements;
+        return getElements();
     }
 
     @Override
@@ -64,6 +163,186 @@ public final class ReferenceSequenceNode extends ReferenceNode implements Sequen
         return Collections.emptyList();
     }
 
+    @Override
+    protected List<? extends AstNode> loadedChildren() {
+        if (!isMaterialized()) return List.of();
+        if (!isPackedNow()) return elements;
+        if (views == null) return List.of();
+        List<ReferenceNode> created = new ArrayList<>();
+        for (ReferenceScalarNode view : views) {
+            if (view != null) created.add(view);
+        }
+        return created;
+    }
+
+    //
+    // Numeric Access
+    //
+
+    /// {@inheritDoc}
+    ///
+    /// Element nodes handed out by [#get(int)] are checked here; if one of them now holds a
+    /// value of another kind, the sequence is unpacked and this returns `false`.
+    @Override
+    public boolean isNumeric() {
+        load();
+        if (!isPackedNow()) return false;
+        if (views != null) {
+            for (int i = 0; i < packedSize; i++) {
+                ReferenceScalarNode view = views[i];
+                if (view == null) continue;
+                if (longs != null && isWholeNumber(view.getPrimitive())) {
+                    longs[i] = view.asLong();
+                } else if (doubles != null && view.getPrimitive() instanceof Double) {
+                    doubles[i] = view.asDouble();
+                } else {
+                    unpack();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isIntegral() {
+        load();
+        return longs != null;
+    }
+
+    @Override
+    public long getLong(int index) {
+        load();
+        if (!isPackedNow()) return scalarAt(index).asLong();
+        Objects.checkIndex(index, packedSize);
+        if (views != null && views[index] != null) return views[index].asLong();
+        return longs != null ? longs[index] : (long) doubles[index];
+    }
+
+    @Override
+    public double getDouble(int index) {
+        load();
+        if (!isPackedNow()) return scalarAt(index).asDouble();
+        Objects.checkIndex(index, packedSize);
+        if (views != null && views[index] != null) return views[index].asDouble();
+        return longs != null ? longs[index] : doubles[index];
+    }
+
+    private ReferenceScalarNode scalarAt(int index) {
+        if (elements.get(index) instanceof ReferenceScalarNode scalar) return scalar;
+        throw new IllegalStateException("Element " + index + " is not a scalar");
+    }
+
+    //
+    // Storage
+    //
+
+    private boolean isPackedNow() {
+        return longs != null || doubles != null;
+    }
+
+    private static boolean isWholeNumber(Object value) {
+        // Only the types NumberScanner would produce, so that unpacking restores them exactly
+        return value instanceof Integer || (value instanceof Long number && number != number.intValue());
+    }
+
+    private void fill(List<? extends ReferenceNode> loaded) {
+        if (loaded.size() >= PACK_THRESHOLD && pack(loaded)) return;
+        elements = new ArrayList<>(loaded);
+        elements.forEach(this::adopt);
+    }
+
+    private boolean pack(List<? extends ReferenceNode> loaded) {
+        boolean whole = true;
+        boolean real = true;
+        for (ReferenceNode node : loaded) {
+            if (!(node instanceof ReferenceScalarNode scalar) || scalar.getQuoteStyle() != QuoteStyle.PLAIN) return false;
+            Object value = scalar.getPrimitive();
+            whole &= isWholeNumber(value);
+            real &= value instanceof Double;
+            if (!whole && !real) return false;
+        }
+        packedSize = loaded.size();
+        if (whole) {
+            longs = new long[packedSize];
+            for (int i = 0; i < packedSize; i++) longs[i] = ((ReferenceScalarNode) loaded.get(i)).asLong();
+        } else {
+            doubles = new double[packedSize];
+            for (int i = 0; i < packedSize; i++) doubles[i] = ((ReferenceScalarNode) loaded.get(i)).asDouble();
+        }
+        elements = null;
+        return true;
+    }
+
+    private ReferenceScalarNode view(int index) {
+        Objects.checkIndex(index, packedSize);
+        if (views == null) views = new ReferenceScalarNode[packedSize];
+        ReferenceScalarNode view = views[index];
+        if (view == null) {
+            view = (longs != null) ? ReferenceScalarNode.of(longs[index]) : ReferenceScalarNode.of(doubles[index]);
+            adopt(view);
+            view.markClean();
+            views[index] = view;
+        }
+        return view;
+    }
+
+    private void unpack() {
+        List<ReferenceNode> list = new ArrayList<>(packedSize);
+        for (int i = 0; i < packedSize; i++) list.add(view(i));
+        longs = null;
+        doubles = null;
+        views = null;
+        packedSize = 0;
+        elements = list;
+    }
+
+    private void load() {
+        if (deferred != null) {
+            List<ReferenceNode> loaded = deferred.get();
+            deferred = null;
+            fill(loaded);
+        }
+    }
+
+    private List<ReferenceNode> elements() {
+        load();
+        if (isPackedNow()) unpack();
+        return elements;
+    }
+
+    /// The elements of a packed sequence; any change goes through the node, which unpacks it.
+    private final class PackedElements extends AbstractList<ReferenceNode> {
+        @Override
+        public ReferenceNode get(int index) {
+            return ReferenceSequenceNode.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return ReferenceSequenceNode.this.size();
+        }
+
+        @Override
+        public ReferenceNode set(int index, ReferenceNode node) {
+            ReferenceNode previous = ReferenceSequenceNode.this.get(index);
+            ReferenceSequenceNode.this.set(index, node);
+            return previous;
+        }
+
+        @Override
+        public void add(int index, ReferenceNode node) {
+            ReferenceSequenceNode.this.add(index, node);
+        }
+
+        @Override
+        public ReferenceNode remove(int index) {
+            ReferenceNode previous = ReferenceSequenceNode.this.get(index);
+            ReferenceSequenceNode.this.remove(index);
+            return previous;
+        }
+    }
+
     /// Returns Iterator instance
     public Iterator<ReferenceNode> iterator() {
         return new SequenceIterator<ReferenceNode>(this);
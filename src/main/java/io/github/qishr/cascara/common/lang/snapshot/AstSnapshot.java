@@ -0,0 +1,234 @@
+package io.github.qishr.cascara.common.lang.snapshot;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import io.github.qishr.cascara.common.lang.util.QuoteStyle;
+
+/// A read-only AST backed by a binary snapshot written by [AstSnapshotWriter].
+///
+/// Opening a snapshot maps the file and indexes its string table; nothing else is decoded.
+/// Maps of [SnapshotMapNode#INDEX_THRESHOLD] or more entries carry a hashed key table, so
+/// looking up a key reads a slot or two instead of scanning the entries.
+/// Nodes are small views created on access, which decode their part of the buffer as it is
+/// read, so startup cost is independent of the size of the tree. Views have no stable
+/// identity: asking for the same child twice returns two equal but distinct objects.
+///
+/// The nodes implement [io.github.qishr.cascara.common.lang.ast.MapAstNode],
+/// [io.github.qishr.cascara.common.lang.ast.SequenceAstNode] and
+/// [io.github.qishr.cascara.common.lang.ast.ScalarAstNode]; every mutating method throws
+/// [UnsupportedOperationException]. A snapshot may be read from several threads.
+public final class AstSnapshot {
+    static final int MAGIC = 0x4341534E; // "CASN"
+    static final int VERSION = 2;
+    static final int TRAILER_SIZE = 20;
+
+    static final int KIND_SCALAR = 1;
+    static final int KIND_SEQUENCE = 2;
+    static final int KIND_MAP = 3;
+
+    static final int TAG_NULL = 0;
+    static final int TAG_STRING = 1;
+    static final int TAG_TRUE = 2;
+    static final int TAG_FALSE = 3;
+    static final int TAG_INT = 4;
+    static final int TAG_LONG = 5;
+    static final int TAG_DOUBLE = 6;
+    static final int TAG_FLOAT = 7;
+    static final int TAG_BIG_INTEGER = 8;
+    static final int TAG_BIG_DECIMAL = 9;
+
+    private static final QuoteStyle[] QUOTE_STYLES = QuoteStyle.values();
+
+    private final ByteBuffer buffer;
+    private final int rootOffset;
+    private final long fingerprint;
+    private final int[] stringOffsets;
+    private final int[] stringLengths;
+    private final String[] strings;
+
+    private AstSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        int limit = buffer.limit();
+        if (limit < 5 + TRAILER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(limit - 4) != MAGIC) {
+            throw new IOException("Not an AST snapshot");
+        }
+        if (buffer.get(4) != VERSION) {
+            throw new IOException("Unsupported AST snapshot version " + buffer.get(4));
+        }
+        int trailer = limit - TRAILER_SIZE;
+        int stringTableOffset = buffer.getInt(trailer);
+        this.rootOffset = buffer.getInt(trailer + 4);
+        this.fingerprint = buffer.getLong(trailer + 8);
+
+        Cursor cursor = new Cursor(stringTableOffset);
+        int count = cursor.varint();
+        this.stringOffsets = new int[count];
+        this.stringLengths = new int[count];
+        this.strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            stringLengths[i] = cursor.varint();
+            stringOffsets[i] = cursor.position;
+            cursor.position += stringLengths[i];
+        }
+    }
+
+    /// Maps the snapshot file at `path` into memory.
+    public static AstSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new AstSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /// Reads a snapshot from a buffer, such as the bytes returned by [AstSnapshotWriter#toBytes].
+    public static AstSnapshot wrap(ByteBuffer buffer) throws IOException {
+        return new AstSnapshot(buffer.slice());
+    }
+
+    /// Returns the FNV-1a hash of `text`, suitable for [AstSnapshotWriter#setFingerprint(long)].
+    public static long fingerprint(CharSequence text) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    public SnapshotNode getRoot() {
+        return node(rootOffset);
+    }
+
+    /// Returns the fingerprint the snapshot was written with.
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /// Returns `true` if the snapshot was written for `text`.
+    public boolean isSnapshotOf(CharSequence text) {
+        return fingerprint == fingerprint(text);
+    }
+
+    public int getStringCount() {
+        return strings.length;
+    }
+
+    //
+    // Decoding
+    //
+
+    SnapshotNode node(int offset) {
+        return switch (buffer.get(offset)) {
+            case KIND_MAP -> new SnapshotMapNode(this, offset);
+            case KIND_SEQUENCE -> new SnapshotSequenceNode(this, offset);
+            case KIND_SCALAR -> new SnapshotScalarNode(this, offset);
+            default -> throw new IllegalStateException("Corrupt AST snapshot: unknown node kind at " + offset);
+        };
+    }
+
+    /// Returns the offset of the child table of the container at `offset`.
+    int childTable(int offset) {
+        Cursor cursor = new Cursor(offset + 1);
+        cursor.varint();
+        return cursor.position;
+    }
+
+    /// Returns the number of children (entries for maps) of the container at `offset`.
+    int childCount(int offset) {
+        return new Cursor(offset + 1).varint();
+    }
+
+    /// Returns the offset of child number `index` in the table at `table`.
+    int child(int table, int index) {
+        return buffer.getInt(table + 4 * index);
+    }
+
+    /// Returns the number of slots in the key table of a map with `size` entries, which is
+    /// a power of two at least twice `size`.
+    static int keySlots(int size) {
+        return Integer.highestOneBit(size) << 2;
+    }
+
+    /// Returns the hash that places `key` in a key table.
+    static int keyHash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /// Returns the index plus one of the entry in key table slot `slot` at `keyTable`, or `0`
+    /// for an empty slot.
+    int keySlot(int keyTable, int slot) {
+        return buffer.getInt(keyTable + 4 * slot);
+    }
+
+    QuoteStyle quoteStyle(int offset) {
+        int style = buffer.get(offset + 1);
+        return style == 0 ? null : QUOTE_STYLES[style - 1];
+    }
+
+    Object primitive(int offset) {
+        Cursor cursor = new Cursor(offset + 3);
+        return switch (buffer.get(offset + 2)) {
+            case TAG_NULL -> null;
+            case TAG_STRING -> string(cursor.varint());
+            case TAG_TRUE -> Boolean.TRUE;
+            case TAG_FALSE -> Boolean.FALSE;
+            case TAG_INT -> (int) unzigzag(cursor.varlong());
+            case TAG_LONG -> unzigzag(cursor.varlong());
+            case TAG_DOUBLE -> Double.longBitsToDouble(buffer.getLong(cursor.position));
+            case TAG_FLOAT -> Float.intBitsToFloat(buffer.getInt(cursor.position));
+            case TAG_BIG_INTEGER -> new BigInteger(string(cursor.varint()));
+            case TAG_BIG_DECIMAL -> new BigDecimal(string(cursor.varint()));
+            default -> throw new IllegalStateException("Corrupt AST snapshot: unknown primitive tag at " + offset);
+        };
+    }
+
+    /// Returns the text of a scalar without boxing it, or `null` if the scalar is not a string.
+    String stringValue(int offset) {
+        return buffer.get(offset + 2) == TAG_STRING ? string(new Cursor(offset + 3).varint()) : null;
+    }
+
+    private String string(int id) {
+        String text = strings[id];
+        if (text == null) {
+            byte[] bytes = new byte[stringLengths[id]];
+            buffer.get(stringOffsets[id], bytes);
+            text = new String(bytes, StandardCharsets.UTF_8);
+            strings[id] = text;
+        }
+        return text;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private final class Cursor {
+        private int position;
+
+        Cursor(int position) {
+            this.position = position;
+        }
+
+        int varint() {
+            return (int) varlong();
+        }
+
+        long varlong() {
+            long result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                result |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package io.github.qishr.cascara.common.lang.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.MapAstNode;
+import io.github.qishr.cascara.common.lang.ast.MapEntryAstNode;
+import io.github.qishr.cascara.common.lang.ast.ScalarAstNode;
+import io.github.qishr.cascara.common.lang.ast.SequenceAstNode;
+import io.github.qishr.cascara.common.lang.type.Primitive;
+import io.github.qishr.cascara.common.lang.util.QuoteStyle;
+
+/// Writes an AST as a binary snapshot that [AstSnapshot] can map back into memory.
+///
+/// Nodes are written children-first, so that every container can end with a fixed-width
+/// table of its children's offsets and be indexed in O(1) by the reader. All strings go
+/// through a single string table, node kinds and lengths are varints, and scalars carry a
+/// type tag so that integers, doubles and booleans come back as the same Java types.
+/// Larger maps are followed by an open-addressing table of their keys' hashes. Subtrees
+/// shared by identity (for example after hash-consing) are written once.
+///
+/// Source positions, comments and source spans are not part of the snapshot.
+public final class AstSnapshotWriter {
+    private long fingerprint;
+
+    /// Sets a value stored with the snapshot to identify its input, usually
+    /// [AstSnapshot#fingerprint(CharSequence)] of the source text.
+    public AstSnapshotWriter setFingerprint(long fingerprint) {
+        this.fingerprint = fingerprint;
+        return this;
+    }
+
+    /// Writes `root` to `path`, replacing any existing file.
+    public void write(AstNode root, Path path) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            write(root, out);
+        }
+    }
+
+    /// Writes `root` to `out`.
+    public void write(AstNode root, OutputStream out) throws IOException {
+        out.write(toBytes(root));
+    }
+
+    /// Returns the snapshot of `root`.
+    public byte[] toBytes(AstNode root) {
+        Encoder encoder = new Encoder();
+        encoder.int32(AstSnapshot.MAGIC);
+        encoder.write(AstSnapshot.VERSION);
+        int rootOffset = encoder.node(root);
+        int stringTableOffset = encoder.size();
+        encoder.strings();
+        encoder.int32(stringTableOffset);
+        encoder.int32(rootOffset);
+        encoder.int64(fingerprint);
+        encoder.int32(AstSnapshot.MAGIC);
+        return encoder.toByteArray();
+    }
+
+    private static final class Encoder extends ByteArrayOutputStream {
+        private final Map<AstNode,Integer> written = new IdentityHashMap<>();
+        private final Map<String,Integer> stringIds = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        Encoder() {
+            super(1 << 16);
+        }
+
+        /// Writes `node` and its subtree, returning the offset of `node`.
+        int node(AstNode node) {
+            Integer existing = written.get(node);
+            if (existing != null) return existing;
+
+            int offset;
+            if (node instanceof MapAstNode<?,?> map) {
+                List<? extends MapEntryAstNode<?>> entries = map.getEntries();
+                int[] children = new int[entries.size() * 2];
+                for (int i = 0; i < entries.size(); i++) {
+                    children[2 * i] = node(entries.get(i).getKey());
+                    children[2 * i + 1] = node(entries.get(i).getValue());
+                }
+                offset = container(AstSnapshot.KIND_MAP, entries.size(), children);
+                if (entries.size() >= SnapshotMapNode.INDEX_THRESHOLD) keyTable(entries);
+            } else if (node instanceof SequenceAstNode<?> sequence) {
+                List<? extends AstNode> elements = sequence.getElements();
+                int[] children = new int[elements.size()];
+                for (int i = 0; i < elements.size(); i++) {
+                    children[i] = node(elements.get(i));
+                }
+                offset = container(AstSnapshot.KIND_SEQUENCE, elements.size(), children);
+            } else if (node instanceof ScalarAstNode<?> scalar) {
+                offset = size();
+                write(AstSnapshot.KIND_SCALAR);
+                QuoteStyle style = scalar.getQuoteStyle();
+                write(style == null ? 0 : style.ordinal() + 1);
+                primitive(scalar.getPrimitive());
+            } else {
+                // Comments, references and anything language-specific are kept as their text
+                offset = size();
+                write(AstSnapshot.KIND_SCALAR);
+                write(0);
+                primitive(node == null ? null : node.asString());
+            }
+            written.put(node, offset);
+            return offset;
+        }
+
+        private int container(int kind, int count, int[] children) {
+            int offset = size();
+            write(kind);
+            varint(count);
+            for (int child : children) int32(child);
+            return offset;
+        }
+
+        /// Writes the hashed key table of a map, as the indexes plus one of its entries.
+        private void keyTable(List<? extends MapEntryAstNode<?>> entries) {
+            int[] slots = new int[AstSnapshot.keySlots(entries.size())];
+            Set<String> seen = new HashSet<>();
+            for (int i = 0; i < entries.size(); i++) {
+                String key = keyText(entries.get(i).getKey());
+                // The first of repeated keys wins, as in a scan
+                if (!seen.add(key)) continue;
+                int slot = AstSnapshot.keyHash(key) & (slots.length - 1);
+                while (slots[slot] != 0) slot = (slot + 1) & (slots.length - 1);
+                slots[slot] = i + 1;
+            }
+            for (int slot : slots) int32(slot);
+        }
+
+        /// Returns the text a [SnapshotNode] of `key` reads back as.
+        private static String keyText(AstNode key) {
+            if (!(key instanceof ScalarAstNode<?> scalar)) return key == null ? "" : key.asString();
+            Object value = scalar.getPrimitive();
+            if (value instanceof Primitive primitive) value = primitive.unwrap();
+            return value == null ? "" : value.toString();
+        }
+
+        private void primitive(Object value) {
+            if (value instanceof Primitive primitive) value = primitive.unwrap();
+
+            if (value == null) {
+                write(AstSnapshot.TAG_NULL);
+            } else if (value instanceof String text) {
+                write(AstSnapshot.TAG_STRING);
+                varint(stringId(text));
+            } else if (value instanceof Boolean bool) {
+                write(bool ? AstSnapshot.TAG_TRUE : AstSnapshot.TAG_FALSE);
+            } else if (value instanceof Integer number) {
+                write(AstSnapshot.TAG_INT);
+                varlong(zigzag(number));
+            } else if (value instanceof Long number) {
+                write(AstSnapshot.TAG_LONG);
+                varlong(zigzag(number));
+            } else if (value instanceof Double number) {
+                write(AstSnapshot.TAG_DOUBLE);
+                int64(Double.doubleToRawLongBits(number));
+            } else if (value instanceof Float number) {
+                write(AstSnapshot.TAG_FLOAT);
+                int32(Float.floatToRawIntBits(number));
+            } else if (value instanceof BigInteger number) {
+                write(AstSnapshot.TAG_BIG_INTEGER);
+                varint(stringId(number.toString()));
+            } else if (value instanceof BigDecimal number) {
+                write(AstSnapshot.TAG_BIG_DECIMAL);
+                varint(stringId(number.toString()));
+            } else {
+                write(AstSnapshot.TAG_STRING);
+                varint(stringId(value.toString()));
+            }
+        }
+
+        private int stringId(String text) {
+            Integer id = stringIds.get(text);
+            if (id == null) {
+                id = strings.size();
+                stringIds.put(text, id);
+                strings.add(text);
+            }
+            return id;
+        }
+
+        void strings() {
+            varint(strings.size());
+            for (String text : strings) {
+                byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                varint(bytes.length);
+                write(bytes, 0, bytes.length);
+            }
+        }
+
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+
+        void varint(int value) {
+            varlong(value & 0xFFFFFFFFL);
+        }
+
+        void varlong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void int32(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        void int64(long value) {
+            int32((int) (value >>> 32));
+            int32((int) value);
+        }
+    }
+}
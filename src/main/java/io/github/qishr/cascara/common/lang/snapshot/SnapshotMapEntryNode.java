@@ -0,0 +1,37 @@
+package io.github.qishr.cascara.common.lang.snapshot;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.ast.MapEntryAstNode;
+
+public final class SnapshotMapEntryNode extends SnapshotNode implements MapEntryAstNode<SnapshotNode> {
+    private final int keyOffset;
+    private final int valueOffset;
+
+    /// @param offset The offset of the entry's slot in its map's child table.
+    SnapshotMapEntryNode(AstSnapshot snapshot, int offset, int keyOffset, int valueOffset) {
+        super(snapshot, offset);
+        this.keyOffset = keyOffset;
+        this.valueOffset = valueOffset;
+    }
+
+    @Override
+    public SnapshotNode getKey() {
+        return snapshot.node(keyOffset);
+    }
+
+    @Override
+    public SnapshotNode getValue() {
+        return snapshot.node(valueOffset);
+    }
+
+    @Override
+    public SnapshotMapEntryNode setRaw(SnapshotNode value) {
+        throw readOnly();
+    }
+
+    @Override
+    public List<SnapshotNode> getChildren() {
+        return List.of(getKey(), getValue());
+    }
+}
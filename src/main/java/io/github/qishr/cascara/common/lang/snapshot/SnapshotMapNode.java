@@ -0,0 +1,176 @@
+package io.github.qishr.cascara.common.lang.snapshot;
+
+import java.util.AbstractList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.github.qishr.cascara.common.lang.ast.MapAstNode;
+import io.github.qishr.cascara.common.lang.ast.SequenceAstNode;
+
+public final class SnapshotMapNode extends SnapshotNode implements MapAstNode<SnapshotNode, SnapshotMapEntryNode> {
+    /// Maps with at least this many entries are written with a hashed key table.
+    public static final int INDEX_THRESHOLD = 8;
+
+    private final int size;
+    private final int table;
+
+    SnapshotMapNode(AstSnapshot snapshot, int offset) {
+        super(snapshot, offset);
+        this.size = snapshot.childCount(offset);
+        this.table = snapshot.childTable(offset);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /// Returns the entry at `index`, in document order.
+    public SnapshotMapEntryNode getEntry(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        return new SnapshotMapEntryNode(snapshot, table + 8 * index,
+            snapshot.child(table, 2 * index), snapshot.child(table, 2 * index + 1));
+    }
+
+    /// Returns the index of the first entry whose key reads as `key`, or `-1`.
+    private int indexOf(String key) {
+        if (key == null) return -1;
+        if (size < INDEX_THRESHOLD) {
+            for (int i = 0; i < size; i++) {
+                if (key.equals(keyAt(i))) return i;
+            }
+            return -1;
+        }
+        int keyTable = table + 8 * size;
+        int mask = AstSnapshot.keySlots(size) - 1;
+        for (int slot = AstSnapshot.keyHash(key) & mask; ; slot = (slot + 1) & mask) {
+            int entry = snapshot.keySlot(keyTable, slot);
+            if (entry == 0) return -1;
+            if (key.equals(keyAt(entry - 1))) return entry - 1;
+        }
+    }
+
+    private String keyAt(int index) {
+        int keyOffset = snapshot.child(table, 2 * index);
+        String text = snapshot.stringValue(keyOffset);
+        return text != null ? text : snapshot.node(keyOffset).asString();
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public SnapshotNode get(String key) {
+        int index = indexOf(key);
+        return index < 0 ? null : snapshot.node(snapshot.child(table, 2 * index + 1));
+    }
+
+    @Override
+    public boolean containsKey(SnapshotNode key) {
+        return getEntry(key) != null;
+    }
+
+    @Override
+    public SnapshotNode get(SnapshotNode key) {
+        SnapshotMapEntryNode entry = getEntry(key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    public SnapshotMapEntryNode getEntry(SnapshotNode key) {
+        int index = indexOf(key == null ? null : key.asString());
+        return index < 0 ? null : getEntry(index);
+    }
+
+    @Override
+    public SnapshotMapNode getMap(String key) {
+        return (get(key) instanceof SnapshotMapNode map) ? map : null;
+    }
+
+    @Override
+    public SequenceAstNode<SnapshotNode> getSequence(String key) {
+        return (get(key) instanceof SnapshotSequenceNode sequence) ? sequence : null;
+    }
+
+    /// Returns a read-only view that decodes each entry when it is accessed.
+    @Override
+    public List<SnapshotMapEntryNode> getEntries() {
+        return new AbstractList<>() {
+            @Override
+            public SnapshotMapEntryNode get(int index) {
+                return getEntry(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<SnapshotMapEntryNode> entrySet() {
+        return new LinkedHashSet<>(getEntries());
+    }
+
+    @Override
+    public Set<SnapshotNode> keySet() {
+        Set<SnapshotNode> keys = new LinkedHashSet<>();
+        for (int i = 0; i < size; i++) keys.add(snapshot.node(snapshot.child(table, 2 * i)));
+        return keys;
+    }
+
+    @Override
+    public List<SnapshotNode> values() {
+        return new AbstractList<>() {
+            @Override
+            public SnapshotNode get(int index) {
+                if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+                return snapshot.node(snapshot.child(table, 2 * index + 1));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public List<SnapshotMapEntryNode> getChildren() {
+        return getEntries();
+    }
+
+    @Override
+    public SnapshotMapNode put(SnapshotNode key, SnapshotNode value) {
+        throw readOnly();
+    }
+
+    @Override
+    public SnapshotMapNode put(String key, SnapshotNode value) {
+        throw readOnly();
+    }
+
+    @Override
+    public SnapshotMapNode put(String key, String value) {
+        throw readOnly();
+    }
+
+    @Override
+    public SnapshotMapNode remove(SnapshotNode key) {
+        throw readOnly();
+    }
+
+    @Override
+    public SnapshotMapNode remove(String key) {
+        throw readOnly();
+    }
+}
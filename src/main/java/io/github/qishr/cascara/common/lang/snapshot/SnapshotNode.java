@@ -0,0 +1,53 @@
+package io.github.qishr.cascara.common.lang.snapshot;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.CommentAstNode;
+
+/// A read-only view of one node of an [AstSnapshot].
+public abstract sealed class SnapshotNode implements AstNode
+    permits SnapshotScalarNode, SnapshotSequenceNode, SnapshotMapNode, SnapshotMapEntryNode {
+
+    protected final AstSnapshot snapshot;
+    protected final int offset;
+
+    SnapshotNode(AstSnapshot snapshot, int offset) {
+        this.snapshot = snapshot;
+        this.offset = offset;
+    }
+
+    @Override
+    public int getStartLine() { return 0; }
+    @Override
+    public int getStartColumn() { return 0; }
+    @Override
+    public int getEndLine() { return 0; }
+    @Override
+    public int getEndColumn() { return 0; }
+
+    @Override
+    public List<? extends CommentAstNode> getComments() {
+        return List.of();
+    }
+
+    /// Snapshot nodes cannot change.
+    @Override
+    public boolean isDirty() { return false; }
+
+    /// Two views are equal when they read the same node of the same snapshot.
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SnapshotNode other && other.snapshot == snapshot && other.offset == offset
+            && other.getClass() == getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return offset;
+    }
+
+    static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("AST snapshots are read-only");
+    }
+}
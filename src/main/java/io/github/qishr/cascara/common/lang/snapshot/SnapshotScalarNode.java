@@ -0,0 +1,60 @@
+package io.github.qishr.cascara.common.lang.snapshot;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+import io.github.qishr.cascara.common.lang.ast.ScalarAstNode;
+import io.github.qishr.cascara.common.lang.util.QuoteStyle;
+
+public final class SnapshotScalarNode extends SnapshotNode implements ScalarAstNode<SnapshotNode> {
+
+    SnapshotScalarNode(AstSnapshot snapshot, int offset) {
+        super(snapshot, offset);
+    }
+
+    @Override
+    public QuoteStyle getQuoteStyle() {
+        return snapshot.quoteStyle(offset);
+    }
+
+    @Override
+    public SnapshotScalarNode setQuoteStyle(QuoteStyle style) {
+        throw readOnly();
+    }
+
+    @Nullable
+    @Override
+    public String getRaw() {
+        Object value = getPrimitive();
+        return value == null ? null : value.toString();
+    }
+
+    @Nullable
+    @Override
+    public Object getPrimitive() {
+        return snapshot.primitive(offset);
+    }
+
+    @Override
+    public SnapshotScalarNode setPrimitive(Object value) {
+        throw readOnly();
+    }
+
+    @Override
+    public String asString() {
+        String text = snapshot.stringValue(offset);
+        if (text != null) return text;
+        Object value = getPrimitive();
+        return value == null ? "" : value.toString();
+    }
+
+    @Override
+    public List<SnapshotNode> getChildren() {
+        return List.of();
+    }
+
+    @Override
+    public String toString() {
+        return asString();
+    }
+}
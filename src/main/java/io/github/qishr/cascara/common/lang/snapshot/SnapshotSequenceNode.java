@@ -0,0 +1,80 @@
+package io.github.qishr.cascara.common.lang.snapshot;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.ast.SequenceAstNode;
+
+public final class SnapshotSequenceNode extends SnapshotNode implements SequenceAstNode<SnapshotNode> {
+    private final int size;
+    private final int table;
+
+    SnapshotSequenceNode(AstSnapshot snapshot, int offset) {
+        super(snapshot, offset);
+        this.size = snapshot.childCount(offset);
+        this.table = snapshot.childTable(offset);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public SnapshotNode get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        return snapshot.node(snapshot.child(table, index));
+    }
+
+    /// Returns a read-only view that decodes each element when it is accessed.
+    @Override
+    public List<SnapshotNode> getElements() {
+        return new AbstractList<>() {
+            @Override
+            public SnapshotNode get(int index) {
+                return SnapshotSequenceNode.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public List<SnapshotNode> getChildren() {
+        return getElements();
+    }
+
+    @Override
+    public Iterator<SnapshotNode> iterator() {
+        return getElements().iterator();
+    }
+
+    @Override
+    public SnapshotSequenceNode clear() {
+        throw readOnly();
+    }
+
+    @Override
+    public SnapshotSequenceNode add(SnapshotNode node) {
+        throw readOnly();
+    }
+
+    @Override
+    public SnapshotSequenceNode remove(SnapshotNode node) {
+        throw readOnly();
+    }
+
+    @Override
+    public SnapshotSequenceNode remove(int index) {
+        throw readOnly();
+    }
+}
@@ -0,0 +1,2 @@
+/// A compact binary snapshot format for ASTs, read back through memory-mapped, lazily decoded nodes.
+package io.github.qishr.cascara.common.lang.snapshot;
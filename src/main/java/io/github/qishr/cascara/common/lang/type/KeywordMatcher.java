@@ -0,0 +1,199 @@
+package io.github.qishr.cascara.common.lang.type;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+
+/// A fixed set of keywords, such as a dialect's boolean and null literals, compiled for
+/// fast exact matching against a range of characters.
+///
+/// Keywords are bucketed by length. Each bucket is a small perfect hash table: the
+/// multiplier is chosen when the matcher is built so that no two keywords of the same
+/// length share a slot. A lookup rejects on the length or the first character, hashes the
+/// range once, and compares against the single candidate, without allocating.
+///
+/// ```java
+/// static final KeywordMatcher LITERALS = KeywordMatcher.of(Map.of(
+///     "true", Boolean.TRUE, "yes", Boolean.TRUE, "false", Boolean.FALSE, "no", Boolean.FALSE));
+///
+/// public Object coerceLiteralValue(String text) {
+///     return LITERALS.match(text);
+/// }
+/// ```
+///
+/// A matcher is immutable and may be shared between threads.
+public final class KeywordMatcher {
+    private static final int[] MULTIPLIERS = { 31, 33, 37, 41, 43, 47, 53, 59, 61, 67, 71, 73, 79, 83, 89, 97, 101, 131, 257, 65599 };
+
+    private static final int MAX_TABLE_SIZE = 1 << 16;
+
+    private final String[] keywords;
+    private final Object[] values;
+    /// Per length: the hash table of keyword indexes, or `null` if no keyword has that length.
+    private final int[][] tables;
+    private final int[] multipliers;
+    /// The first characters of all keywords, for characters below 128.
+    private final long firstCharsLow;
+    private final long firstCharsHigh;
+    private final boolean hasNonAsciiStart;
+
+    private KeywordMatcher(String[] keywords, Object[] values) {
+        this.keywords = keywords;
+        this.values = values;
+
+        int maxLength = 0;
+        for (String keyword : keywords) maxLength = Math.max(maxLength, keyword.length());
+        List<List<Integer>> buckets = new ArrayList<>();
+        for (int i = 0; i <= maxLength; i++) buckets.add(new ArrayList<>());
+        for (int i = 0; i < keywords.length; i++) buckets.get(keywords[i].length()).add(i);
+
+        this.tables = new int[maxLength + 1][];
+        this.multipliers = new int[maxLength + 1];
+        for (int length = 0; length <= maxLength; length++) {
+            if (!buckets.get(length).isEmpty()) build(length, buckets.get(length));
+        }
+
+        long low = 0;
+        long high = 0;
+        boolean nonAscii = false;
+        for (String keyword : keywords) {
+            if (keyword.isEmpty()) continue;
+            char first = keyword.charAt(0);
+            if (first < 64) low |= 1L << first;
+            else if (first < 128) high |= 1L << (first - 64);
+            else nonAscii = true;
+        }
+        this.firstCharsLow = low;
+        this.firstCharsHigh = high;
+        this.hasNonAsciiStart = nonAscii;
+    }
+
+    /// Compiles `keywords`; each keyword matches to its value. Iteration order defines
+    /// [#indexOf(CharSequence)]. Values may be `null`, in which case use `indexOf` to
+    /// tell a match from a miss.
+    ///
+    /// @throws IllegalArgumentException If a keyword is `null`, or in the unlikely case that no
+    /// collision-free table can be found.
+    public static KeywordMatcher of(Map<String,?> keywords) {
+        String[] names = new String[keywords.size()];
+        Object[] values = new Object[keywords.size()];
+        int i = 0;
+        for (Map.Entry<String,?> entry : keywords.entrySet()) {
+            if (entry.getKey() == null) throw new IllegalArgumentException("Keywords cannot be null");
+            names[i] = entry.getKey();
+            values[i++] = entry.getValue();
+        }
+        return new KeywordMatcher(names, values);
+    }
+
+    /// Compiles `keywords`; each keyword matches to itself.
+    public static KeywordMatcher of(String... keywords) {
+        Map<String,Object> map = new LinkedHashMap<>();
+        for (String keyword : keywords) map.put(keyword, keyword);
+        return of(map);
+    }
+
+    public int size() {
+        return keywords.length;
+    }
+
+    public String getKeyword(int index) {
+        return keywords[index];
+    }
+
+    /// Returns the index of the keyword equal to `text`, or -1.
+    public int indexOf(CharSequence text) {
+        return text == null ? -1 : indexOf(text, 0, text.length());
+    }
+
+    /// Returns the index of the keyword equal to the characters of `text` from `start` to `end`, or -1.
+    public int indexOf(CharSequence text, int start, int end) {
+        int length = end - start;
+        if (length < 0 || length >= tables.length) return -1;
+        int[] table = tables[length];
+        if (table == null) return -1;
+        if (length > 0 && !mayStartWith(text.charAt(start))) return -1;
+
+        int multiplier = multipliers[length];
+        int hash = 0;
+        for (int i = start; i < end; i++) hash = hash * multiplier + text.charAt(i);
+        int index = table[mix(hash) & (table.length - 1)];
+        if (index < 0) return -1;
+
+        String keyword = keywords[index];
+        for (int i = 0; i < length; i++) {
+            if (keyword.charAt(i) != text.charAt(start + i)) return -1;
+        }
+        return index;
+    }
+
+    /// Returns the value of the keyword equal to `text`, or `null`.
+    @Nullable
+    public Object match(CharSequence text) {
+        int index = indexOf(text);
+        return index < 0 ? null : values[index];
+    }
+
+    /// Returns the value of the keyword equal to the characters from `start` to `end`, or `null`.
+    @Nullable
+    public Object match(CharSequence text, int start, int end) {
+        int index = indexOf(text, start, end);
+        return index < 0 ? null : values[index];
+    }
+
+    public boolean contains(CharSequence text) {
+        return indexOf(text) >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "KeywordMatcher" + Arrays.toString(keywords);
+    }
+
+    //
+    // Compilation
+    //
+
+    private boolean mayStartWith(char c) {
+        if (c < 64) return (firstCharsLow & (1L << c)) != 0;
+        if (c < 128) return (firstCharsHigh & (1L << (c - 64))) != 0;
+        return hasNonAsciiStart;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /// Finds a multiplier and table size at which the keywords of one length do not collide.
+    private void build(int length, List<Integer> indexes) {
+        for (int size = Integer.highestOneBit(indexes.size() * 2 - 1) << 1; size <= MAX_TABLE_SIZE; size <<= 1) {
+            for (int multiplier : MULTIPLIERS) {
+                int[] table = new int[size];
+                Arrays.fill(table, -1);
+                boolean perfect = true;
+                for (int index : indexes) {
+                    String keyword = keywords[index];
+                    int hash = 0;
+                    for (int i = 0; i < length; i++) hash = hash * multiplier + keyword.charAt(i);
+                    int slot = mix(hash) & (size - 1);
+                    if (table[slot] >= 0) {
+                        if (keywords[table[slot]].equals(keyword)) continue; // duplicate keyword: first wins
+                        perfect = false;
+                        break;
+                    }
+                    table[slot] = index;
+                }
+                if (perfect) {
+                    tables[length] = table;
+                    multipliers[length] = multiplier;
+                    return;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Cannot build a collision-free table for keywords of length " + length);
+    }
+}
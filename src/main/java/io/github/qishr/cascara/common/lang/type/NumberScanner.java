@@ -0,0 +1,214 @@
+package io.github.qishr.cascara.common.lang.type;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+
+/// Classifies and parses plain numeric text in a single pass, without exceptions.
+///
+/// Accepted forms are an optional sign, digits with an optional fraction (`1`, `1.5`, `.5`,
+/// `5.`), an optional exponent (`1e10`, `2.5E-3`), and the names `Infinity` and `NaN` with
+/// an optional sign. Whole numbers become the smallest of [Integer], [Long] and
+/// [BigInteger] that holds them. Other numbers become a [Double], or a [BigDecimal] when
+/// they are outside the range of a double. Exponents above a million are beyond any
+/// `BigDecimal` worth building, so such numbers become an infinite double. Anything else is
+/// not a number.
+///
+/// Doubles with at most 15 significant digits and a small exponent are computed directly
+/// from the digits; only longer or extreme values are handed to the JDK parser, and only
+/// after the text has been validated, so no [NumberFormatException] is ever raised.
+public final class NumberScanner {
+    /// Powers of ten that are exact as doubles.
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /// Mantissas below this are exact as doubles.
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private NumberScanner() { }
+
+    /// Returns the number spelled by `text`, or `null` if it is not a number.
+    @Nullable
+    public static Number parse(CharSequence text) {
+        return text == null ? null : parse(text, 0, text.length());
+    }
+
+    /// Returns the number spelled by `text` between `start` and `end`, or `null`.
+    @Nullable
+    public static Number parse(CharSequence text, int start, int end) {
+        if (start >= end) return null;
+        int i = start;
+        boolean negative = false;
+        char c = text.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            if (++i == end) return null;
+            c = text.charAt(i);
+        }
+        if (c == 'I' || c == 'N') {
+            if (matches(text, i, end, "Infinity")) return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            if (matches(text, i, end, "NaN")) return Double.NaN;
+            return null;
+        }
+
+        // Integer part; the magnitude is accumulated as a negative long to reach Long.MIN_VALUE
+        long mantissa = 0;
+        int significantDigits = 0;
+        int droppedDigits = 0;
+        boolean integerOverflow = false;
+        int digits = 0;
+        for (; i < end && isDigit(c = text.charAt(i)); i++, digits++) {
+            int digit = c - '0';
+            if (significantDigits == 0 && digit == 0) continue;
+            if (significantDigits < 18) {
+                mantissa = mantissa * 10 - digit;
+                significantDigits++;
+            } else if (!integerOverflow && mantissa >= (Long.MIN_VALUE + digit) / 10) {
+                mantissa = mantissa * 10 - digit;
+                significantDigits++;
+            } else {
+                integerOverflow = true;
+                droppedDigits++;
+            }
+        }
+
+        if (i == end) {
+            if (digits == 0) return null;
+            if (integerOverflow || (!negative && mantissa == Long.MIN_VALUE)) {
+                return new BigInteger(text.subSequence(start, end).toString());
+            }
+            long value = negative ? mantissa : -mantissa;
+            return (value == (int) value) ? (Number) (int) value : (Number) value;
+        }
+
+        // Fraction
+        int exponent = droppedDigits;
+        if (c == '.') {
+            for (i++; i < end && isDigit(c = text.charAt(i)); i++, digits++) {
+                int digit = c - '0';
+                if (significantDigits == 0 && digit == 0) {
+                    exponent--;
+                } else if (significantDigits < 18) {
+                    mantissa = mantissa * 10 - digit;
+                    significantDigits++;
+                    exponent--;
+                } else {
+                    droppedDigits++;
+                }
+            }
+        }
+        if (digits == 0) return null;
+
+        // Exponent
+        boolean exponentSaturated = false;
+        if (i < end && (c == 'e' || c == 'E')) {
+            if (++i == end) return null;
+            c = text.charAt(i);
+            boolean negativeExponent = false;
+            if (c == '-' || c == '+') {
+                negativeExponent = c == '-';
+                if (++i == end) return null;
+            }
+            int value = 0;
+            int exponentDigits = 0;
+            for (; i < end && isDigit(c = text.charAt(i)); i++, exponentDigits++) {
+                // Saturate: anything this large is already out of range for a double
+                if (value < 100_000) {
+                    value = value * 10 + (c - '0');
+                } else {
+                    exponentSaturated = true;
+                }
+            }
+            if (exponentDigits == 0) return null;
+            exponent += negativeExponent ? -value : value;
+        }
+        if (i != end) return null;
+
+        if (mantissa == 0) return negative ? -0.0 : 0.0;
+        if (droppedDigits == 0 && mantissa > -MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+            double value = (double) -mantissa;
+            value = exponent < 0 ? value / POWERS_OF_TEN[-exponent] : value * POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+
+        String literal = text.subSequence(start, end).toString();
+        double value = Double.parseDouble(literal);
+        if (!Double.isInfinite(value)) return value;
+        // BigDecimal rejects exponents outside the range of an int
+        if (exponentSaturated) return value;
+        return new BigDecimal(literal);
+    }
+
+    /// Returns the whole number spelled by `text` if it fits in an int, ignoring surrounding
+    /// whitespace, or `defaultValue` otherwise.
+    public static int parseInt(CharSequence text, int defaultValue) {
+        long value = parseLong(text, Long.MIN_VALUE);
+        return (value != Long.MIN_VALUE && value == (int) value) ? (int) value : defaultValue;
+    }
+
+    /// Returns the whole number spelled by `text` if it fits in a long, ignoring surrounding
+    /// whitespace, or `defaultValue` otherwise.
+    public static long parseLong(CharSequence text, long defaultValue) {
+        if (text == null) return defaultValue;
+        int start = skipLeadingWhitespace(text);
+        int end = skipTrailingWhitespace(text, start);
+        if (start == end) return defaultValue;
+
+        int i = start;
+        char c = text.charAt(i);
+        boolean negative = c == '-';
+        if ((negative || c == '+') && ++i == end) return defaultValue;
+
+        // Accumulated as a negative number to reach Long.MIN_VALUE
+        long value = 0;
+        for (; i < end; i++) {
+            c = text.charAt(i);
+            if (!isDigit(c)) return defaultValue;
+            int digit = c - '0';
+            if (value < (Long.MIN_VALUE + digit) / 10) return defaultValue;
+            value = value * 10 - digit;
+        }
+        if (negative) return value;
+        return value == Long.MIN_VALUE ? defaultValue : -value;
+    }
+
+    /// Returns the number spelled by `text` as a double, ignoring surrounding whitespace, or
+    /// `defaultValue` if it is not a number.
+    public static double parseDouble(CharSequence text, double defaultValue) {
+        if (text == null) return defaultValue;
+        int start = skipLeadingWhitespace(text);
+        Number number = parse(text, start, skipTrailingWhitespace(text, start));
+        return number == null ? defaultValue : number.doubleValue();
+    }
+
+    //
+    // Helpers
+    //
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean matches(CharSequence text, int start, int end, String word) {
+        if (end - start != word.length()) return false;
+        for (int i = 0; i < word.length(); i++) {
+            if (text.charAt(start + i) != word.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static int skipLeadingWhitespace(CharSequence text) {
+        int start = 0;
+        while (start < text.length() && text.charAt(start) <= ' ') start++;
+        return start;
+    }
+
+    private static int skipTrailingWhitespace(CharSequence text, int start) {
+        int end = text.length();
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+        return end;
+    }
+}
@@ -4,6 +4,16 @@ import java.util.Objects;
 
 import io.github.qishr.cascara.common.lang.util.QuoteStyle;
 
+/// A scalar value, either a native Java value or unescaped source text whose type is inferred
+/// on first use with the help of a dialect's [PrimitiveDelegate].
+///
+/// [#of(Object)] and [#fromString(String, QuoteStyle)] return a new instance that the setters
+/// change in place. Common literals (`null`, booleans, the empty string and small integers)
+/// can instead be shared: [#canonical(Object)] returns one instance per value, and
+/// [#fromString(String, QuoteStyle, PrimitiveDelegate)] one per delegate. Shared instances
+/// are immutable, and their setters throw [IllegalStateException]; use
+/// [#withDelegate(PrimitiveDelegate)] and [#withQuoteStyle(QuoteStyle)], which return a copy
+/// when anything changes.
 public class Primitive {
     private PrimitiveDelegate delegate;
     protected final Object rawInput;
@@ -12,30 +22,90 @@ public class Primitive {
     private final boolean isAlreadyNative;
     private final QuoteStyle originalQuotedStyle;
     protected QuoteStyle specifiedQuoteStyle;
+    private final boolean shared;
 
     private boolean stringIsCached;
     private String stringCache;
 
+    /// Wraps a native value in a new primitive.
     public static Primitive of(Object nativeInstance) {
-        return new Primitive(nativeInstance, null, true);
+        return new Primitive(nativeInstance, null, true, false);
+    }
+
+    /// Wraps a native value, returning the shared instance for common literals.
+    public static Primitive canonical(Object nativeInstance) {
+        Primitive canonical = PrimitiveCache.canonical(nativeInstance);
+        return canonical != null ? canonical : new Primitive(nativeInstance, null, true, false);
     }
 
     /// Parses unescaped text and infers its type.
     public static Primitive fromString(String unescapedContent, QuoteStyle quoteStyle) {
-        return new Primitive(unescapedContent, quoteStyle, false);
+        return new Primitive(unescapedContent, quoteStyle, false, false);
+    }
+
+    /// Parses unescaped text with `delegate` and infers its type, returning an instance
+    /// shared by every occurrence of the same common literal in the dialect.
+    public static Primitive fromString(String unescapedContent, QuoteStyle quoteStyle, PrimitiveDelegate delegate) {
+        return PrimitiveCache.forDelegate(delegate).fromString(unescapedContent, quoteStyle);
+    }
+
+    static Primitive newNative(Object nativeInstance) {
+        return new Primitive(nativeInstance, null, true, false);
     }
 
-    private Primitive(Object rawInput, QuoteStyle quoteStyle, boolean isNative) {
+    private Primitive(Object rawInput, QuoteStyle quoteStyle, boolean isNative, boolean shared) {
         this.rawInput = rawInput;
         this.originalQuotedStyle = quoteStyle;
         this.isAlreadyNative = isNative;
+        this.shared = shared;
+    }
+
+    /// Returns a shared copy of this primitive with its value and string form already computed,
+    /// so that it can be read from any thread.
+    Primitive share() {
+        Primitive copy = new Primitive(rawInput, originalQuotedStyle, isAlreadyNative, true);
+        copy.delegate = delegate;
+        copy.specifiedQuoteStyle = specifiedQuoteStyle;
+        copy.nativeValue();
+        copy.asString();
+        return copy;
+    }
+
+    /// Returns `true` if this is a canonical instance shared between scalars.
+    public boolean isShared() {
+        return shared;
     }
 
+    /// Sets the dialect delegate.
+    ///
+    /// @throws IllegalStateException if this instance is shared.
     public Primitive setDelegate(PrimitiveDelegate delegate) {
+        checkNotShared();
         this.delegate = delegate;
         return this;
     }
 
+    /// Returns this primitive if it already has `delegate`, or otherwise a copy with it.
+    public Primitive withDelegate(PrimitiveDelegate delegate) {
+        if (delegate == this.delegate) return this;
+        Primitive copy = copy();
+        copy.delegate = delegate;
+        return copy;
+    }
+
+    private Primitive copy() {
+        Primitive copy = new Primitive(rawInput, originalQuotedStyle, isAlreadyNative, false);
+        copy.delegate = delegate;
+        copy.specifiedQuoteStyle = specifiedQuoteStyle;
+        return copy;
+    }
+
+    private void checkNotShared() {
+        if (shared) {
+            throw new IllegalStateException("Shared primitives cannot be modified; use withDelegate or withQuoteStyle");
+        }
+    }
+
     public Object unwrap() { return nativeValue(); }
 
     public QuoteStyle getQuoteStyle() {
@@ -50,11 +120,23 @@ public class Primitive {
         return originalQuotedStyle;
     }
 
+    /// Sets the quote style.
+    ///
+    /// @throws IllegalStateException if this instance is shared.
     public Primitive setQuoteStyle(QuoteStyle style) {
+        checkNotShared();
         this.specifiedQuoteStyle = style;
         return this;
     }
 
+    /// Returns this primitive if it already has the quote style `style`, or otherwise a copy with it.
+    public Primitive withQuoteStyle(QuoteStyle style) {
+        if (style == specifiedQuoteStyle) return this;
+        Primitive copy = copy();
+        copy.specifiedQuoteStyle = style;
+        return copy;
+    }
+
     public String asString() {
         if (!stringIsCached) {
             Object nativeValue = nativeValue();
@@ -65,23 +147,23 @@ public class Primitive {
     }
 
     public double asDouble(double defaultValue) {
-        if (nativeValue() instanceof Number num) return num.doubleValue();
-        try {
-            return Double.parseDouble(asString());
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
+        Object nativeValue = nativeValue();
+        if (nativeValue instanceof Number num) return num.doubleValue();
+        return nativeValue == null ? defaultValue : NumberScanner.parseDouble(asString(), defaultValue);
     }
 
     public int asInteger(int defaultValue) {
         Object nativeValue = nativeValue();
         if (nativeValue == null) return defaultValue;
         if (nativeValue instanceof Number num) return num.intValue();
-        try {
-            return Integer.parseInt(nativeValue.toString().trim());
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
+        return NumberScanner.parseInt(nativeValue.toString(), defaultValue);
+    }
+
+    public long asLong(long defaultValue) {
+        Object nativeValue = nativeValue();
+        if (nativeValue == null) return defaultValue;
+        if (nativeValue instanceof Number num) return num.longValue();
+        return NumberScanner.parseLong(nativeValue.toString(), defaultValue);
     }
 
     public boolean asBoolean(boolean defaultValue) {
@@ -125,7 +207,8 @@ public class Primitive {
     /// Intercept and resolve dialect-specific keywords (e.g., booleans, nulls).
     private Object coerceLiteralValue(String text) {
         if (delegate != null) {
-            return delegate.coerceLiteralValue(text);
+            KeywordMatcher keywords = delegate.getLiteralKeywords();
+            return keywords != null ? keywords.match(text) : delegate.coerceLiteralValue(text);
         }
         return null;
     }
@@ -170,41 +253,8 @@ public class Primitive {
         Object customCoercion = coerceLiteralValue(str);
         if (customCoercion != null) return customCoercion;
 
-        // Fall back to baseline universal primitives
-        // String trimmed = str.trim();
-
-        // Universal numbers
-        if (isLikelyNumeric(str)) {
-            try {
-                return Integer.parseInt(str);
-            } catch (NumberFormatException e) { /* move on */ }
-
-            try {
-                return Double.parseDouble(str);
-            } catch (NumberFormatException e) { /* move on */ }
-        }
-
-        return str;
-    }
-
-    private static boolean isLikelyNumeric(String str) {
-        if (str == null || str.isEmpty()) return false;
-
-        // Explicitly treat unquoted Infinity variations as numeric names
-        if (str.endsWith("Infinity") || "NaN".equals(str)) {
-            return true;
-        }
-
-        char first = str.charAt(0);
-        // Quick check for standard start characters
-        if (!Character.isDigit(first) && first != '-' && first != '+' && first != '.') {
-            return false;
-        }
-        // Optional: scan to ensure there's at least one digit
-        for (int i = 0; i < str.length(); i++) {
-            char c = str.charAt(i);
-            if (Character.isDigit(c)) return true;
-        }
-        return false;
+        // Fall back to baseline universal numbers, scanned without throwing
+        Number number = NumberScanner.parse(str);
+        return number != null ? number : str;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package io.github.qishr.cascara.common.lang.type;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.github.qishr.cascara.common.lang.util.QuoteStyle;
+
+/// The canonical [Primitive] instances for common literals.
+///
+/// Native values are shared globally. Parsed text is shared per [PrimitiveDelegate], since
+/// the delegate decides what a keyword means; each delegate gets a table of the short plain
+/// literals seen so far that turned out to be common values. Tables are kept for the life
+/// of the process, so only the first [#MAX_DELEGATES] delegates get one.
+final class PrimitiveCache {
+    static final int LOW = -128;
+    static final int HIGH = 1023;
+    static final int MAX_DELEGATES = 32;
+    /// Longer text is never a common literal worth a lookup.
+    static final int MAX_LITERAL_LENGTH = 6;
+    static final int MAX_ENTRIES = 4096;
+
+    private static final Primitive NULL = Primitive.newNative(null).share();
+    private static final Primitive TRUE = Primitive.newNative(Boolean.TRUE).share();
+    private static final Primitive FALSE = Primitive.newNative(Boolean.FALSE).share();
+    private static final Primitive EMPTY = Primitive.newNative("").share();
+    private static final Primitive[] INTEGERS = new Primitive[HIGH - LOW + 1];
+
+    static {
+        for (int i = 0; i < INTEGERS.length; i++) {
+            INTEGERS[i] = Primitive.newNative(LOW + i).share();
+        }
+    }
+
+    private static final Map<PrimitiveDelegate,Table> TABLES = new ConcurrentHashMap<>();
+    private static final Table UNCACHED = new Table(null, false);
+
+    private PrimitiveCache() { }
+
+    /// Returns the shared instance for a native value, or `null` if it is not a common literal.
+    static Primitive canonical(Object value) {
+        if (value == null) return NULL;
+        if (value instanceof Boolean bool) return bool ? TRUE : FALSE;
+        if (value instanceof Integer number && number >= LOW && number <= HIGH) return INTEGERS[number - LOW];
+        if (value instanceof String text && text.isEmpty()) return EMPTY;
+        return null;
+    }
+
+    static boolean isCommon(Object value) {
+        return value == null || value instanceof Boolean
+            || (value instanceof Integer number && number >= LOW && number <= HIGH)
+            || (value instanceof String text && text.isEmpty());
+    }
+
+    static Table forDelegate(PrimitiveDelegate delegate) {
+        if (delegate == null) return UNCACHED;
+        Table table = TABLES.get(delegate);
+        if (table == null) {
+            if (TABLES.size() >= MAX_DELEGATES) return new Table(delegate, false);
+            table = TABLES.computeIfAbsent(delegate, d -> new Table(d, true));
+        }
+        return table;
+    }
+
+    static final class Table {
+        private final PrimitiveDelegate delegate;
+        private final boolean caching;
+        private final Map<String,Primitive> plain = new ConcurrentHashMap<>();
+        private final AtomicReferenceArray<Primitive> emptyQuoted = new AtomicReferenceArray<>(QuoteStyle.values().length);
+
+        Table(PrimitiveDelegate delegate, boolean caching) {
+            this.delegate = delegate;
+            this.caching = caching;
+        }
+
+        Primitive fromString(String text, QuoteStyle style) {
+            if (!caching || text == null || text.length() > MAX_LITERAL_LENGTH || style == null) {
+                return create(text, style);
+            }
+            if (style != QuoteStyle.PLAIN) {
+                if (!text.isEmpty()) return create(text, style);
+                Primitive shared = emptyQuoted.get(style.ordinal());
+                if (shared == null) {
+                    Primitive candidate = create(text, style);
+                    if (!isCommon(candidate.unwrap())) return candidate;
+                    emptyQuoted.compareAndSet(style.ordinal(), null, candidate.share());
+                    shared = emptyQuoted.get(style.ordinal());
+                }
+                return shared;
+            }
+
+            Primitive shared = plain.get(text);
+            if (shared != null) return shared;
+            Primitive candidate = create(text, style);
+            if (!isCommon(candidate.unwrap()) || plain.size() >= MAX_ENTRIES) return candidate;
+            shared = plain.putIfAbsent(text, candidate.share());
+            return shared != null ? shared : plain.get(text);
+        }
+
+        private Primitive create(String text, QuoteStyle style) {
+            return Primitive.fromString(text, style).setDelegate(delegate);
+        }
+    }
+}
@@ -5,5 +5,13 @@ import io.github.qishr.cascara.common.lang.util.QuoteStyle;
 public interface PrimitiveDelegate {
     QuoteStyle inferQuoteStyle(Object value);
     Object coerceLiteralValue(String text);
+
+    /// Returns the dialect's literal keywords, or `null` to use [#coerceLiteralValue(String)].
+    ///
+    /// When a matcher is declared, [Primitive] classifies plain scalars with it directly and
+    /// does not call `coerceLiteralValue`; keywords whose value is `null` are ignored.
+    default KeywordMatcher getLiteralKeywords() {
+        return null;
+    }
     String unescapeQuotedString(String text, QuoteStyle style);
 }
@@ -2,8 +2,8 @@ package io.github.qishr.cascara.common.lang.type;
 
 import io.github.qishr.cascara.common.lang.annotation.Beta;
 import io.github.qishr.cascara.common.service.AbstractServiceProviderFactory;
-import io.github.qishr.cascara.common.service.CapabilityQueries;
 import io.github.qishr.cascara.common.service.ServiceException;
+import io.github.qishr.cascara.common.service.ServiceMetadata;
 import io.github.qishr.cascara.common.service.ServiceProviderLayer;
 
 @Beta
@@ -17,12 +17,10 @@ public class TypeDescriptorFactory extends AbstractServiceProviderFactory {
         super(layer);
     }
 
+    /// Creates a new instance of the descriptor that [TypeDescriptorRegistry] resolves for
+    /// `jvmType`, or returns `null` if there is none.
     public TypeDescriptor<?> createTypeDescriptor(Class<?> jvmType) throws ServiceException {
-        return createServiceProvider(
-            TypeDescriptor.class,
-            CapabilityQueries.allOf(
-                CapabilityQueries.supportsJvmType(jvmType)
-            )
-        );
+        ServiceMetadata provider = TypeDescriptorRegistry.of(getLayer()).findProvider(jvmType);
+        return provider == null ? null : ServiceProviderLayer.loadProvider(TypeDescriptor.class, provider);
     }
 }
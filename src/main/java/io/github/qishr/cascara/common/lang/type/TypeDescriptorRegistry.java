@@ -0,0 +1,145 @@
+package io.github.qishr.cascara.common.lang.type;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import io.github.qishr.cascara.common.lang.annotation.Beta;
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+import io.github.qishr.cascara.common.service.ServiceMetadata;
+import io.github.qishr.cascara.common.service.ServiceProviderLayer;
+
+/// Finds the [TypeDescriptor] provider of a JVM type once per class and remembers it,
+/// including when there is none.
+///
+/// A type is resolved to the provider whose `javaType` is the nearest in its hierarchy: the
+/// class itself, then its superclasses, then the interfaces of those, breadth-first, and
+/// finally `Object`. Providers that declare no `javaType` match any type and come last.
+/// Among providers of the same `javaType`, the first one found in the layer wins.
+///
+/// Results are kept in a [ClassValue] and are discarded when
+/// [ServiceProviderLayer#getModificationCount()] changes, so lookups see providers
+/// registered later. Registries are safe for use by multiple threads, and there is one per
+/// layer: see [#of(ServiceProviderLayer)]. A registry refers to its layer weakly, so neither
+/// keeps the other alive once the layer is no longer used.
+@Beta
+public final class TypeDescriptorRegistry {
+    private static final Map<ServiceProviderLayer,TypeDescriptorRegistry> registries =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    /// The resolution of one class.
+    private record Entry(long modificationCount, ServiceMetadata provider, TypeDescriptor<?> descriptor) { }
+
+    /// The providers of the layer by `javaType`.
+    private record Index(long modificationCount, Map<String,ServiceMetadata> byJavaType, ServiceMetadata untyped) { }
+
+    private final WeakReference<ServiceProviderLayer> layer;
+    private volatile Index index;
+
+    private final ClassValue<Entry> entries = new ClassValue<>() {
+        @Override
+        protected Entry computeValue(Class<?> type) {
+            // Read before resolving, so a registration made meanwhile invalidates the entry
+            long modificationCount = ServiceProviderLayer.getModificationCount();
+            ServiceMetadata provider = resolve(type, index(modificationCount));
+            TypeDescriptor<?> descriptor = provider == null ? null
+                : ServiceProviderLayer.loadProvider(TypeDescriptor.class, provider);
+            return new Entry(modificationCount, provider, descriptor);
+        }
+    };
+
+    private TypeDescriptorRegistry(ServiceProviderLayer layer) {
+        this.layer = new WeakReference<>(layer);
+    }
+
+    /// Returns the registry of the root layer.
+    public static TypeDescriptorRegistry getDefault() {
+        return of(ServiceProviderLayer.getRootLayer());
+    }
+
+    /// Returns the registry that searches from `layer`.
+    public static TypeDescriptorRegistry of(ServiceProviderLayer layer) {
+        if (layer == null) {
+            throw new IllegalArgumentException("layer must not be null");
+        }
+        return registries.computeIfAbsent(layer, TypeDescriptorRegistry::new);
+    }
+
+    /// Returns the metadata of the provider that describes `jvmType`, or `null` if there is none.
+    @Nullable
+    public ServiceMetadata findProvider(Class<?> jvmType) {
+        return entry(jvmType).provider();
+    }
+
+    /// Returns the shared descriptor of `jvmType`, or `null` if there is none.
+    ///
+    /// The same instance is returned to every caller. Callers that keep state in a
+    /// descriptor must create their own from [#findProvider(Class)].
+    @Nullable
+    public TypeDescriptor<?> getTypeDescriptor(Class<?> jvmType) {
+        return entry(jvmType).descriptor();
+    }
+
+    private Entry entry(Class<?> jvmType) {
+        Entry entry = entries.get(jvmType);
+        if (entry.modificationCount() != ServiceProviderLayer.getModificationCount()) {
+            entries.remove(jvmType);
+            entry = entries.get(jvmType);
+        }
+        return entry;
+    }
+
+    private Index index(long modificationCount) {
+        Index current = index;
+        if (current != null && current.modificationCount() == modificationCount) {
+            return current;
+        }
+        Map<String,ServiceMetadata> byJavaType = new HashMap<>();
+        ServiceMetadata untyped = null;
+        ServiceProviderLayer layer = this.layer.get();
+        // A registry that outlives its layer has no providers left to find
+        List<ServiceMetadata> providers = layer == null ? List.of() : layer.findAllProviders(TypeDescriptor.class);
+        for (ServiceMetadata provider : providers) {
+            String javaType = provider.getProperties().getString("javaType");
+            if (javaType == null) {
+                if (untyped == null) untyped = provider;
+            } else {
+                byJavaType.putIfAbsent(javaType, provider);
+            }
+        }
+        current = new Index(modificationCount, byJavaType, untyped);
+        index = current;
+        return current;
+    }
+
+    private static ServiceMetadata resolve(Class<?> type, Index index) {
+        if (index.byJavaType().isEmpty()) {
+            return index.untyped();
+        }
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            ServiceMetadata provider = index.byJavaType().get(c.getName());
+            if (provider != null) return provider;
+            Collections.addAll(interfaces, c.getInterfaces());
+        }
+
+        ArrayDeque<Class<?>> queue = new ArrayDeque<>(interfaces);
+        while (!queue.isEmpty()) {
+            Class<?> c = queue.poll();
+            ServiceMetadata provider = index.byJavaType().get(c.getName());
+            if (provider != null) return provider;
+            for (Class<?> superInterface : c.getInterfaces()) {
+                if (interfaces.add(superInterface)) queue.add(superInterface);
+            }
+        }
+
+        ServiceMetadata provider = index.byJavaType().get(Object.class.getName());
+        return provider != null ? provider : index.untyped();
+    }
+}
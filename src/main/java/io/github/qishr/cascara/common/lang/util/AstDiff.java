@@ -0,0 +1,208 @@
+package io.github.qishr.cascara.common.lang.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.MapAstNode;
+import io.github.qishr.cascara.common.lang.ast.MapEntryAstNode;
+import io.github.qishr.cascara.common.lang.ast.ScalarAstNode;
+import io.github.qishr.cascara.common.lang.ast.SequenceAstNode;
+
+/// Computes an [AstPatch] that turns one AST into another.
+///
+/// Both trees are hashed once with [AstStructure.HashCache]; after that, any pair of
+/// subtrees with equal hashes is skipped in O(1), so the cost of diffing two mostly-equal
+/// trees is dominated by that single hashing pass rather than by the size of the trees.
+///
+/// - Maps are matched by key. Changed values are diffed recursively, missing keys are
+///   removed, and new keys are appended.
+/// - Sequences are aligned with a longest-common-subsequence over element hashes, after
+///   trimming the common prefix and suffix. Unmatched elements facing each other are
+///   diffed recursively; the rest become inserts and removals. When the unmatched middle
+///   is too large for the LCS table (see [#setMaxAlignmentCells(long)]), elements are paired
+///   by position instead.
+/// - Scalars are compared by primitive and quote style.
+/// - Nodes of different kinds replace one another.
+public class AstDiff {
+    /// The default limit on the LCS table size, about 16 MB of `int`s.
+    public static final long DEFAULT_MAX_ALIGNMENT_CELLS = 1L << 22;
+
+    private static final byte KEEP = 0;
+    private static final byte DELETE = 1;
+    private static final byte INSERT = 2;
+
+    private long maxAlignmentCells = DEFAULT_MAX_ALIGNMENT_CELLS;
+
+    /// Sets the largest LCS table, in cells, used to align two sequences.
+    public AstDiff setMaxAlignmentCells(long maxAlignmentCells) {
+        this.maxAlignmentCells = maxAlignmentCells;
+        return this;
+    }
+
+    public long getMaxAlignmentCells() {
+        return maxAlignmentCells;
+    }
+
+    /// Returns the edits that turn `from` into `to`.
+    ///
+    /// The patch refers to subtrees of `to` for inserted and replacing nodes; applying it
+    /// links those subtrees into the target tree.
+    public AstPatch diff(AstNode from, AstNode to) {
+        Context context = new Context();
+        context.node(from, to, new ArrayList<>());
+        return new AstPatch(context.edits);
+    }
+
+    private final class Context {
+        private final AstStructure.HashCache fromHashes = new AstStructure.HashCache();
+        private final AstStructure.HashCache toHashes = new AstStructure.HashCache();
+        private final List<AstEdit> edits = new ArrayList<>();
+
+        void node(AstNode from, AstNode to, List<Object> path) {
+            if (from == to || fromHashes.hash(from) == toHashes.hash(to)) return;
+
+            if (from instanceof ScalarAstNode<?> && to instanceof ScalarAstNode<?>) {
+                edits.add(new AstEdit(AstEdit.Operation.SET_SCALAR, path, to));
+            } else if (from instanceof MapAstNode<?,?> a && to instanceof MapAstNode<?,?> b) {
+                map(a, b, path);
+            } else if (from instanceof SequenceAstNode<?> a && to instanceof SequenceAstNode<?> b) {
+                sequence(a.getElements(), b.getElements(), path);
+            } else {
+                edits.add(new AstEdit(AstEdit.Operation.REPLACE, path, to));
+            }
+        }
+
+        void map(MapAstNode<?,?> from, MapAstNode<?,?> to, List<Object> path) {
+            Map<String,AstNode> target = new HashMap<>();
+            for (MapEntryAstNode<?> entry : to.getEntries()) {
+                target.put(keyOf(entry.getKey()), entry.getValue());
+            }
+
+            Set<String> seen = new HashSet<>();
+            for (MapEntryAstNode<?> entry : from.getEntries()) {
+                String key = keyOf(entry.getKey());
+                seen.add(key);
+                path.add(key);
+                if (target.containsKey(key)) {
+                    node(entry.getValue(), target.get(key), path);
+                } else {
+                    edits.add(new AstEdit(AstEdit.Operation.REMOVE_KEY, path, null));
+                }
+                path.remove(path.size() - 1);
+            }
+            for (MapEntryAstNode<?> entry : to.getEntries()) {
+                String key = keyOf(entry.getKey());
+                if (seen.add(key)) {
+                    path.add(key);
+                    edits.add(new AstEdit(AstEdit.Operation.PUT, path, entry));
+                    path.remove(path.size() - 1);
+                }
+            }
+        }
+
+        void sequence(List<? extends AstNode> from, List<? extends AstNode> to, List<Object> path) {
+            int n = from.size();
+            int m = to.size();
+            long[] a = new long[n];
+            long[] b = new long[m];
+            for (int i = 0; i < n; i++) a[i] = fromHashes.hash(from.get(i));
+            for (int j = 0; j < m; j++) b[j] = toHashes.hash(to.get(j));
+
+            int prefix = 0;
+            while (prefix < n && prefix < m && a[prefix] == b[prefix]) prefix++;
+            int suffix = 0;
+            while (suffix < n - prefix && suffix < m - prefix && a[n - 1 - suffix] == b[m - 1 - suffix]) suffix++;
+
+            byte[] script = align(a, prefix, n - suffix, b, prefix, m - suffix);
+
+            // Replay the alignment against a cursor into the sequence as it is being patched
+            int position = prefix;
+            int i = prefix;
+            int j = prefix;
+            int k = 0;
+            while (k < script.length) {
+                if (script[k] == KEEP) {
+                    position++;
+                    i++;
+                    j++;
+                    k++;
+                    continue;
+                }
+                int deletes = 0;
+                int inserts = 0;
+                while (k < script.length && script[k] != KEEP) {
+                    if (script[k++] == DELETE) deletes++; else inserts++;
+                }
+                int paired = Math.min(deletes, inserts);
+                for (int p = 0; p < paired; p++) {
+                    path.add(position++);
+                    node(from.get(i++), to.get(j++), path);
+                    path.remove(path.size() - 1);
+                }
+                for (int p = paired; p < deletes; p++) {
+                    path.add(position);
+                    edits.add(new AstEdit(AstEdit.Operation.REMOVE_INDEX, path, null));
+                    path.remove(path.size() - 1);
+                    i++;
+                }
+                for (int p = paired; p < inserts; p++) {
+                    path.add(position++);
+                    edits.add(new AstEdit(AstEdit.Operation.INSERT, path, to.get(j++)));
+                    path.remove(path.size() - 1);
+                }
+            }
+        }
+    }
+
+    /// Aligns `a[aStart, aEnd)` with `b[bStart, bEnd)`, returning KEEP/DELETE/INSERT steps.
+    private byte[] align(long[] a, int aStart, int aEnd, long[] b, int bStart, int bEnd) {
+        int n = aEnd - aStart;
+        int m = bEnd - bStart;
+        if (n == 0 || m == 0 || (long) (n + 1) * (m + 1) > maxAlignmentCells) {
+            // One run of removals and additions: the first min(n, m) elements face each other
+            byte[] script = new byte[n + m];
+            for (int k = 0; k < n; k++) script[k] = DELETE;
+            for (int k = n; k < n + m; k++) script[k] = INSERT;
+            return script;
+        }
+
+        // lengths[i][j] is the LCS length of a[i..] and b[j..]
+        int width = m + 1;
+        int[] lengths = new int[(n + 1) * width];
+        for (int i = n - 1; i >= 0; i--) {
+            for (int j = m - 1; j >= 0; j--) {
+                lengths[i * width + j] = (a[aStart + i] == b[bStart + j])
+                    ? lengths[(i + 1) * width + j + 1] + 1
+                    : Math.max(lengths[(i + 1) * width + j], lengths[i * width + j + 1]);
+            }
+        }
+
+        byte[] script = new byte[n + m - lengths[0]];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < n || j < m) {
+            if (i < n && j < m && a[aStart + i] == b[bStart + j]) {
+                script[k++] = KEEP;
+                i++;
+                j++;
+            } else if (j == m || (i < n && lengths[(i + 1) * width + j] >= lengths[i * width + j + 1])) {
+                script[k++] = DELETE;
+                i++;
+            } else {
+                script[k++] = INSERT;
+                j++;
+            }
+        }
+        return script;
+    }
+
+    private static String keyOf(AstNode key) {
+        return (key instanceof ScalarAstNode<?> scalar) ? scalar.asString() : String.valueOf(key);
+    }
+}
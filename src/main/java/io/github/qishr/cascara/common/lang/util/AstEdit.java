@@ -0,0 +1,71 @@
+package io.github.qishr.cascara.common.lang.util;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.annotation.Nullable;
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+
+/// One step of an [AstPatch].
+///
+/// The path of an edit is a list of map keys (`String`) and sequence indexes (`Integer`)
+/// leading from the root to the node being changed. Indexes refer to the tree as it is
+/// when the edit is applied, after every earlier edit of the same patch.
+public final class AstEdit {
+
+    public enum Operation {
+        /// Replaces the node at the path with [#getNode()]. An empty path replaces the root.
+        REPLACE,
+        /// Copies the primitive and quote style of the scalar [#getNode()] into the scalar at the path.
+        SET_SCALAR,
+        /// Adds the map entry [#getNode()] to the map at the path. The last path step is its key.
+        PUT,
+        /// Removes the entry whose key is the last path step.
+        REMOVE_KEY,
+        /// Inserts [#getNode()] into the sequence at the path. The last path step is its index.
+        INSERT,
+        /// Removes the sequence element whose index is the last path step.
+        REMOVE_INDEX
+    }
+
+    private final Operation operation;
+    private final List<Object> path;
+    private final AstNode node;
+
+    AstEdit(Operation operation, List<Object> path, AstNode node) {
+        this.operation = operation;
+        this.path = List.copyOf(path);
+        this.node = node;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public List<Object> getPath() {
+        return path;
+    }
+
+    /// Returns the new node, scalar, or map entry for the edit, or `null` for removals.
+    @Nullable
+    public AstNode getNode() {
+        return node;
+    }
+
+    /// Returns the path in the notation accepted by [io.github.qishr.cascara.common.lang.processor.PathCompiler].
+    public String getPathExpression() {
+        StringBuilder sb = new StringBuilder("$");
+        for (Object step : path) {
+            if (step instanceof Integer index) {
+                sb.append('[').append(index).append(']');
+            } else {
+                sb.append("['").append(step.toString().replace("\\", "\\\\").replace("'", "\\'")).append("']");
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return operation + " " + getPathExpression();
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.qishr.cascara.common.lang.util;
+
+import java.util.List;
+
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.MapAstNode;
+import io.github.qishr.cascara.common.lang.ast.MapEntryAstNode;
+import io.github.qishr.cascara.common.lang.ast.ScalarAstNode;
+import io.github.qishr.cascara.common.lang.ast.SequenceAstNode;
+
+/// An edit script produced by [AstDiff], applied in place to a target AST.
+///
+/// A patch is applied to a tree structurally equal to the `from` tree it was computed
+/// against; the target is mutated through the [MapAstNode], [SequenceAstNode] and
+/// [ScalarAstNode] interfaces. Scalars are updated with [ScalarAstNode#setPrimitive(Object)]
+/// rather than replaced, so the nodes of the target keep their identity wherever possible.
+public final class AstPatch {
+    private final List<AstEdit> edits;
+
+    AstPatch(List<AstEdit> edits) {
+        this.edits = List.copyOf(edits);
+    }
+
+    /// Returns the edits in the order they are applied.
+    public List<AstEdit> getEdits() {
+        return edits;
+    }
+
+    public int size() {
+        return edits.size();
+    }
+
+    /// Returns `true` if the two trees were structurally equal.
+    public boolean isEmpty() {
+        return edits.isEmpty();
+    }
+
+    /// Applies every edit to `target`.
+    ///
+    /// @return The patched root: `target` itself, unless an edit replaced the root.
+    /// @throws IllegalStateException If `target` does not have the shape the patch expects.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <N extends AstNode> N apply(N target) {
+        N root = target;
+        for (AstEdit edit : edits) {
+            List<Object> path = edit.getPath();
+            AstNode node = edit.getNode();
+
+            if (edit.getOperation() == AstEdit.Operation.REPLACE && path.isEmpty()) {
+                root = (N) node;
+                continue;
+            }
+            if (edit.getOperation() == AstEdit.Operation.SET_SCALAR) {
+                if (!(resolve(root, path, path.size(), edit) instanceof ScalarAstNode scalar)) {
+                    throw new IllegalStateException("Cannot apply " + edit + ": target is not a scalar");
+                }
+                ScalarAstNode<?> source = (ScalarAstNode<?>) node;
+                scalar.setPrimitive(source.getPrimitive());
+                scalar.setQuoteStyle(source.getQuoteStyle());
+                continue;
+            }
+
+            AstNode parent = resolve(root, path, path.size() - 1, edit);
+            Object step = path.get(path.size() - 1);
+            switch (edit.getOperation()) {
+                case REPLACE -> {
+                    if (parent instanceof MapAstNode map && step instanceof String key) {
+                        map.put(key, node);
+                    } else if (parent instanceof SequenceAstNode sequence && step instanceof Integer index) {
+                        sequence.set(index, node);
+                    } else {
+                        throw new IllegalStateException("Cannot apply " + edit + ": parent is not a container");
+                    }
+                }
+                case PUT -> {
+                    MapEntryAstNode<?> entry = (MapEntryAstNode<?>) node;
+                    container(parent, MapAstNode.class, edit).put(entry.getKey(), entry.getValue());
+                }
+                case REMOVE_KEY -> container(parent, MapAstNode.class, edit).remove((String) step);
+                case INSERT -> container(parent, SequenceAstNode.class, edit).add((Integer) step, node);
+                case REMOVE_INDEX -> container(parent, SequenceAstNode.class, edit).remove((int) (Integer) step);
+                default -> throw new IllegalStateException("Unexpected operation " + edit.getOperation());
+            }
+        }
+        return root;
+    }
+
+    /// Follows the first `depth` steps of `path` from `root`.
+    private static AstNode resolve(AstNode root, List<Object> path, int depth, AstEdit edit) {
+        AstNode node = root;
+        for (int i = 0; i < depth; i++) {
+            Object step = path.get(i);
+            if (step instanceof String key && node instanceof MapAstNode<?,?> map) {
+                node = map.get(key);
+            } else if (step instanceof Integer index && node instanceof SequenceAstNode<?> sequence && index < sequence.size()) {
+                node = sequence.get(index);
+            } else {
+                node = null;
+            }
+            if (node == null) {
+                throw new IllegalStateException("Cannot apply " + edit + ": no node at step " + i);
+            }
+        }
+        return node;
+    }
+
+    private static <C> C container(AstNode node, Class<C> type, AstEdit edit) {
+        if (!type.isInstance(node)) {
+            throw new IllegalStateException("Cannot apply " + edit + ": expected a " + type.getSimpleName());
+        }
+        return type.cast(node);
+    }
+}
@@ -0,0 +1,182 @@
+package io.github.qishr.cascara.common.lang.util;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.ast.MapAstNode;
+import io.github.qishr.cascara.common.lang.ast.MapEntryAstNode;
+import io.github.qishr.cascara.common.lang.ast.ScalarAstNode;
+import io.github.qishr.cascara.common.lang.ast.SequenceAstNode;
+import io.github.qishr.cascara.common.lang.type.Primitive;
+
+/// Structural hashing and equality for AST nodes.
+///
+/// Two nodes are structurally equal when they are the same kind of node and, recursively,
+/// scalars have equal primitives and quote styles, sequences have equal elements in order,
+/// and maps have equal keys and values in order. Source positions and comments are ignored.
+/// Any other kind of node is only equal to itself.
+///
+/// Hashes are 64 bits wide so that tools which trust a hash match, like the diff engine,
+/// have a negligible chance of mistaking two different subtrees for equal ones.
+public final class AstStructure {
+    private static final long SCALAR_SEED = 0x9E3779B97F4A7C15L;
+    private static final long SEQUENCE_SEED = 0xC2B2AE3D27D4EB4FL;
+    private static final long MAP_SEED = 0x165667B19E3779F9L;
+    private static final long ENTRY_SEED = 0x27D4EB2F165667C5L;
+
+    private AstStructure() { }
+
+    /// Computes the structural hash of `node` without caching.
+    public static long hash(AstNode node) {
+        return new HashCache().hash(node);
+    }
+
+    /// Returns the structural hash of a scalar holding `primitive` with `quoteStyle`.
+    public static long hashScalar(Object primitive, QuoteStyle quoteStyle) {
+        return mix(mix(SCALAR_SEED, primitiveHash(primitive)), Objects.hashCode(quoteStyle));
+    }
+
+    /// Returns the structural hash of a map entry whose key and value have the given hashes.
+    public static long hashEntry(long keyHash, long valueHash) {
+        return mix(mix(ENTRY_SEED, keyHash), valueHash);
+    }
+
+    /// Returns the structural hash of a sequence whose elements have the given hashes, in order.
+    public static long hashSequence(long[] elementHashes) {
+        long hash = SEQUENCE_SEED;
+        for (long element : elementHashes) hash = mix(hash, element);
+        return hash;
+    }
+
+    /// Returns the structural hash of a map whose entries have the given hashes, in order.
+    public static long hashMap(long[] entryHashes) {
+        long hash = MAP_SEED;
+        for (long entry : entryHashes) hash = mix(hash, entry);
+        return hash;
+    }
+
+    /// Returns `true` if `a` and `b` are structurally equal.
+    public static boolean equals(AstNode a, AstNode b) {
+        if (a == b) return true;
+        if (a == null || b == null) return false;
+
+        if (a instanceof ScalarAstNode<?> sa) {
+            return b instanceof ScalarAstNode<?> sb
+                && sa.getQuoteStyle() == sb.getQuoteStyle()
+                && Objects.equals(sa.getPrimitive(), sb.getPrimitive());
+        }
+        if (a instanceof MapEntryAstNode<?> ea) {
+            return b instanceof MapEntryAstNode<?> eb
+                && equals(ea.getKey(), eb.getKey())
+                && equals(ea.getValue(), eb.getValue());
+        }
+        if (a instanceof SequenceAstNode<?> la) {
+            return b instanceof SequenceAstNode<?> lb
+                && la.size() == lb.size()
+                && childrenEqual(la.getElements(), lb.getElements());
+        }
+        if (a instanceof MapAstNode<?,?> ma) {
+            return b instanceof MapAstNode<?,?> mb
+                && ma.size() == mb.size()
+                && childrenEqual(ma.getEntries(), mb.getEntries());
+        }
+        return false;
+    }
+
+    private static boolean childrenEqual(List<? extends AstNode> a, List<? extends AstNode> b) {
+        for (int i = 0; i < a.size(); i++) {
+            if (!equals(a.get(i), b.get(i))) return false;
+        }
+        return true;
+    }
+
+    /// Memoizes structural hashes and subtree sizes by node identity.
+    ///
+    /// Hashing a tree bottom-up through one cache costs O(n) in total, after which the
+    /// hash of any subtree is a single lookup. The cache assumes the nodes it has seen are
+    /// not mutated; use a fresh cache after editing a tree.
+    public static final class HashCache {
+        private final Map<AstNode,long[]> cache = new IdentityHashMap<>();
+
+        /// Returns the structural hash of `node`.
+        public long hash(AstNode node) {
+            return measure(node)[0];
+        }
+
+        /// Returns the number of nodes in the subtree rooted at `node`, including entries.
+        public long size(AstNode node) {
+            return measure(node)[1];
+        }
+
+        /// Returns `true` if the hash of `node` has already been computed.
+        public boolean contains(AstNode node) {
+            return cache.containsKey(node);
+        }
+
+        private long[] measure(AstNode node) {
+            if (node == null) return new long[] { 0, 0 };
+            long[] cached = cache.get(node);
+            if (cached != null) return cached;
+
+            long hash;
+            long size = 1;
+            if (node instanceof ScalarAstNode<?> scalar) {
+                hash = hashScalar(scalar.getPrimitive(), scalar.getQuoteStyle());
+            } else if (node instanceof MapEntryAstNode<?> entry) {
+                long[] key = measure(entry.getKey());
+                long[] value = measure(entry.getValue());
+                hash = hashEntry(key[0], value[0]);
+                size += key[1] + value[1];
+            } else if (node instanceof SequenceAstNode<?> sequence) {
+                hash = SEQUENCE_SEED;
+                for (AstNode element : sequence.getElements()) {
+                    long[] child = measure(element);
+                    hash = mix(hash, child[0]);
+                    size += child[1];
+                }
+            } else if (node instanceof MapAstNode<?,?> map) {
+                hash = MAP_SEED;
+                for (AstNode entry : map.getEntries()) {
+                    long[] child = measure(entry);
+                    hash = mix(hash, child[0]);
+                    size += child[1];
+                }
+            } else {
+                hash = mix(0, System.identityHashCode(node));
+            }
+
+            long[] result = { hash, size };
+            cache.put(node, result);
+            return result;
+        }
+    }
+
+    /// A full 64-bit hash for common primitives; `String.hashCode()` alone collides far too easily.
+    private static long primitiveHash(Object value) {
+        if (value instanceof Primitive primitive) value = primitive.unwrap();
+        if (value == null) return 0;
+        if (value instanceof String text) {
+            long h = 0xCBF29CE484222325L;
+            for (int i = 0; i < text.length(); i++) {
+                h = (h ^ text.charAt(i)) * 0x100000001B3L;
+            }
+            return h;
+        }
+        long type = value.getClass().getName().hashCode();
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return mix(type, ((Number) value).longValue());
+        }
+        if (value instanceof Double d) return mix(type, Double.doubleToLongBits(d));
+        if (value instanceof Float f) return mix(type, Double.doubleToLongBits(f));
+        return mix(type, value.hashCode());
+    }
+
+    private static long mix(long hash, long value) {
+        long h = (hash ^ value) * 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 31;
+        return h * 0x94D049BB133111EBL + value;
+    }
+}
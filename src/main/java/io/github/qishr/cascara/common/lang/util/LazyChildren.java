@@ -0,0 +1,82 @@
+package io.github.qishr.cascara.common.lang.util;
+
+import java.util.List;
+
+/// The deferred children of a container node produced by a lazy parse.
+///
+/// A lazy parser skips over the body of a map or sequence, recording only its source
+/// offsets and starting coordinates. The children are parsed from that region on the
+/// first call to [#get()], after which the source and loader are released.
+///
+/// @param <C> The child node type (entries for maps, elements for sequences).
+public final class LazyChildren<C> {
+
+    /// Parses the children of one container from a region of the source.
+    @FunctionalInterface
+    public interface Loader<C> {
+        /// @param region A fresh cursor positioned at the start of the container body.
+        /// @return The parsed children, in document order.
+        List<C> load(SourceBuffer region);
+    }
+
+    private final int startOffset;
+    private final int endOffset;
+    private final int startLine;
+    private final int startColumn;
+
+    private SourceBuffer source;
+    private Loader<C> loader;
+    private volatile List<C> children;
+
+    /// @throws IllegalArgumentException If `source` is not random-access.
+    public LazyChildren(SourceBuffer source, int startOffset, int endOffset, int startLine, int startColumn, Loader<C> loader) {
+        if (!source.isRandomAccess()) {
+            throw new IllegalArgumentException("Lazy parsing requires a random-access SourceBuffer");
+        }
+        this.source = source;
+        this.loader = loader;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.startLine = startLine;
+        this.startColumn = startColumn;
+    }
+
+    private LazyChildren(List<C> children) {
+        this.children = children;
+        this.startOffset = -1;
+        this.endOffset = -1;
+        this.startLine = 0;
+        this.startColumn = 0;
+    }
+
+    /// Wraps children that are already known.
+    public static <C> LazyChildren<C> of(List<C> children) {
+        return new LazyChildren<>(children);
+    }
+
+    /// Returns the children, parsing them on the first call.
+    public List<C> get() {
+        List<C> result = children;
+        if (result == null) {
+            synchronized (this) {
+                result = children;
+                if (result == null) {
+                    result = loader.load(source.region(startOffset, endOffset, startLine, startColumn));
+                    children = result;
+                    source = null;
+                    loader = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    public boolean isMaterialized() {
+        return children != null;
+    }
+
+    public int getStartOffset() { return startOffset; }
+    public int getEndOffset() { return endOffset; }
+    public int getStartLine() { return startLine; }
+    public int getStartColumn() { return startColumn; }
+}
@@ -22,4 +22,18 @@ public interface SourceBuffer {
     int windowStartOffset();
     int windowStartLine();
     int windowStartColumn();
+
+    /// Returns `true` if `charAt` and `subSequence` work for any offset, not just the active token window.
+    default boolean isRandomAccess() {
+        return false;
+    }
+
+    /// Returns a new, independent cursor over `[start, end)` of this buffer, positioned at `start`.
+    ///
+    /// Offsets reported by the region stay absolute, and `line`/`column` give the coordinates
+    /// of `start`, so tokens produced from a region carry the same positions they would have
+    /// had in a full parse. Only random-access buffers support regions.
+    default SourceBuffer region(int start, int end, int line, int column) {
+        throw new UnsupportedOperationException("Regions require a random-access SourceBuffer");
+    }
 }
\ No newline at end of file
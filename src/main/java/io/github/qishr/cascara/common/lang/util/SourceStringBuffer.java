@@ -2,6 +2,7 @@ package io.github.qishr.cascara.common.lang.util;
 
 public class SourceStringBuffer implements SourceBuffer, CharSequence {
     private final String source;
+    private final int end;
     private int line = 1;
     private int column = 1;
     private int offset = 0;
@@ -11,11 +12,37 @@ public class SourceStringBuffer implements SourceBuffer, CharSequence {
 
     public SourceStringBuffer(String source) {
         this.source = source != null ? source : "";
+        this.end = this.source.length();
     }
 
+    private SourceStringBuffer(String source, int start, int end, int line, int column) {
+        if (start < 0 || end > source.length() || start > end) {
+            throw new IndexOutOfBoundsException("Invalid region bounds: [" + start + " -> " + end + "]");
+        }
+        this.source = source;
+        this.end = end;
+        this.offset = start;
+        this.line = line;
+        this.column = column;
+        this.windowStartOffset = start;
+        this.windowStartLine = line;
+        this.windowStartColumn = column;
+    }
+
+    /// The length of the readable input. For a region this is its end offset.
     @Override
     public int length() {
-        return source.length();
+        return end;
+    }
+
+    @Override
+    public boolean isRandomAccess() {
+        return true;
+    }
+
+    @Override
+    public SourceStringBuffer region(int start, int end, int line, int column) {
+        return new SourceStringBuffer(source, start, end, line, column);
     }
 
     @Override
@@ -45,7 +72,7 @@ public class SourceStringBuffer implements SourceBuffer, CharSequence {
 
     @Override
     public char peekAhead(int steps) {
-        if (offset + steps >= source.length()) return '\0';
+        if (offset + steps >= end) return '\0';
         return source.charAt(offset + steps);
     }
 
@@ -57,7 +84,7 @@ public class SourceStringBuffer implements SourceBuffer, CharSequence {
 
     @Override
     public char peekNext() {
-        if (offset + 1 >= source.length()) return '\0';
+        if (offset + 1 >= end) return '\0';
         return source.charAt(offset + 1);
     }
 
@@ -78,7 +105,7 @@ public class SourceStringBuffer implements SourceBuffer, CharSequence {
 
     @Override
     public boolean isAtEnd() {
-        return offset >= source.length();
+        return offset >= end;
     }
 
     @Override public int line() { return line; }
@@ -18,6 +18,11 @@ public class AbstractServiceProviderFactory {
         this.layer = layer == null ? ServiceProviderLayer.getRootLayer() : layer;
     }
 
+    /// Returns the layer that providers are searched from.
+    protected ServiceProviderLayer getLayer() {
+        return layer;
+    }
+
     protected <T extends ServiceProvider> T createServiceProvider(Class<T> serviceType, Predicate<Properties> capabilityPredicate) {
         String serviceName = serviceType.getName();
 
@@ -3,6 +3,7 @@ package io.github.qishr.cascara.common.service;
 import io.github.qishr.cascara.common.lang.annotation.Beta;
 import io.github.qishr.cascara.common.lang.processor.AstParser;
 import io.github.qishr.cascara.common.lang.type.TypeDescriptor;
+import io.github.qishr.cascara.common.lang.type.TypeDescriptorRegistry;
 
 @Beta
 public class ServiceProviderFactory extends AbstractServiceProviderFactory {
@@ -22,12 +23,10 @@ public class ServiceProviderFactory extends AbstractServiceProviderFactory {
         );
     }
 
+    /// Creates a new instance of the descriptor that [TypeDescriptorRegistry] resolves for
+    /// `jvmType`, or returns `null` if there is none.
     public TypeDescriptor<?> createTypeDescriptor(Class<?> jvmType) throws ServiceException {
-        return createServiceProvider(
-            TypeDescriptor.class,
-            CapabilityQueries.allOf(
-                CapabilityQueries.supportsJvmType(jvmType)
-            )
-        );
+        ServiceMetadata provider = TypeDescriptorRegistry.of(getLayer()).findProvider(jvmType);
+        return provider == null ? null : ServiceProviderLayer.loadProvider(TypeDescriptor.class, provider);
     }
 }
@@ -16,6 +16,7 @@ import java.util.Map;
 import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -31,6 +32,9 @@ import io.github.qishr.cascara.common.util.Properties;
 public class ServiceProviderLayer {
     private static ServiceProviderLayer rootLayer;
 
+    /// Counts changes to the providers visible from any layer.
+    private static final AtomicLong modificationCount = new AtomicLong();
+
     private Reporter reporter;
 
     private boolean ownsReporter = false;
@@ -91,6 +95,13 @@ public class ServiceProviderLayer {
         return rootLayer;
     }
 
+    /// Returns a number that changes whenever a provider is registered, a layer's providers
+    /// are re-enumerated, or a layer is removed or made public or private, in any layer.
+    /// Caches of provider lookups compare it to tell whether they are still valid.
+    public static long getModificationCount() {
+        return modificationCount.get();
+    }
+
     private void registerViaServiceLoader() {
         ServiceLoader<ServiceProvider> loader = ServiceLoader.load(ServiceProvider.class);
         for (ServiceProvider provider : loader) {
@@ -209,7 +220,12 @@ public class ServiceProviderLayer {
 
     public boolean isPublic() { return isPublic; }
 
-    public void setPublic(boolean v) { isPublic = v; }
+    public void setPublic(boolean v) {
+        if (isPublic != v) {
+            isPublic = v;
+            modificationCount.incrementAndGet();
+        }
+    }
 
     /// Sets the reporter for communicating mapping warnings or errors in this layer.
     public ServiceProviderLayer setReporter(Reporter reporter) {
@@ -286,6 +302,7 @@ public class ServiceProviderLayer {
             if (layer.getName().equals(layerName)) {
                 children.remove(layer);
                 namedChildren.remove(layerName);
+                modificationCount.incrementAndGet();
                 return;
             }
         }
@@ -383,6 +400,8 @@ public class ServiceProviderLayer {
     private void enumerateProviders() {
         providersByFqcn.clear();
         providersByServiceType.clear();
+        orderedProviders.clear();
+        modificationCount.incrementAndGet();
         var loader = ServiceLoader.load(moduleLayer, ServiceProvider.class);
         loader.forEach(provider -> {
             String moduleName = provider.getClass().getModule().getName();
@@ -426,6 +445,7 @@ public class ServiceProviderLayer {
                     }
                     providers.add(provider);
                 }
+                modificationCount.incrementAndGet();
 
                 getReporter().debug("  Registered " + providerClass.getName());
             }
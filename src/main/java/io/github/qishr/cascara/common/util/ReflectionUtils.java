@@ -16,9 +16,9 @@ public class ReflectionUtils {
                 ParameterizedType parameterizedType = (ParameterizedType) genericFieldType;
                 // Get the actual type arguments
                 Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
-                if (actualTypeArguments.length > 0) {
+                if (actualTypeArguments.length > 0 && actualTypeArguments[0] instanceof Class<?> elementType) {
                     // Return the raw class of the first actual type argument
-                    return (Class<?>) actualTypeArguments[0];
+                    return elementType;
                 }
             }
         }
@@ -1,4 +1,6 @@
 module cascara.common {
+    requires static java.compiler;
+
     uses io.github.qishr.cascara.common.service.ServiceProvider;
 
     exports io.github.qishr.cascara.common.data;
@@ -6,12 +8,16 @@ module cascara.common {
     exports io.github.qishr.cascara.common.diagnostic;
     exports io.github.qishr.cascara.common.diagnostic.code;
     exports io.github.qishr.cascara.common.lang.annotation;
+    exports io.github.qishr.cascara.common.lang.arena;
     exports io.github.qishr.cascara.common.lang.ast;
     exports io.github.qishr.cascara.common.lang.streaming;
     exports io.github.qishr.cascara.common.lang.exception;
+    exports io.github.qishr.cascara.common.lang.frozen;
+    exports io.github.qishr.cascara.common.lang.persistent;
     exports io.github.qishr.cascara.common.lang.processor;
     exports io.github.qishr.cascara.common.lang.reference;
     exports io.github.qishr.cascara.common.lang.semantic;
+    exports io.github.qishr.cascara.common.lang.snapshot;
     exports io.github.qishr.cascara.common.lang.token;
     exports io.github.qishr.cascara.common.lang.type;
     exports io.github.qishr.cascara.common.lang.util;
@@ -28,4 +34,7 @@ module cascara.common {
              io.github.qishr.cascara.common.lang.type.PathTypeDescriptor,
              io.github.qishr.cascara.common.lang.type.UriTypeDescriptor,
              io.github.qishr.cascara.common.lang.type.UuidTypeDescriptor;
+
+    provides javax.annotation.processing.Processor
+        with io.github.qishr.cascara.common.lang.annotation.processing.SerializableProcessor;
 }
@@ -0,0 +1,162 @@
+package io.github.qishr.cascara.common.lang.annotation.processing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.qishr.cascara.common.lang.processor.GeneratedSerializer;
+import io.github.qishr.cascara.common.lang.processor.ReferenceSerializer;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+import io.github.qishr.cascara.common.lang.util.AstStructure;
+
+public class SerializableProcessorTests {
+
+    private static final String POINT = """
+        package sample;
+
+        import java.util.LinkedHashMap;
+        import java.util.List;
+        import java.util.Map;
+        import io.github.qishr.cascara.common.lang.annotation.*;
+
+        @Serializable
+        public class Point {
+            @DataField(key = "x-pos")
+            public int x;
+            public long id;
+            public boolean visible;
+            public float scale;
+            public String label;
+            public List<String> tags;
+            @DataIgnore
+            public String scratch;
+
+            public Map<String,Object> extra = new LinkedHashMap<>();
+
+            @AnySetter
+            public void put(String key, Object value) {
+                extra.put(key, value);
+            }
+
+            @AnyGetter
+            public Map<String,Object> getExtra() {
+                return extra;
+            }
+        }
+        """;
+
+    private static final String HIDDEN = """
+        package sample;
+
+        import io.github.qishr.cascara.common.lang.annotation.Serializable;
+
+        @Serializable
+        public class Hidden {
+            private int x;
+        }
+        """;
+
+    private static final String VERSIONED = """
+        package sample;
+
+        import io.github.qishr.cascara.common.lang.annotation.Serializable;
+
+        @Serializable
+        public class Versioned {
+            public static String version = "1";
+            public String name;
+        }
+        """;
+
+    @TempDir
+    Path dir;
+
+    /// Compiles the sources with the processor and returns the output directory.
+    private Path compile(String... sources) throws Exception {
+        Path src = Files.createDirectories(dir.resolve("src/sample"));
+        Path out = Files.createDirectories(dir.resolve("out"));
+        List<String> args = new ArrayList<>(List.of(
+            "-classpath", System.getProperty("java.class.path"),
+            "-processor", SerializableProcessor.class.getName(),
+            "-d", out.toString(), "-s", out.toString()));
+        for (String source : sources) {
+            String name = source.substring(source.indexOf("class ") + 6, source.indexOf(" {")).trim();
+            Path file = src.resolve(name + ".java");
+            Files.writeString(file, source);
+            args.add(file.toString());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int status = compiler.run(null, null, null, args.toArray(String[]::new));
+        assertEquals(0, status, "compilation failed");
+        return out;
+    }
+
+    @Test
+    void generatesAndRegistersSerializer() throws Exception {
+        Path out = compile(POINT, HIDDEN, VERSIONED);
+
+        assertTrue(Files.exists(out.resolve("sample/Point_Serializer.java")));
+        assertFalse(Files.exists(out.resolve("sample/Hidden_Serializer.java")));
+        // Reflection binds static fields, so generated code would write other keys
+        assertFalse(Files.exists(out.resolve("sample/Versioned_Serializer.java")));
+        String services = Files.readString(out.resolve("META-INF/services/io.github.qishr.cascara.common.service.ServiceProvider"));
+        assertEquals("sample.Point_Serializer", services.trim());
+    }
+
+    @Test
+    void generatedSerializerRoundTrips() throws Exception {
+        Path out = compile(POINT);
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { out.toUri().toURL() }, getClass().getClassLoader())) {
+            Class<?> pointType = loader.loadClass("sample.Point");
+            GeneratedSerializer<?> generated = (GeneratedSerializer<?>) loader.loadClass("sample.Point_Serializer")
+                .getConstructor().newInstance();
+            assertEquals(pointType, generated.getJvmType());
+
+            ReferenceSerializer serializer = new ReferenceSerializer();
+            serializer.registerTypeDescriptor(generated);
+
+            ReferenceMapNode root = new ReferenceMapNode();
+            root.put("x-pos", ReferenceScalarNode.of(3));
+            root.put("id", "12");
+            root.put("visible", ReferenceScalarNode.of(true));
+            root.put("scale", new ReferenceScalarNode(0.5));
+            root.put("label", "origin");
+            root.put("tags", new ReferenceSequenceNode().add(new ReferenceScalarNode("a")));
+            root.put("scratch", "ignored");
+            root.put("color", "red");
+
+            Object point = serializer.fromAst(root, pointType);
+
+            assertEquals(3, pointType.getField("x").getInt(point));
+            assertEquals(12L, pointType.getField("id").getLong(point));
+            assertTrue(pointType.getField("visible").getBoolean(point));
+            assertEquals(0.5f, pointType.getField("scale").getFloat(point));
+            assertEquals("origin", pointType.getField("label").get(point));
+            assertEquals(List.of("a"), pointType.getField("tags").get(point));
+            assertEquals(Map.of("scratch", "ignored", "color", "red"), pointType.getField("extra").get(point));
+
+            ReferenceMapNode written = (ReferenceMapNode) serializer.toAst(point);
+
+            assertTrue(((ReferenceScalarNode) written.get("x-pos")).isUnboxed());
+            assertEquals(12L, ((ReferenceScalarNode) written.get("id")).asLong());
+            assertEquals("red", ((ReferenceScalarNode) written.get("color")).asString());
+            assertTrue(AstStructure.equals(new ReferenceSerializer().toAst(point), written));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.qishr.cascara.common.lang.arena;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+import io.github.qishr.cascara.common.lang.util.AstStructure;
+
+public class AstArenaTests {
+
+    @Test
+    void copiesReferenceTree() {
+        ReferenceSequenceNode ports = new ReferenceSequenceNode();
+        ports.add(new ReferenceScalarNode(80));
+        ports.add(new ReferenceScalarNode(443L));
+        ReferenceMapNode source = new ReferenceMapNode();
+        source.put("name", "demo");
+        source.put("ratio", new ReferenceScalarNode(0.25));
+        source.put("ports", ports);
+
+        AstArena arena = AstArena.copyOf(source);
+        ArenaMapNode root = (ArenaMapNode) arena.getRoot();
+
+        assertTrue(AstStructure.equals(source, root));
+        assertEquals(443L, ((ArenaScalarNode) root.getSequence("ports").get(1)).getPrimitive());
+        assertEquals(0.25, root.getDouble("ratio"));
+    }
+
+    @Test
+    void buildsAndEditsThroughFactory() {
+        AstArena arena = new AstArena();
+        ArenaSequenceNode items = arena.createSequenceNode();
+        for (int i = 0; i < 5; i++) items.add(arena.createScalarNode(i));
+        ArenaMapNode root = arena.createMapNode();
+        root.put("items", items);
+        root.put("name", "first");
+        arena.setRoot(root);
+
+        root.put("name", "second");
+        items.remove(2);
+        items.set(0, arena.createScalarNode("zero"));
+
+        assertEquals("second", root.getString("name"));
+        assertEquals(4, items.size());
+        assertEquals("zero", items.get(0).asString());
+        assertEquals("3", items.get(2).asString());
+        // Map values hang off their entry
+        assertEquals(root, items.getParent().getParent());
+
+        root.remove("name");
+        assertNull(root.get("name"));
+        assertEquals(1, root.size());
+    }
+
+    @Test
+    void indexesChildrenBuiltInParseOrder() {
+        // A parser completes each element, with its own children, before adding it
+        AstArena arena = new AstArena();
+        ArenaSequenceNode items = arena.createSequenceNode();
+        for (int i = 0; i < 100; i++) {
+            ArenaMapNode item = arena.createMapNode();
+            item.put("id", arena.createScalarNode(i));
+            items.add(item);
+        }
+        arena.setRoot(items);
+
+        assertEquals(42, ((ArenaMapNode) items.get(42)).getInteger("id"));
+        items.add(arena.createScalarNode("last"));
+        assertEquals("last", items.get(100).asString());
+        items.remove(0);
+        assertEquals(99, ((ArenaMapNode) items.get(98)).getInteger("id"));
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.qishr.cascara.common.lang.frozen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+import io.github.qishr.cascara.common.lang.util.AstStructure;
+
+public class FrozenInternerTests {
+
+    /// Returns `{ host: <host>, port: 8080 }`.
+    private static ReferenceMapNode block(String host) {
+        ReferenceMapNode map = new ReferenceMapNode();
+        map.put("host", new ReferenceScalarNode(host));
+        map.put("port", new ReferenceScalarNode(8080));
+        return map;
+    }
+
+    @Test
+    void sharesEqualSubtrees() {
+        ReferenceSequenceNode source = new ReferenceSequenceNode()
+            .add(block("localhost")).add(block("localhost")).add(block("example.org"));
+        FrozenInterner interner = new FrozenInterner();
+
+        FrozenSequenceNode frozen = (FrozenSequenceNode) FrozenNode.freeze(source, interner);
+
+        assertSame(frozen.get(0), frozen.get(1));
+        assertNotSame(frozen.get(0), frozen.get(2));
+        // All seven nodes of the second block, and the third block's keys and port entry
+        assertEquals(11, interner.getSharedCount());
+        assertTrue(interner.getEstimatedBytesSaved() > 0);
+    }
+
+    @Test
+    void sharesAcrossTrees() {
+        FrozenInterner interner = new FrozenInterner();
+        FrozenNode first = FrozenNode.freeze(block("localhost"), interner);
+
+        assertSame(first, FrozenNode.freeze(block("localhost"), interner));
+        assertSame(first, FrozenNode.freeze(FrozenNode.freeze(block("localhost")), interner));
+    }
+
+    @Test
+    void distinguishesPrimitiveTypes() {
+        assertTrue(AstStructure.hash(new ReferenceScalarNode(1)) != AstStructure.hash(new ReferenceScalarNode("1")));
+        assertTrue(!AstStructure.equals(new ReferenceScalarNode(1), new ReferenceScalarNode(1L)));
+    }
+}
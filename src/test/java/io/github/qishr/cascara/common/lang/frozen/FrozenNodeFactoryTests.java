@@ -0,0 +1,55 @@
+package io.github.qishr.cascara.common.lang.frozen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.util.AstStructure;
+
+public class FrozenNodeFactoryTests {
+
+    /// Builds `{ host: <host>, port: 8080 }` the way a parser would.
+    private static FrozenMapNode block(FrozenNodeFactory factory, String host) {
+        return factory.createMapNode(
+            List.of(factory.createScalarKeyNode("host"), factory.createScalarKeyNode("port")),
+            List.of(factory.createScalarNode(host), factory.createIntegerNode(8080)));
+    }
+
+    @Test
+    void sharesSubtreesAsTheyAreBuilt() {
+        FrozenNodeFactory factory = new FrozenNodeFactory();
+
+        FrozenMapNode first = block(factory, "localhost");
+        FrozenSequenceNode list = factory.createSequenceNode(List.of(first, block(factory, "localhost")));
+
+        assertSame(first, list.get(1));
+        assertSame(first.get("port"), block(factory, "example.org").get("port"));
+        assertEquals(AstStructure.hash(list), list.getStructuralHash());
+    }
+
+    @Test
+    void sharesWithFrozenTrees() {
+        FrozenInterner interner = new FrozenInterner();
+        ReferenceMapNode source = new ReferenceMapNode();
+        source.put("host", new ReferenceScalarNode("localhost"));
+        source.put("port", new ReferenceScalarNode(8080));
+
+        FrozenNode frozen = FrozenNode.freeze(source, interner);
+
+        assertSame(frozen, block(new FrozenNodeFactory(interner), "localhost"));
+    }
+
+    @Test
+    void rejectsUnpairedKeys() {
+        FrozenNodeFactory factory = new FrozenNodeFactory();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> factory.createMapNode(List.of(factory.createScalarKeyNode("a")), List.of()));
+    }
+}
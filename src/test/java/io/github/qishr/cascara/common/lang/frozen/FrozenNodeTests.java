@@ -0,0 +1,58 @@
+package io.github.qishr.cascara.common.lang.frozen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+
+public class FrozenNodeTests {
+
+    private static ReferenceMapNode document() {
+        ReferenceMapNode root = new ReferenceMapNode();
+        for (int i = 0; i < 20; i++) root.put("key" + i, new ReferenceScalarNode(i));
+        ReferenceSequenceNode list = new ReferenceSequenceNode();
+        list.add(new ReferenceScalarNode("a"));
+        root.put("list", list);
+        return root;
+    }
+
+    @Test
+    void freezesIndependentlyOfSource() {
+        ReferenceMapNode source = document();
+        FrozenMapNode frozen = (FrozenMapNode) source.freeze();
+
+        source.put("key3", "changed");
+        assertEquals(3, frozen.getInteger("key3"));
+        assertEquals("a", frozen.getSequence("list").get(0).asString());
+        assertSame(frozen, FrozenNode.freeze(frozen));
+    }
+
+    @Test
+    void equalTreesAreEqualAndImmutable() {
+        FrozenNode a = document().freeze();
+        FrozenNode b = document().freeze();
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertThrows(UnsupportedOperationException.class, () -> ((FrozenMapNode) a).put("x", "y"));
+        assertThrows(UnsupportedOperationException.class, () -> ((FrozenMapNode) a).getEntries().clear());
+    }
+
+    @Test
+    void readsScalarsWithDefaults() {
+        FrozenScalarNode flag = (FrozenScalarNode) FrozenNode.freeze(new ReferenceScalarNode(" TRUE "));
+        FrozenScalarNode word = (FrozenScalarNode) FrozenNode.freeze(new ReferenceScalarNode("yes"));
+
+        assertTrue(flag.asBoolean(false));
+        assertTrue(word.asBoolean(true));
+        assertFalse(word.asBoolean(false));
+        assertEquals(7, word.asInteger(7));
+    }
+}
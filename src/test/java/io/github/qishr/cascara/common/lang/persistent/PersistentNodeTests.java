@@ -0,0 +1,97 @@
+package io.github.qishr.cascara.common.lang.persistent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+
+public class PersistentNodeTests {
+
+    private static int intAt(PersistentSequenceNode sequence, int index) {
+        return ((PersistentScalarNode) sequence.get(index)).asInteger();
+    }
+
+    @Test
+    void updatesLeaveOldVersionsUnchanged() {
+        ReferenceMapNode source = new ReferenceMapNode();
+        ReferenceMapNode server = new ReferenceMapNode();
+        server.put("port", new ReferenceScalarNode(80));
+        source.put("server", server);
+        ReferenceSequenceNode tags = new ReferenceSequenceNode();
+        tags.add(new ReferenceScalarNode("a"));
+        source.put("tags", tags);
+
+        PersistentNode v1 = PersistentNode.of(source);
+        PersistentNode v2 = v1.setIn(List.of("server", "port"), PersistentScalarNode.of(8080));
+        PersistentNode v3 = v2.setIn(List.of("tags", 1), PersistentScalarNode.of("b"));
+
+        assertEquals("80", v1.getIn(List.of("server", "port")).asString());
+        assertEquals("8080", v2.getIn(List.of("server", "port")).asString());
+        assertEquals(1, ((PersistentSequenceNode) v2.getIn(List.of("tags"))).size());
+        assertEquals("b", v3.getIn(List.of("tags", 1)).asString());
+        // Untouched subtrees are shared
+        assertSame(v1.getIn(List.of("tags")), v2.getIn(List.of("tags")));
+    }
+
+    @Test
+    void manyPutsAndRemoves() {
+        PersistentMapNode map = PersistentMapNode.empty();
+        for (int i = 0; i < 2000; i++) map = map.put("k" + i, PersistentScalarNode.of(i));
+        PersistentMapNode full = map;
+        for (int i = 0; i < 2000; i += 2) map = map.remove("k" + i);
+
+        assertEquals(2000, full.size());
+        assertEquals(1000, map.size());
+        assertEquals(4, full.getInteger("k4"));
+        assertFalse(map.containsKey("k4"));
+        assertEquals(5, map.getInteger("k5"));
+        assertEquals("k1", map.getEntries().get(0).getKey().asString());
+        assertEquals("k1999", map.getEntries().get(999).getKey().asString());
+
+        map = map.put("k4", PersistentScalarNode.of("back"));
+        assertEquals("k4", map.getEntries().get(1000).getKey().asString());
+        assertNull(PersistentMapNode.empty().get("k4"));
+    }
+
+    @Test
+    void sequenceGrowsAndShrinks() {
+        PersistentSequenceNode sequence = PersistentSequenceNode.empty();
+        for (int i = 0; i < 1100; i++) sequence = sequence.add(PersistentScalarNode.of(i));
+        PersistentSequenceNode full = sequence;
+        for (int i = 0; i < 100; i++) sequence = sequence.remove(sequence.size() - 1);
+
+        assertEquals(1100, full.size());
+        assertEquals(1000, sequence.size());
+        assertEquals(1099, intAt(full, 1099));
+        assertEquals(999, intAt(sequence, 999));
+        assertEquals(-1, intAt(sequence.set(33, PersistentScalarNode.of(-1)).add(0, PersistentScalarNode.of(0)), 34));
+        assertEquals(33, intAt(sequence, 33));
+        assertEquals(1, intAt(sequence.remove(0), 0));
+    }
+
+    @Test
+    void rootUpdatesAreAtomic() throws InterruptedException {
+        PersistentRoot root = new PersistentRoot(PersistentMapNode.empty().put("count", PersistentScalarNode.of(0)));
+        Runnable increment = () -> {
+            for (int i = 0; i < 500; i++) {
+                root.update(node -> ((PersistentMapNode) node).put("count",
+                    PersistentScalarNode.of(((PersistentMapNode) node).getInteger("count") + 1)));
+            }
+        };
+        Thread a = new Thread(increment);
+        Thread b = new Thread(increment);
+        a.start();
+        b.start();
+        a.join();
+        b.join();
+        assertEquals(1000, ((PersistentMapNode) root.get()).getInteger("count"));
+    }
+}
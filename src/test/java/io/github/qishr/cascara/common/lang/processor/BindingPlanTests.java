@@ -0,0 +1,205 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.annotation.AnyGetter;
+import io.github.qishr.cascara.common.lang.annotation.AnySetter;
+import io.github.qishr.cascara.common.lang.annotation.DataField;
+import io.github.qishr.cascara.common.lang.annotation.DataIgnore;
+import io.github.qishr.cascara.common.lang.annotation.Serializable;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapEntryNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+
+public class BindingPlanTests {
+
+    @Serializable
+    public static class Server {
+        @DataField(key = "host-name")
+        public String host;
+        public int port;
+        public List<String> tags;
+        @DataIgnore
+        public String secret;
+
+        private final Map<String,Object> extra = new LinkedHashMap<>();
+
+        @AnySetter
+        public void set(String key, Object value) {
+            extra.put(key, value);
+        }
+
+        @AnyGetter
+        public Map<String,Object> getExtra() {
+            return extra;
+        }
+    }
+
+    @Serializable
+    public static class Sample {
+        public int count;
+        public long stamp;
+        public double ratio;
+        public boolean enabled;
+        public float scale;
+    }
+
+    /// More keys of one length than a perfect hash is built for.
+    @Serializable
+    public static class Wide {
+        public String k00, k01, k02, k03, k04, k05, k06, k07, k08, k09,
+            k10, k11, k12, k13, k14, k15, k16, k17, k18, k19,
+            k20, k21, k22, k23, k24, k25, k26, k27, k28, k29,
+            k30, k31, k32, k33, k34, k35, k36, k37, k38, k39;
+    }
+
+    @Test
+    void bindsKeysFromPlan() {
+        ReferenceMapNode root = new ReferenceMapNode();
+        root.put("host-name", "example.org");
+        root.put("port", new ReferenceScalarNode(8080));
+        root.put("tags", new ReferenceSequenceNode()
+            .add(new ReferenceScalarNode("a"))
+            .add(new ReferenceScalarNode("b")));
+        root.put("secret", "hunter2");
+        root.put("region", "eu");
+
+        Server server = new ReferenceSerializer().fromAst(root, Server.class);
+
+        assertEquals("example.org", server.host);
+        assertEquals(8080, server.port);
+        assertEquals(List.of("a", "b"), server.tags);
+        assertNull(server.secret);
+        assertEquals(Map.of("secret", "hunter2", "region", "eu"), server.extra);
+    }
+
+    @Test
+    void bindsFirstOfRepeatedKeys() {
+        ReferenceMapNode root = new ReferenceMapNode();
+        root.addEntry(new ReferenceMapEntryNode(new ReferenceScalarNode("port"), ReferenceScalarNode.of(1)));
+        root.addEntry(new ReferenceMapEntryNode(new ReferenceScalarNode("zone"), new ReferenceScalarNode("a")));
+        root.addEntry(new ReferenceMapEntryNode(new ReferenceScalarNode("port"), ReferenceScalarNode.of(2)));
+
+        Server server = new ReferenceSerializer().fromAst(root, Server.class);
+
+        assertEquals(1, server.port);
+        assertEquals(Map.of("zone", "a"), server.extra);
+    }
+
+    @Test
+    void matchesKeysThroughPlan() {
+        BindingPlan plan = new ReferenceSerializer().getBindingPlan(Server.class);
+
+        assertEquals("host", plan.propertiesFor("host-name")[0].getName());
+        assertNull(plan.propertiesFor("host"));
+        assertNull(plan.propertiesFor("secret"));
+    }
+
+    @Test
+    void writesKeysFromPlan() {
+        Server server = new Server();
+        server.host = "example.org";
+        server.port = 80;
+        server.secret = "hunter2";
+        server.set("region", "eu");
+
+        ReferenceMapNode root = (ReferenceMapNode) new ReferenceSerializer().toAst(server);
+
+        assertEquals("example.org", ((ReferenceScalarNode) root.get("host-name")).asString());
+        assertFalse(root.containsKey("host"));
+        assertFalse(root.containsKey("secret"));
+        assertEquals("eu", ((ReferenceScalarNode) root.get("region")).asString());
+        ReferenceNode port = root.get("port");
+        assertEquals(80, ((ReferenceScalarNode) port).asInteger());
+    }
+
+    @Test
+    void reusesPlanPerClass() {
+        ReferenceSerializer serializer = new ReferenceSerializer();
+        BindingPlan plan = serializer.getBindingPlan(Server.class);
+
+        assertSame(plan, serializer.getBindingPlan(Server.class));
+        assertTrue(plan.keys.contains("host-name"));
+        assertFalse(plan.keys.contains("secret"));
+        assertEquals(1, plan.anyGetters.size());
+        assertEquals(1, plan.anySetters.size());
+        assertEquals(String.class, plan.properties.get(2).genericType.elementType().raw);
+    }
+
+    @Test
+    void bindsPrimitiveFieldsUnboxed() {
+        ReferenceMapNode root = new ReferenceMapNode();
+        root.put("count", ReferenceScalarNode.of(42));
+        root.put("stamp", ReferenceScalarNode.of(10_000_000_000L));
+        root.put("ratio", ReferenceScalarNode.of(0.25));
+        root.put("enabled", ReferenceScalarNode.of(true));
+        root.put("scale", new ReferenceScalarNode(1.5));
+
+        Sample sample = new ReferenceSerializer().fromAst(root, Sample.class);
+
+        assertEquals(42, sample.count);
+        assertEquals(10_000_000_000L, sample.stamp);
+        assertEquals(0.25, sample.ratio);
+        assertTrue(sample.enabled);
+        assertEquals(1.5f, sample.scale);
+    }
+
+    @Test
+    void bindsBoxedValuesIntoPrimitiveFields() {
+        ReferenceMapNode root = new ReferenceMapNode();
+        root.put("count", "7");
+        root.put("stamp", ReferenceScalarNode.of(3));
+        root.put("enabled", "true");
+
+        Sample sample = new ReferenceSerializer().fromAst(root, Sample.class);
+
+        assertEquals(7, sample.count);
+        assertEquals(3L, sample.stamp);
+        assertTrue(sample.enabled);
+    }
+
+    @Test
+    void writesPrimitiveFieldsUnboxed() {
+        Sample sample = new Sample();
+        sample.count = 3;
+        sample.stamp = 4L;
+        sample.ratio = 0.5;
+        sample.enabled = true;
+
+        ReferenceMapNode root = (ReferenceMapNode) new ReferenceSerializer().toAst(sample);
+
+        for (String key : List.of("count", "stamp", "ratio", "enabled")) {
+            assertTrue(((ReferenceScalarNode) root.get(key)).isUnboxed(), key);
+        }
+        assertEquals(4L, ((ReferenceScalarNode) root.get("stamp")).asLong());
+        assertEquals(0.5, ((ReferenceScalarNode) root.get("ratio")).asDouble());
+        assertTrue(((ReferenceScalarNode) root.get("enabled")).asBoolean());
+    }
+
+    @Test
+    void bindsManyKeysThroughMap() {
+        ReferenceMapNode root = new ReferenceMapNode();
+        root.put("k00", "first");
+        root.put("k39", "last");
+
+        Wide wide = new ReferenceSerializer().fromAst(root, Wide.class);
+
+        assertEquals("first", wide.k00);
+        assertEquals("last", wide.k39);
+        BindingPlan plan = new ReferenceSerializer().getBindingPlan(Wide.class);
+        assertEquals("k17", plan.propertiesFor("k17")[0].getName());
+        assertNull(plan.propertiesFor("k40"));
+    }
+}
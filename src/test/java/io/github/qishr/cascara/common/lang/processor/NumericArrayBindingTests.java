@@ -0,0 +1,36 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.annotation.Serializable;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+
+public class NumericArrayBindingTests {
+
+    @Serializable
+    public static class Series {
+        public int[] counts;
+        public long[] stamps;
+        public double[] values;
+    }
+
+    @Test
+    void bindsPackedAndListSequences() {
+        ReferenceMapNode root = new ReferenceMapNode();
+        root.put("counts", ReferenceSequenceNode.ofLongs(new long[] { 1, 2, 3 }));
+        root.put("stamps", ReferenceSequenceNode.ofLongs(new long[] { 10_000_000_000L, 2 }));
+        root.put("values", new ReferenceSequenceNode()
+            .add(new ReferenceScalarNode(1.5))
+            .add(new ReferenceScalarNode(2)));
+
+        Series series = new ReferenceSerializer().fromAst(root, Series.class);
+
+        assertArrayEquals(new int[] { 1, 2, 3 }, series.counts);
+        assertArrayEquals(new long[] { 10_000_000_000L, 2 }, series.stamps);
+        assertArrayEquals(new double[] { 1.5, 2.0 }, series.values);
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.ast.AstNode;
+import io.github.qishr.cascara.common.lang.exception.ParserException;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+
+public class PathCompilerTests {
+
+    private static ReferenceMapNode document() {
+        ReferenceMapNode root = new ReferenceMapNode();
+        ReferenceSequenceNode servers = new ReferenceSequenceNode();
+        for (int i = 0; i < 3; i++) {
+            ReferenceMapNode server = new ReferenceMapNode();
+            server.put("name", "server" + i);
+            for (int k = 0; k < 20; k++) {
+                server.put("key" + k, "value" + k);
+            }
+            servers.add(server);
+        }
+        root.put("servers", servers);
+        root.put("odd.key", "dotted");
+        return root;
+    }
+
+    @Test
+    void cachesPlansByText() {
+        PathCompiler compiler = new PathCompiler(16);
+        assertSame(compiler.compile("$.servers[0].name"), compiler.compile("$.servers[0].name"));
+    }
+
+    @Test
+    void evaluatesKeysAndIndexes() {
+        ReferenceMapNode root = document();
+        PathCompiler compiler = PathCompiler.getDefault();
+
+        assertEquals("server0", compiler.compile("$.servers[0].name").evaluateFirst(root).asString());
+        assertEquals("server2", compiler.compile("servers[-1].name").evaluateFirst(root).asString());
+        assertEquals("value17", compiler.compile("servers[1]['key17']").evaluateFirst(root).asString());
+        assertEquals("dotted", compiler.compile("$['odd.key']").evaluateFirst(root).asString());
+        assertNull(compiler.compile("$.servers[5].name").evaluateFirst(root));
+        assertNull(compiler.compile("$.missing.name").evaluateFirst(root));
+    }
+
+    @Test
+    void evaluatesWildcards() {
+        List<AstNode> names = PathCompiler.getDefault().compile("$.servers[*].name").evaluate(document());
+        assertEquals(3, names.size());
+        assertEquals("server1", names.get(1).asString());
+    }
+
+    @Test
+    void seesMutationsAfterIndexing() {
+        ReferenceMapNode root = document();
+        CompiledPath path = PathCompiler.getDefault().compile("servers[0].key3");
+        assertEquals("value3", path.evaluateFirst(root).asString());
+
+        ReferenceMapNode server = (ReferenceMapNode) ((ReferenceSequenceNode) root.get("servers")).get(0);
+        server.remove("key3");
+        assertNull(path.evaluateFirst(root));
+        server.put("key3", new ReferenceScalarNode("changed"));
+        assertEquals("changed", path.evaluateFirst(root).asString());
+    }
+
+    @Test
+    void rejectsMalformedExpressions() {
+        PathCompiler compiler = PathCompiler.getDefault();
+        assertThrows(ParserException.class, () -> compiler.compile("$.servers[0"));
+        assertThrows(ParserException.class, () -> compiler.compile("$..name"));
+        assertThrows(ParserException.class, () -> compiler.compile("$.servers[x]"));
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.annotation.Serializable;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapEntryNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+import io.github.qishr.cascara.common.lang.util.LazyChildren;
+import io.github.qishr.cascara.common.lang.util.SourceStringBuffer;
+
+public class ProjectionTests {
+
+    @Serializable
+    public static class Item {
+        public String id;
+        public String payload;
+    }
+
+    @Serializable
+    public static class Settings {
+        public String mode;
+    }
+
+    @Serializable
+    public static class Model {
+        public String name;
+        public List<Item> items;
+        public Map<String, Item> routes;
+        public Settings settings;
+    }
+
+    @Serializable
+    public static class ItemView {
+        public String id;
+    }
+
+    public static class ModelView {
+        public String name;
+        public List<ItemView> items;
+        public Map<String, ItemView> routes;
+    }
+
+    private static ReferenceMapNode item(String id) {
+        ReferenceMapNode item = new ReferenceMapNode();
+        item.put("id", id);
+        item.put("payload", "large " + id);
+        return item;
+    }
+
+    private static ReferenceMapNode model(ReferenceMapNode settings) {
+        ReferenceMapNode routes = new ReferenceMapNode();
+        routes.put("home", item("r1"));
+        ReferenceMapNode root = new ReferenceMapNode();
+        root.put("name", "model");
+        root.put("items", new ReferenceSequenceNode().add(item("a")).add(item("b")));
+        root.put("routes", routes);
+        root.put("settings", settings);
+        return root;
+    }
+
+    @Test
+    void bindsProjectedPaths() {
+        ReferenceMapNode settings = new ReferenceMapNode();
+        settings.put("mode", "fast");
+
+        Model model = new ReferenceSerializer().fromAst(model(settings), Model.class,
+            Projection.of("name", "items.id", "routes.*.id"));
+
+        assertEquals("model", model.name);
+        assertEquals("b", model.items.get(1).id);
+        assertNull(model.items.get(1).payload);
+        assertEquals("r1", model.routes.get("home").id);
+        assertNull(model.routes.get("home").payload);
+        assertNull(model.settings);
+    }
+
+    @Test
+    void projectsViewClass() {
+        Projection view = Projection.of(ModelView.class);
+
+        assertEquals("{name, items{id}, routes{*{id}}}", view.toString());
+
+        Model model = new ReferenceSerializer().fromAst(model(new ReferenceMapNode()), Model.class, view);
+
+        assertEquals("a", model.items.get(0).id);
+        assertNull(model.items.get(0).payload);
+    }
+
+    @Test
+    void skipsUnrequestedSubtrees() {
+        boolean[] loaded = new boolean[1];
+        LazyChildren<ReferenceMapEntryNode> deferred = new LazyChildren<>(
+            new SourceStringBuffer("{ mode: fast }"), 1, 13, 1, 2, region -> {
+                loaded[0] = true;
+                return List.of();
+            });
+        ReferenceMapNode settings = new ReferenceMapNode(deferred);
+
+        new ReferenceSerializer().fromAst(model(settings), Model.class, Projection.of("name"));
+
+        assertFalse(loaded[0]);
+        assertFalse(settings.isMaterialized());
+    }
+
+    @Test
+    void rejectsEmptyPaths() {
+        assertThrows(IllegalArgumentException.class, () -> Projection.of("items..id"));
+    }
+
+    @Test
+    void projectsTextThroughParser() {
+        ReferenceSerializer serializer = new ReferenceSerializer();
+        assertThrows(IllegalStateException.class, () -> serializer.fromText("model", Model.class, Projection.of("name")));
+
+        serializer.setParser(new ReferenceSerializer.Parser(text -> model(new ReferenceMapNode())));
+        Model model = serializer.fromText("model", Model.class, Projection.of("name"));
+
+        assertEquals("model", model.name);
+        assertNull(model.items);
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.diagnostic.code.LangDiagnosticCode;
+import io.github.qishr.cascara.common.lang.annotation.Serializable;
+import io.github.qishr.cascara.common.lang.exception.SerializerException;
+import io.github.qishr.cascara.common.lang.reference.ReferenceAliasNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+
+public class ReferencePreservingTests {
+
+    @Serializable
+    public static class Settings {
+        public String mode;
+    }
+
+    @Serializable
+    public static class Service {
+        public String name;
+        public Settings settings;
+        public Service peer;
+    }
+
+    @Serializable
+    public static class Deployment {
+        public List<Service> services;
+    }
+
+    private static Service service(String name, Settings settings) {
+        Service service = new Service();
+        service.name = name;
+        service.settings = settings;
+        return service;
+    }
+
+    @Test
+    void writesSharedObjectsOnce() {
+        Settings settings = new Settings();
+        settings.mode = "fast";
+        Deployment deployment = new Deployment();
+        deployment.services = List.of(service("a", settings), service("b", settings));
+        ReferenceSerializer serializer = new ReferenceSerializer().setPreserveReferences(true);
+
+        ReferenceMapNode root = (ReferenceMapNode) serializer.toAst(deployment);
+
+        ReferenceSequenceNode services = (ReferenceSequenceNode) root.get("services");
+        ReferenceNode first = ((ReferenceMapNode) services.get(0)).get("settings");
+        ReferenceNode second = ((ReferenceMapNode) services.get(1)).get("settings");
+        assertTrue(second instanceof ReferenceAliasNode);
+        assertSame(first, ((ReferenceAliasNode) second).resolve());
+        assertEquals("ref1", first.getAnchor());
+
+        Deployment copy = serializer.fromAst(root, Deployment.class);
+
+        assertSame(copy.services.get(0).settings, copy.services.get(1).settings);
+        assertEquals("fast", copy.services.get(1).settings.mode);
+    }
+
+    @Test
+    void writesCycles() {
+        Service a = service("a", null);
+        Service b = service("b", null);
+        a.peer = b;
+        b.peer = a;
+        Deployment deployment = new Deployment();
+        deployment.services = List.of(a, b);
+        ReferenceSerializer serializer = new ReferenceSerializer().setPreserveReferences(true);
+
+        Deployment copy = serializer.fromAst(serializer.toAst(deployment), Deployment.class);
+
+        Service copyA = copy.services.get(0);
+        assertSame(copyA, copyA.peer.peer);
+        assertSame(copy.services.get(1), copyA.peer);
+    }
+
+    @Test
+    void resolvesReferencesWithoutPreserving() {
+        Settings settings = new Settings();
+        settings.mode = "slow";
+        Deployment deployment = new Deployment();
+        deployment.services = List.of(service("a", settings), service("b", settings));
+        ReferenceNode root = new ReferenceSerializer().setPreserveReferences(true).toAst(deployment);
+
+        Deployment copy = new ReferenceSerializer().fromAst(root, Deployment.class);
+
+        assertNotSame(copy.services.get(0).settings, copy.services.get(1).settings);
+        assertEquals("slow", copy.services.get(1).settings.mode);
+    }
+
+    @Test
+    void rejectsCyclesWithoutPreserving() {
+        Service service = service("self", null);
+        service.peer = service;
+        ReferenceNode root = new ReferenceSerializer().setPreserveReferences(true).toAst(service);
+
+        SerializerException e = assertThrows(SerializerException.class,
+            () -> new ReferenceSerializer().fromAst(root, Service.class));
+
+        assertEquals(LangDiagnosticCode.CYCLIC_REFERENCE, e.getCode());
+    }
+}
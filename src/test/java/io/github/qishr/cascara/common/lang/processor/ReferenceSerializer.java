@@ -0,0 +1,212 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Function;
+
+import io.github.qishr.cascara.common.diagnostic.Reporter;
+import io.github.qishr.cascara.common.lang.ast.AstNodeFactory;
+import io.github.qishr.cascara.common.lang.reference.ReferenceAliasNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapEntryNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+import io.github.qishr.cascara.common.lang.token.Token;
+import io.github.qishr.cascara.common.lang.type.Primitive;
+import io.github.qishr.cascara.common.lang.type.PrimitiveDelegate;
+import io.github.qishr.cascara.common.lang.util.LanguageOptions;
+import io.github.qishr.cascara.common.lang.util.QuoteStyle;
+import io.github.qishr.cascara.common.util.ContentType;
+import io.github.qishr.cascara.common.util.Properties;
+
+/// A serializer over the reference nodes, for exercising [AbstractSerializer] without a language.
+public class ReferenceSerializer extends AbstractSerializer<
+    ReferenceSerializer, ReferenceNode, ReferenceScalarNode, ReferenceSequenceNode, ReferenceMapNode, ReferenceMapEntryNode> {
+
+    public ReferenceSerializer() {
+        super("application/x-reference", new Factory(), new Delegate());
+    }
+
+    @Override
+    protected ReferenceSerializer self() {
+        return this;
+    }
+
+    @Override
+    public <C> C fromAst(ReferenceNode astNode, Class<C> jvmType) {
+        return deserialize(astNode, jvmType);
+    }
+
+    @Override
+    public ReferenceNode toAst(Object jvmInstance) {
+        return serialize(jvmInstance);
+    }
+
+    @Override
+    public String toText(Object jvmInstance) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <C> C fromText(String text, Class<C> jvmType) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <C> C fromStream(InputStream is, Class<C> jvmType) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ContentType getContentType() {
+        return null;
+    }
+
+    @Override
+    public ReferenceSerializer setReporter(Reporter reporter) {
+        checkNotFrozen();
+        this.reporter = reporter;
+        return this;
+    }
+
+    @Override
+    public ReferenceSerializer setOptions(LanguageOptions<?> options) {
+        checkNotFrozen();
+        this.options = options;
+        return this;
+    }
+
+    static class Factory implements AstNodeFactory<ReferenceNode, ReferenceScalarNode, ReferenceSequenceNode, ReferenceMapNode, ReferenceMapEntryNode> {
+        @Override
+        public ReferenceScalarNode createScalarNode(Object primitiveValue) {
+            return new ReferenceScalarNode(primitiveValue);
+        }
+
+        @Override
+        public ReferenceScalarNode createScalarNode(Object primitiveValue, QuoteStyle quoteStyle) {
+            return new ReferenceScalarNode(primitiveValue).setQuoteStyle(quoteStyle);
+        }
+
+        @Override
+        public ReferenceScalarNode createScalarNode(Primitive primitive) {
+            return new ReferenceScalarNode(primitive);
+        }
+
+        @Override
+        public ReferenceScalarNode createIntegerNode(int value) {
+            return ReferenceScalarNode.of(value);
+        }
+
+        @Override
+        public ReferenceScalarNode createLongNode(long value) {
+            return ReferenceScalarNode.of(value);
+        }
+
+        @Override
+        public ReferenceScalarNode createDoubleNode(double value) {
+            return ReferenceScalarNode.of(value);
+        }
+
+        @Override
+        public ReferenceScalarNode createBooleanNode(boolean value) {
+            return ReferenceScalarNode.of(value);
+        }
+
+        @Override
+        public ReferenceNode createScalarKeyNode(Object key) {
+            return new ReferenceScalarNode(key);
+        }
+
+        @Override
+        public ReferenceSequenceNode createSequenceNode() {
+            return new ReferenceSequenceNode();
+        }
+
+        @Override
+        public ReferenceMapNode createMapNode() {
+            return new ReferenceMapNode();
+        }
+
+        @Override
+        public boolean supportsReferences() {
+            return true;
+        }
+
+        @Override
+        public ReferenceNode createReferenceNode(String anchor, ReferenceNode target) {
+            target.setAnchor(anchor);
+            return new ReferenceAliasNode(anchor, target);
+        }
+    }
+
+    /// A parser that maps each text to a tree built by the test, for driving the text entry points.
+    static class Parser implements AstParser<ReferenceNode, Token> {
+        private final Function<String,ReferenceNode> trees;
+
+        Parser(Function<String,ReferenceNode> trees) {
+            this.trees = trees;
+        }
+
+        @Override
+        public ReferenceNode parse(String text) {
+            return trees.apply(text);
+        }
+
+        @Override
+        public ReferenceNode parse(InputStream is) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ReferenceNode parse(Tokenizer<Token> tokenizer) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ReferenceNode parse(List<Token> tokens) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ContentType getContentType() {
+            return null;
+        }
+
+        @Override
+        public Properties getServiceProperties() {
+            return new Properties();
+        }
+
+        @Override
+        public Parser setReporter(Reporter reporter) {
+            return this;
+        }
+
+        @Override
+        public Parser setOptions(LanguageOptions<?> options) {
+            return this;
+        }
+    }
+
+    static class Delegate implements PrimitiveDelegate {
+        @Override
+        public QuoteStyle inferQuoteStyle(Object value) {
+            return QuoteStyle.PLAIN;
+        }
+
+        @Override
+        public Object coerceLiteralValue(String text) {
+            return switch (text) {
+                case "true" -> Boolean.TRUE;
+                case "false" -> Boolean.FALSE;
+                default -> null;
+            };
+        }
+
+        @Override
+        public String unescapeQuotedString(String text, QuoteStyle style) {
+            return text;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.annotation.Serializable;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+
+public class ResolvedTypeTests {
+
+    @Serializable
+    public static class Point {
+        public int x;
+    }
+
+    public static class Names extends ArrayList<String> { }
+
+    @Serializable
+    public static class Box<T> {
+        public List<T> items;
+    }
+
+    @Serializable
+    public static class PointBox extends Box<Point> {
+        public List<List<Point>> grid;
+        public Map<String, List<Point>> named;
+        public List<? extends Point> bounded;
+        public Names names;
+    }
+
+    private static ResolvedType typeOf(Class<?> type, String field) {
+        BindingPlan plan = new ReferenceSerializer().getBindingPlan(type);
+        return plan.properties.stream().filter(p -> p.getName().equals(field)).findFirst().orElseThrow().genericType;
+    }
+
+    @Test
+    void resolvesNestedArguments() {
+        assertEquals("List<List<Point>>", typeOf(PointBox.class, "grid").toString());
+        assertEquals(Point.class, typeOf(PointBox.class, "named").mapValueType().elementType().raw);
+        assertEquals(Point.class, typeOf(PointBox.class, "bounded").elementType().raw);
+        assertEquals(String.class, typeOf(PointBox.class, "names").elementType().raw);
+    }
+
+    @Test
+    void resolvesVariablesBoundBySubclass() {
+        assertEquals(Point.class, typeOf(PointBox.class, "items").elementType().raw);
+        // Without a binding, a variable resolves to its bound
+        assertEquals(Object.class, typeOf(Box.class, "items").elementType().raw);
+        assertNull(ResolvedType.of(String.class).as(List.class));
+    }
+
+    @Test
+    void bindsNestedCollections() {
+        ReferenceMapNode point = new ReferenceMapNode();
+        point.put("x", ReferenceScalarNode.of(7));
+        ReferenceMapNode named = new ReferenceMapNode();
+        named.put("a", new ReferenceSequenceNode().add(point));
+        ReferenceMapNode root = new ReferenceMapNode();
+        root.put("grid", new ReferenceSequenceNode().add(new ReferenceSequenceNode().add(point)));
+        root.put("named", named);
+        root.put("items", new ReferenceSequenceNode().add(point));
+
+        PointBox box = new ReferenceSerializer().fromAst(root, PointBox.class);
+
+        assertEquals(7, box.grid.get(0).get(0).x);
+        assertEquals(7, box.named.get("a").get(0).x);
+        assertEquals(7, box.items.get(0).x);
+    }
+}
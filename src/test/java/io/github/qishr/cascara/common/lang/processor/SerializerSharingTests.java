@@ -0,0 +1,74 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.diagnostic.NoOpReporter;
+import io.github.qishr.cascara.common.diagnostic.Reporter;
+import io.github.qishr.cascara.common.lang.annotation.Serializable;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+
+public class SerializerSharingTests {
+
+    @Serializable
+    public static class Item {
+        public String name;
+        public int count;
+    }
+
+    @Test
+    void frozenSerializerRejectsConfiguration() {
+        ReferenceSerializer serializer = new ReferenceSerializer().freeze();
+
+        assertTrue(serializer.isFrozen());
+        assertThrows(IllegalStateException.class, () -> serializer.setReporter(new NoOpReporter()));
+        assertThrows(IllegalStateException.class, () -> serializer.setOptions(null));
+    }
+
+    @Test
+    void contextAppliesToOneCall() {
+        ReferenceSerializer serializer = new ReferenceSerializer();
+        Reporter configured = new NoOpReporter();
+        Reporter perCall = new NoOpReporter();
+        serializer.setReporter(configured).freeze();
+
+        Reporter seen = serializer.withContext(SerializerContext.of(perCall), serializer::getReporter);
+
+        assertSame(perCall, seen);
+        assertSame(configured, serializer.getReporter());
+    }
+
+    @Test
+    void sharedSerializerBindsOnManyThreads() throws Exception {
+        ReferenceSerializer serializer = new ReferenceSerializer().freeze();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Item>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                int count = i;
+                results.add(executor.submit(() -> {
+                    ReferenceMapNode root = new ReferenceMapNode();
+                    root.put("name", "item");
+                    root.put("count", ReferenceScalarNode.of(count));
+                    return serializer.fromAst(root, Item.class);
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i, results.get(i).get().count);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
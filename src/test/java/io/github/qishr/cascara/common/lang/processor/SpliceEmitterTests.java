@@ -0,0 +1,55 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapEntryNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+
+public class SpliceEmitterTests {
+    private static final String SOURCE = "{ name:  \"demo\",  # keep me\n  port: 80 }";
+
+    private static ReferenceNode scalar(Object value, int start, int end) {
+        return new ReferenceScalarNode(value).setSourceSpan(start, end);
+    }
+
+    /// Hand-builds the tree a parser would produce for [#SOURCE].
+    private static ReferenceMapNode parse() {
+        ReferenceMapNode root = new ReferenceMapNode();
+        root.addEntry(entry(scalar("name", 2, 6), scalar("demo", 9, 15)));
+        root.addEntry(entry(scalar("port", 30, 34), scalar(80, 36, 38)));
+        root.setSourceSpan(0, SOURCE.length());
+        root.markClean();
+        return root;
+    }
+
+    private static ReferenceMapEntryNode entry(ReferenceNode key, ReferenceNode value) {
+        ReferenceMapEntryNode entry = new ReferenceMapEntryNode(key, value);
+        entry.setSourceSpan(key.getStartOffset(), value.getEndOffset());
+        return entry;
+    }
+
+    private static final SpliceEmitter.Renderer RENDERER = (node, out) -> out.append(node.asString());
+
+    @Test
+    void cleanTreeIsCopiedVerbatim() {
+        ReferenceMapNode root = parse();
+        assertFalse(root.isDirty());
+        assertEquals(SOURCE, new SpliceEmitter(SOURCE, RENDERER).emit(root));
+    }
+
+    @Test
+    void onlyDirtyScalarIsRendered() {
+        ReferenceMapNode root = parse();
+        ((ReferenceScalarNode) root.get("port")).setPrimitive(8080);
+
+        assertTrue(root.isDirty());
+        assertFalse(root.isModified());
+        assertEquals("{ name:  \"demo\",  # keep me\n  port: 8080 }", new SpliceEmitter(SOURCE, RENDERER).emit(root));
+    }
+}
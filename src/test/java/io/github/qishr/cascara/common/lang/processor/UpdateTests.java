@@ -0,0 +1,161 @@
+package io.github.qishr.cascara.common.lang.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.annotation.Serializable;
+import io.github.qishr.cascara.common.lang.exception.SerializerException;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+
+public class UpdateTests {
+
+    @Serializable
+    public static class Item {
+        public String id;
+
+        static Item of(String id) {
+            Item item = new Item();
+            item.id = id;
+            return item;
+        }
+    }
+
+    @Serializable
+    public static class Settings {
+        public String mode;
+        public int level;
+    }
+
+    @Serializable
+    public static class Config {
+        public String name;
+        public int count;
+        public Settings settings = new Settings();
+        public List<Item> items = new ArrayList<>();
+        public Map<String, Item> routes = new LinkedHashMap<>();
+    }
+
+    private static ReferenceMapNode item(String id) {
+        ReferenceMapNode item = new ReferenceMapNode();
+        item.put("id", id);
+        return item;
+    }
+
+    @Test
+    void mergesInPlace() {
+        Config config = new Config();
+        config.name = "kept";
+        config.settings.level = 3;
+        Settings settings = config.settings;
+        Item first = Item.of("a");
+        config.items.addAll(List.of(first, Item.of("b"), Item.of("c")));
+        Item home = Item.of("h");
+        config.routes.put("home", home);
+        config.routes.put("old", Item.of("o"));
+        List<Item> items = config.items;
+        Map<String, Item> routes = config.routes;
+
+        ReferenceMapNode newSettings = new ReferenceMapNode();
+        newSettings.put("mode", "slow");
+        ReferenceMapNode newRoutes = new ReferenceMapNode();
+        newRoutes.put("home", item("h2"));
+        newRoutes.put("new", item("n"));
+        ReferenceMapNode root = new ReferenceMapNode();
+        root.put("count", ReferenceScalarNode.of(5));
+        root.put("settings", newSettings);
+        root.put("items", new ReferenceSequenceNode().add(item("a2")).add(item("b2")));
+        root.put("routes", newRoutes);
+
+        assertSame(config, new ReferenceSerializer().updateFromAst(root, config));
+
+        assertEquals("kept", config.name);
+        assertEquals(5, config.count);
+        assertSame(settings, config.settings);
+        assertEquals("slow", settings.mode);
+        assertEquals(3, settings.level);
+        assertSame(items, config.items);
+        assertEquals(2, items.size());
+        assertSame(first, items.get(0));
+        assertEquals("a2", first.id);
+        assertSame(routes, config.routes);
+        assertSame(home, routes.get("home"));
+        assertEquals("h2", home.id);
+        assertEquals("n", routes.get("new").id);
+        assertFalse(routes.containsKey("old"));
+    }
+
+    @Test
+    void replacesUnmodifiableCollections() {
+        Config config = new Config();
+        config.items = List.of(Item.of("a"));
+        ReferenceMapNode root = new ReferenceMapNode();
+        root.put("items", new ReferenceSequenceNode().add(item("b")));
+
+        new ReferenceSerializer().updateFromAst(root, config);
+
+        assertEquals("b", config.items.get(0).id);
+    }
+
+    @Test
+    void checksCollectionsBeforeChangingThem() {
+        Config config = new Config();
+        Item first = Item.of("a");
+        config.items = Arrays.asList(first);
+        Item home = Item.of("h");
+        config.routes = Map.of("home", home);
+        ReferenceMapNode routes = new ReferenceMapNode();
+        routes.put("home", item("h2"));
+        ReferenceMapNode root = new ReferenceMapNode();
+        root.put("items", new ReferenceSequenceNode().add(item("b")).add(item("c")));
+        root.put("routes", routes);
+
+        new ReferenceSerializer().updateFromAst(root, config);
+
+        assertEquals("a", first.id);
+        assertEquals("c", config.items.get(1).id);
+        assertEquals("h", home.id);
+        assertEquals("h2", config.routes.get("home").id);
+
+        // A fixed-size list can still be updated when the size stays the same
+        List<Item> items = Arrays.asList(Item.of("x"));
+        config.items = items;
+        root.put("items", new ReferenceSequenceNode().add(item("y")));
+        new ReferenceSerializer().updateFromAst(root, config);
+        assertSame(items, config.items);
+        assertEquals("y", items.get(0).id);
+    }
+
+    @Test
+    void updatesFromTextThroughParser() {
+        Config config = new Config();
+        ReferenceSerializer serializer = new ReferenceSerializer();
+        assertThrows(IllegalStateException.class, () -> serializer.updateFromText("name", config));
+
+        serializer.setParser(new ReferenceSerializer.Parser(text -> {
+            ReferenceMapNode root = new ReferenceMapNode();
+            root.put("name", text);
+            return root;
+        }));
+
+        assertSame(config, serializer.updateFromText("parsed", config));
+        assertEquals("parsed", config.name);
+    }
+
+    @Test
+    void rejectsMismatchedRoot() {
+        assertThrows(SerializerException.class,
+            () -> new ReferenceSerializer().updateFromAst(new ReferenceSequenceNode(), new Config()));
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.qishr.cascara.common.lang.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.reference.ReferenceNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+
+public class NumericSequenceTests {
+
+    private static List<ReferenceNode> scalars(Object... values) {
+        List<ReferenceNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            for (Object value : values) nodes.add(new ReferenceScalarNode(value));
+        }
+        return nodes;
+    }
+
+    @Test
+    void homogeneousSequencesArePacked() {
+        ReferenceSequenceNode ints = ReferenceSequenceNode.of(scalars(1, 2, 3, 4, 5));
+        ReferenceSequenceNode reals = ReferenceSequenceNode.of(scalars(1.5, 2.5, 3.5, 4.5));
+        ReferenceSequenceNode mixed = ReferenceSequenceNode.of(scalars(1, 2.5, 3, 4, 5));
+
+        assertTrue(ints.isPacked());
+        assertTrue(ints.isIntegral());
+        assertEquals(20, ints.size());
+        assertEquals(3L, ints.getLong(2));
+        assertEquals(3, ((ReferenceScalarNode) ints.get(2)).getPrimitive());
+        assertSame(ints.get(2), ints.get(2));
+
+        assertTrue(reals.isPacked());
+        assertEquals(2.5, reals.getDouble(1));
+        assertFalse(mixed.isPacked());
+    }
+
+    @Test
+    void changesThroughElementsAreSeen() {
+        ReferenceSequenceNode sequence = ReferenceSequenceNode.ofLongs(new long[] { 10, 20, 30 });
+        ((ReferenceScalarNode) sequence.get(1)).setLong(25);
+        assertTrue(sequence.isNumeric());
+        assertEquals(25, sequence.getLong(1));
+
+        ((ReferenceScalarNode) sequence.get(0)).setPrimitive("ten");
+        assertFalse(sequence.isNumeric());
+        assertFalse(sequence.isPacked());
+        assertEquals("ten", sequence.get(0).asString());
+        assertEquals(30, sequence.getLong(2));
+    }
+
+    @Test
+    void structuralChangesUnpack() {
+        ReferenceSequenceNode sequence = ReferenceSequenceNode.ofDoubles(new double[] { 1, 2 });
+        sequence.getElements().add(new ReferenceScalarNode("three"));
+        assertFalse(sequence.isPacked());
+        assertEquals(3, sequence.size());
+        assertEquals(2.0, sequence.getDouble(1));
+    }
+
+    @Test
+    void checksIndexesBeforeReadingViews() {
+        ReferenceSequenceNode sequence = ReferenceSequenceNode.ofLongs(new long[] { 1, 2, 3 });
+        sequence.get(0);
+
+        assertEquals(IndexOutOfBoundsException.class,
+            assertThrows(IndexOutOfBoundsException.class, () -> sequence.getLong(3)).getClass());
+        assertEquals(IndexOutOfBoundsException.class,
+            assertThrows(IndexOutOfBoundsException.class, () -> sequence.getDouble(-1)).getClass());
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.qishr.cascara.common.lang.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapEntryNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+
+public class ReferenceMapNodeTests {
+
+    @Test
+    void indexedLookupsKeepInsertionOrder() {
+        ReferenceMapNode map = new ReferenceMapNode();
+        for (int i = 0; i < 1000; i++) {
+            map.put(new ReferenceScalarNode("k" + i), new ReferenceScalarNode(i));
+        }
+        map.put("k10", "replaced");
+        map.remove("k0");
+
+        assertEquals(999, map.size());
+        assertEquals("replaced", map.getString("k10"));
+        assertFalse(map.containsKey("k0"));
+        assertEquals("k1", map.getEntries().get(0).getKey().asString());
+        assertEquals("k999", map.getEntries().get(998).getKey().asString());
+    }
+
+    @Test
+    void removingDuplicateKeyExposesTheNextOne() {
+        ReferenceMapNode map = new ReferenceMapNode();
+        for (int i = 0; i < ReferenceMapNode.INDEX_THRESHOLD; i++) map.put("k" + i, "v" + i);
+        map.addEntry(new ReferenceMapEntryNode("k1", "duplicate"));
+
+        assertEquals("v1", map.getString("k1"));
+        map.remove("k1");
+        assertEquals("duplicate", map.getString("k1"));
+        map.remove("k1");
+        assertNull(map.get("k1"));
+    }
+
+    @Test
+    void changesThroughEntriesAreSeenByLookups() {
+        ReferenceMapNode map = new ReferenceMapNode();
+        for (int i = 0; i < ReferenceMapNode.INDEX_THRESHOLD; i++) map.put("k" + i, "v" + i);
+        assertEquals("v2", map.getString("k2"));
+
+        map.getEntries().set(2, new ReferenceMapEntryNode("k2", "set"));
+        assertEquals("set", map.getString("k2"));
+
+        map.getEntries().add(new ReferenceMapEntryNode("k9", "added"));
+        map.getEntries().remove(0);
+        assertEquals("added", map.getString("k9"));
+        assertNull(map.get("k0"));
+    }
+}
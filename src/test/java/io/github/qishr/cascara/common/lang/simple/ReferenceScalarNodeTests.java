@@ -0,0 +1,116 @@
+package io.github.qishr.cascara.common.lang.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.type.Primitive;
+import io.github.qishr.cascara.common.lang.type.PrimitiveDelegate;
+import io.github.qishr.cascara.common.lang.util.QuoteStyle;
+
+public class ReferenceScalarNodeTests {
+
+    @Test
+    void numbersAndBooleansAreStoredUnboxed() {
+        ReferenceScalarNode small = new ReferenceScalarNode(42);
+        ReferenceScalarNode large = ReferenceScalarNode.of(10_000_000_000L);
+        ReferenceScalarNode real = ReferenceScalarNode.of(2.5);
+        ReferenceScalarNode flag = ReferenceScalarNode.of(true);
+
+        assertTrue(small.isUnboxed());
+        assertEquals(42, small.getPrimitive());
+        assertEquals(10_000_000_000L, large.getPrimitive());
+        assertEquals(10_000_000_000L, large.asLong());
+        assertEquals(2.5, real.getPrimitive());
+        assertEquals(2, real.asInteger());
+        assertEquals(Boolean.TRUE, flag.getPrimitive());
+        assertEquals("true", flag.asString());
+        assertEquals(7, ReferenceScalarNode.of(7L).getPrimitive());
+    }
+
+    @Test
+    void plainPrimitivesAreUnboxed() {
+        Primitive primitive = Primitive.fromString("12", QuoteStyle.PLAIN);
+        ReferenceScalarNode parsed = new ReferenceScalarNode(primitive);
+        ReferenceScalarNode quoted = new ReferenceScalarNode(Primitive.fromString("12", QuoteStyle.DOUBLE));
+
+        assertTrue(parsed.isUnboxed());
+        assertEquals(12, parsed.asInteger());
+        assertEquals(primitive, parsed.getPrimitive());
+        assertEquals(Integer.valueOf(12), ((Primitive) parsed.getPrimitive()).unwrap());
+        assertFalse(quoted.isUnboxed());
+        assertEquals(12, quoted.asInteger());
+    }
+
+    @Test
+    void storedPrimitiveKeepsValueAndText() {
+        Primitive hex = Primitive.fromString("0x1F", QuoteStyle.PLAIN).setDelegate(new HexDelegate());
+        ReferenceScalarNode node = new ReferenceScalarNode(hex);
+
+        assertTrue(node.isUnboxed());
+        assertEquals(31, node.asInteger());
+        assertEquals(31L, node.asLong());
+        assertEquals(hex, node.getPrimitive());
+        assertEquals(hex.asString(), node.asString());
+
+        node.setLong(5);
+        assertEquals(5, node.getPrimitive());
+    }
+
+    @Test
+    void parsedScalarsRetainNoObjects() throws IllegalAccessException {
+        for (Primitive parsed : new Primitive[] {
+                Primitive.fromString("12", QuoteStyle.PLAIN),
+                Primitive.fromString("10000000000", QuoteStyle.PLAIN),
+                Primitive.fromString("2.5", QuoteStyle.PLAIN),
+                Primitive.fromString("0x1F", QuoteStyle.PLAIN).setDelegate(new HexDelegate()),
+                Primitive.of(true) }) {
+            ReferenceScalarNode node = new ReferenceScalarNode(parsed);
+            // Only the primitive fields and the quote style constant hold the value
+            for (Field field : ReferenceScalarNode.class.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()
+                    || field.getType() == QuoteStyle.class) continue;
+                field.setAccessible(true);
+                assertNull(field.get(node), field.getName());
+            }
+        }
+    }
+
+    /// Reads `0x` literals as hexadecimal integers.
+    private static final class HexDelegate implements PrimitiveDelegate {
+        @Override
+        public QuoteStyle inferQuoteStyle(Object value) {
+            return QuoteStyle.PLAIN;
+        }
+
+        @Override
+        public Object coerceLiteralValue(String text) {
+            return text.startsWith("0x") ? Integer.parseInt(text.substring(2), 16) : null;
+        }
+
+        @Override
+        public String unescapeQuotedString(String text, QuoteStyle style) {
+            return text;
+        }
+    }
+
+    @Test
+    void setPrimitiveChangesRepresentation() {
+        ReferenceScalarNode node = ReferenceScalarNode.of(1.0);
+        node.setPrimitive("text");
+        assertFalse(node.isUnboxed());
+        assertEquals("text", node.getPrimitive());
+        assertEquals(-1, node.asLong(-1));
+
+        node.setLong(5);
+        assertEquals(5, node.getPrimitive());
+        assertEquals(5.0, node.asDouble());
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.qishr.cascara.common.lang.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+import io.github.qishr.cascara.common.lang.util.AstStructure;
+
+public class AstSnapshotTests {
+
+    private static ReferenceMapNode document() {
+        ReferenceSequenceNode ports = new ReferenceSequenceNode();
+        ports.add(new ReferenceScalarNode(80));
+        ports.add(new ReferenceScalarNode(-443L));
+        ports.add(new ReferenceScalarNode(0.5));
+        ReferenceMapNode root = new ReferenceMapNode();
+        root.put("name", "café");
+        root.put("enabled", new ReferenceScalarNode(true));
+        root.put("missing", new ReferenceScalarNode(null));
+        root.put("ports", ports);
+        return root;
+    }
+
+    @Test
+    void roundTripsThroughMappedFile() throws Exception {
+        ReferenceMapNode source = document();
+        Path file = Files.createTempFile("ast", ".snapshot");
+        try {
+            new AstSnapshotWriter().setFingerprint(AstSnapshot.fingerprint("text")).write(source, file);
+            AstSnapshot snapshot = AstSnapshot.open(file);
+
+            assertTrue(snapshot.isSnapshotOf("text"));
+            SnapshotMapNode root = (SnapshotMapNode) snapshot.getRoot();
+            assertTrue(AstStructure.equals(source, root));
+            assertEquals("café", root.getString("name"));
+            assertEquals(-443L, ((SnapshotScalarNode) root.getSequence("ports").get(1)).getPrimitive());
+            assertNull(root.get("other"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void looksUpKeysOfLargeMaps() throws Exception {
+        ReferenceMapNode source = new ReferenceMapNode();
+        for (int i = 0; i < 100; i++) source.put("key" + i, new ReferenceScalarNode(i));
+        source.put(new ReferenceScalarNode(5), new ReferenceScalarNode("five"));
+
+        SnapshotMapNode root = (SnapshotMapNode) AstSnapshot.wrap(
+            ByteBuffer.wrap(new AstSnapshotWriter().toBytes(source))).getRoot();
+
+        assertEquals(99, root.getInteger("key99"));
+        assertEquals("five", root.getString("5"));
+        assertNull(root.get("key100"));
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.qishr.cascara.common.lang.type;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.util.QuoteStyle;
+
+public class KeywordMatcherTests {
+
+    private static KeywordMatcher yaml11() {
+        Map<String,Object> keywords = new LinkedHashMap<>();
+        for (String word : new String[] { "y", "Y", "yes", "Yes", "YES", "true", "True", "TRUE", "on", "On", "ON" }) {
+            keywords.put(word, Boolean.TRUE);
+        }
+        for (String word : new String[] { "n", "N", "no", "No", "NO", "false", "False", "FALSE", "off", "Off", "OFF" }) {
+            keywords.put(word, Boolean.FALSE);
+        }
+        keywords.put("~", null);
+        keywords.put("null", null);
+        return KeywordMatcher.of(keywords);
+    }
+
+    @Test
+    void matchesExactKeywordsOnly() {
+        KeywordMatcher matcher = yaml11();
+
+        assertEquals(Boolean.TRUE, matcher.match("Yes"));
+        assertEquals(Boolean.FALSE, matcher.match("OFF"));
+        assertNull(matcher.match("yES"));
+        assertNull(matcher.match("truth"));
+        assertNull(matcher.match(""));
+        assertTrue(matcher.indexOf("~") >= 0);
+        assertEquals("null", matcher.getKeyword(matcher.indexOf("null")));
+        assertEquals(-1, matcher.indexOf("nul"));
+    }
+
+    @Test
+    void matchesCharacterRanges() {
+        KeywordMatcher matcher = KeywordMatcher.of("true", "false");
+        String line = "enabled: true # note";
+
+        assertEquals("true", matcher.match(line, 9, 13));
+        assertFalse(matcher.indexOf(line, 9, 14) >= 0);
+        assertTrue(matcher.contains(new StringBuilder("false")));
+    }
+
+    @Test
+    void delegatesCanDeclareKeywords() {
+        KeywordMatcher keywords = yaml11();
+        PrimitiveDelegate delegate = new PrimitiveDelegate() {
+            @Override
+            public QuoteStyle inferQuoteStyle(Object value) {
+                return QuoteStyle.PLAIN;
+            }
+
+            @Override
+            public Object coerceLiteralValue(String text) {
+                throw new AssertionError("not used when keywords are declared");
+            }
+
+            @Override
+            public String unescapeQuotedString(String text, QuoteStyle style) {
+                return text;
+            }
+
+            @Override
+            public KeywordMatcher getLiteralKeywords() {
+                return keywords;
+            }
+        };
+
+        assertEquals(Boolean.TRUE, Primitive.fromString("on", QuoteStyle.PLAIN).setDelegate(delegate).unwrap());
+        assertEquals(12, Primitive.fromString("12", QuoteStyle.PLAIN).setDelegate(delegate).unwrap());
+    }
+}
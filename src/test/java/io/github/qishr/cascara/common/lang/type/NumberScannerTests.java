@@ -0,0 +1,72 @@
+package io.github.qishr.cascara.common.lang.type;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.util.QuoteStyle;
+
+public class NumberScannerTests {
+
+    @Test
+    void wholeNumbersPickTheSmallestType() {
+        assertEquals(42, NumberScanner.parse("42"));
+        assertEquals(-7, NumberScanner.parse("-7"));
+        assertEquals(5, NumberScanner.parse("+005"));
+        assertEquals(Integer.MIN_VALUE, NumberScanner.parse("-2147483648"));
+        assertEquals(2147483648L, NumberScanner.parse("2147483648"));
+        assertEquals(Long.MAX_VALUE, NumberScanner.parse("9223372036854775807"));
+        assertEquals(Long.MIN_VALUE, NumberScanner.parse("-9223372036854775808"));
+        assertEquals(new BigInteger("9223372036854775808"), NumberScanner.parse("9223372036854775808"));
+        assertEquals(new BigInteger("-123456789012345678901234567890"), NumberScanner.parse("-123456789012345678901234567890"));
+    }
+
+    @Test
+    void decimalsMatchTheJdkParser() {
+        String[] samples = {
+            "1.5", "-0.25", ".5", "5.", "1e10", "2.5E-3", "0.1", "3.141592653589793",
+            "123456789.123456789", "1e-300", "4.9e-324", "1.7976931348623157e308", "0.000001", "-0.0"
+        };
+        for (String sample : samples) {
+            assertEquals(Double.parseDouble(sample), NumberScanner.parse(sample), sample);
+        }
+        assertEquals(Double.POSITIVE_INFINITY, NumberScanner.parse("+Infinity"));
+        assertEquals(Double.NaN, NumberScanner.parse("NaN"));
+        assertEquals(new BigDecimal("1e400"), NumberScanner.parse("1e400"));
+    }
+
+    @Test
+    void hugeExponentsSaturate() {
+        assertEquals(Double.POSITIVE_INFINITY, NumberScanner.parse("1e9999999999"));
+        assertEquals(Double.NEGATIVE_INFINITY, NumberScanner.parse("-1.5E+9999999999"));
+        assertEquals(0.0, NumberScanner.parse("1e-9999999999"));
+        assertEquals(Double.POSITIVE_INFINITY, Primitive.of("1e9999999999").asDouble(0));
+    }
+
+    @Test
+    void rejectsNonNumbers() {
+        for (String sample : new String[] { "", "-", ".", "1e", "1e+", "1.2.3", "12abc", "0x10", "1d", "Infinityx", "v1" }) {
+            assertNull(NumberScanner.parse(sample), sample);
+        }
+        assertEquals(-1, NumberScanner.parseInt("1.5", -1));
+        assertEquals(-1, NumberScanner.parseInt("2147483648", -1));
+        assertEquals(12, NumberScanner.parseInt(" 12\n", -1));
+        assertEquals(2.5, NumberScanner.parseDouble(" 2.5 ", 0));
+        assertEquals(-1, NumberScanner.parseDouble("abc", -1));
+    }
+
+    @Test
+    void primitiveCoercesThroughTheScanner() {
+        assertEquals(12, Primitive.fromString("12", QuoteStyle.PLAIN).unwrap());
+        assertEquals(1.5, Primitive.fromString("1.5", QuoteStyle.PLAIN).unwrap());
+        assertEquals(10000000000L, Primitive.fromString("10000000000", QuoteStyle.PLAIN).unwrap());
+        assertEquals("12abc", Primitive.fromString("12abc", QuoteStyle.PLAIN).unwrap());
+        assertEquals(7, Primitive.of(" 7 ").asInteger(0));
+        assertEquals(3, Primitive.of("three").asInteger(3));
+        assertEquals(0.5, Primitive.of(".5").asDouble(0));
+    }
+}
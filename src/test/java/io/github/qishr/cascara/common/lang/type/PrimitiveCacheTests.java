@@ -0,0 +1,155 @@
+package io.github.qishr.cascara.common.lang.type;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.ast.AstNodeFactory;
+import io.github.qishr.cascara.common.lang.persistent.PersistentScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapEntryNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+import io.github.qishr.cascara.common.lang.util.QuoteStyle;
+
+public class PrimitiveCacheTests {
+
+    private static final PrimitiveDelegate YES_NO = new PrimitiveDelegate() {
+        @Override
+        public QuoteStyle inferQuoteStyle(Object value) {
+            return QuoteStyle.PLAIN;
+        }
+
+        @Override
+        public Object coerceLiteralValue(String text) {
+            return switch (text) {
+                case "yes" -> Boolean.TRUE;
+                case "no" -> Boolean.FALSE;
+                default -> null;
+            };
+        }
+
+        @Override
+        public String unescapeQuotedString(String text, QuoteStyle style) {
+            return text;
+        }
+    };
+
+    @Test
+    void commonNativeValuesAreShared() {
+        assertSame(Primitive.canonical(true), Primitive.canonical(true));
+        assertSame(Primitive.canonical(42), Primitive.canonical(42));
+        assertSame(Primitive.canonical(""), Primitive.canonical(""));
+        assertTrue(Primitive.canonical(null).isShared());
+        assertNotSame(Primitive.canonical(100_000), Primitive.canonical(100_000));
+        assertNotSame(Primitive.canonical("text"), Primitive.canonical("text"));
+        assertFalse(Primitive.of(42).isShared());
+    }
+
+    @Test
+    void parsedLiteralsAreSharedPerDelegate() {
+        Primitive yes = Primitive.fromString("yes", QuoteStyle.PLAIN, YES_NO);
+        assertSame(yes, Primitive.fromString("yes", QuoteStyle.PLAIN, YES_NO));
+        assertEquals(Boolean.TRUE, yes.unwrap());
+        assertSame(Primitive.fromString("7", QuoteStyle.PLAIN, YES_NO), Primitive.fromString("7", QuoteStyle.PLAIN, YES_NO));
+        assertSame(Primitive.fromString("", QuoteStyle.DOUBLE, YES_NO), Primitive.fromString("", QuoteStyle.DOUBLE, YES_NO));
+
+        Primitive word = Primitive.fromString("maybe", QuoteStyle.PLAIN, YES_NO);
+        assertFalse(word.isShared());
+        assertEquals("maybe", word.unwrap());
+    }
+
+    @Test
+    void sharedInstancesAreCopiedOnChange() {
+        Primitive shared = Primitive.canonical(true);
+        Primitive quoted = shared.withQuoteStyle(QuoteStyle.DOUBLE);
+
+        assertNotSame(shared, quoted);
+        assertEquals(QuoteStyle.PLAIN, shared.getQuoteStyle());
+        assertEquals(QuoteStyle.DOUBLE, quoted.getQuoteStyle());
+        assertSame(quoted, quoted.withQuoteStyle(QuoteStyle.DOUBLE));
+        assertThrows(IllegalStateException.class, () -> shared.setQuoteStyle(QuoteStyle.SINGLE));
+        assertThrows(IllegalStateException.class, () -> shared.setDelegate(YES_NO));
+    }
+
+    @Test
+    void unsharedInstancesChangeInPlace() {
+        Primitive primitive = Primitive.of(true);
+        primitive.setQuoteStyle(QuoteStyle.DOUBLE);
+        primitive.setDelegate(YES_NO);
+
+        assertEquals(QuoteStyle.DOUBLE, primitive.getQuoteStyle());
+        assertSame(primitive, primitive.setQuoteStyle(QuoteStyle.SINGLE));
+        assertNotSame(Primitive.of(true), Primitive.of(true));
+    }
+
+    @Test
+    void persistentScalarsShareCommonValues() {
+        assertSame(PersistentScalarNode.of(3), PersistentScalarNode.of(Primitive.of(3)));
+        assertSame(PersistentScalarNode.of(false), PersistentScalarNode.of(3).setPrimitive(false));
+        assertNotSame(PersistentScalarNode.of(3), PersistentScalarNode.of(3, QuoteStyle.DOUBLE));
+    }
+
+    /// Records the primitives it is given, relying on the defaults for everything else.
+    private static final class RecordingFactory implements AstNodeFactory<ReferenceNode, ReferenceScalarNode,
+            ReferenceSequenceNode, ReferenceMapNode, ReferenceMapEntryNode> {
+        final List<Primitive> primitives = new ArrayList<>();
+
+        @Override
+        public ReferenceScalarNode createScalarNode(Object primitiveValue) {
+            return new ReferenceScalarNode(primitiveValue);
+        }
+
+        @Override
+        public ReferenceScalarNode createScalarNode(Object primitiveValue, QuoteStyle quoteStyle) {
+            return new ReferenceScalarNode(primitiveValue).setQuoteStyle(quoteStyle);
+        }
+
+        @Override
+        public ReferenceScalarNode createScalarNode(Primitive primitive) {
+            primitives.add(primitive);
+            return new ReferenceScalarNode(primitive);
+        }
+
+        @Override
+        public ReferenceNode createScalarKeyNode(Object key) {
+            return new ReferenceScalarNode(key);
+        }
+
+        @Override
+        public ReferenceSequenceNode createSequenceNode() {
+            return new ReferenceSequenceNode();
+        }
+
+        @Override
+        public ReferenceMapNode createMapNode() {
+            return new ReferenceMapNode();
+        }
+    }
+
+    @Test
+    void factoriesShareCommonLiterals() {
+        RecordingFactory factory = new RecordingFactory();
+
+        factory.createScalarNode("yes", QuoteStyle.PLAIN, YES_NO);
+        factory.createScalarNode("yes", QuoteStyle.PLAIN, YES_NO);
+        factory.createIntegerNode(7);
+        factory.createIntegerNode(7);
+        factory.createBooleanNode(false);
+
+        List<Primitive> seen = factory.primitives;
+        assertSame(seen.get(0), seen.get(1));
+        assertEquals(Boolean.TRUE, seen.get(0).unwrap());
+        assertSame(seen.get(2), seen.get(3));
+        assertSame(Primitive.canonical(false), seen.get(4));
+    }
+}
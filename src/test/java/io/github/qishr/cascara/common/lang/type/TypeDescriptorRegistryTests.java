@@ -0,0 +1,83 @@
+package io.github.qishr.cascara.common.lang.type;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.service.ServiceProviderLayer;
+
+public class TypeDescriptorRegistryTests {
+
+    public interface Shape { }
+
+    public interface Round extends Shape { }
+
+    public static class Circle implements Round { }
+
+    public static class Base { }
+
+    public static class Derived extends Base implements Shape { }
+
+    public static class ShapeDescriptor extends AbstractTypeDescriptor<Shape> {
+        public ShapeDescriptor() {
+            super(Shape.class, "object");
+        }
+    }
+
+    public static class BaseDescriptor extends AbstractTypeDescriptor<Base> {
+        public BaseDescriptor() {
+            super(Base.class, "object");
+        }
+    }
+
+    @Test
+    void resolvesThroughHierarchy() {
+        ServiceProviderLayer layer = ServiceProviderLayer.getRootLayer().create();
+        layer.registerClass(ShapeDescriptor.class);
+        layer.registerClass(BaseDescriptor.class);
+        TypeDescriptorRegistry registry = TypeDescriptorRegistry.of(layer);
+
+        assertEquals(ShapeDescriptor.class, registry.findProvider(Circle.class).getType());
+        // Superclasses come before interfaces
+        assertEquals(BaseDescriptor.class, registry.findProvider(Derived.class).getType());
+        assertNull(registry.findProvider(String.class));
+    }
+
+    @Test
+    void cachesUntilRegistrationsChange() {
+        ServiceProviderLayer layer = ServiceProviderLayer.getRootLayer().create();
+        TypeDescriptorRegistry registry = TypeDescriptorRegistry.of(layer);
+
+        assertNull(registry.getTypeDescriptor(Circle.class));
+
+        layer.registerClass(ShapeDescriptor.class);
+        TypeDescriptor<?> descriptor = registry.getTypeDescriptor(Circle.class);
+
+        assertEquals(ShapeDescriptor.class, descriptor.getClass());
+        assertSame(descriptor, registry.getTypeDescriptor(Circle.class));
+        assertSame(registry, TypeDescriptorRegistry.of(layer));
+    }
+
+    @Test
+    void releasesRemovedLayers() throws InterruptedException {
+        ServiceProviderLayer parent = ServiceProviderLayer.getRootLayer().create();
+        ServiceProviderLayer layer = parent.create("plugin");
+        layer.registerClass(ShapeDescriptor.class);
+        TypeDescriptorRegistry.of(layer).getTypeDescriptor(Circle.class);
+        WeakReference<ServiceProviderLayer> released = new WeakReference<>(layer);
+        parent.remove("plugin");
+        layer = null;
+
+        for (int i = 0; i < 20 && released.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertTrue(released.get() == null);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.qishr.cascara.common.lang.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+
+public class AstDiffTests {
+
+    private static ReferenceSequenceNode sequence(Object... values) {
+        ReferenceSequenceNode sequence = new ReferenceSequenceNode();
+        for (Object value : values) sequence.add(new ReferenceScalarNode(value));
+        return sequence;
+    }
+
+    private static ReferenceMapNode document(String name, ReferenceSequenceNode tags) {
+        ReferenceMapNode server = new ReferenceMapNode();
+        server.put("host", "localhost");
+        server.put("port", new ReferenceScalarNode(8080));
+        ReferenceMapNode root = new ReferenceMapNode();
+        root.put("name", name);
+        root.put("server", server);
+        root.put("tags", tags);
+        return root;
+    }
+
+    @Test
+    void equalTreesProduceEmptyPatch() {
+        AstPatch patch = new AstDiff().diff(document("a", sequence(1, 2)), document("a", sequence(1, 2)));
+        assertTrue(patch.isEmpty());
+    }
+
+    @Test
+    void patchTurnsSourceIntoTarget() {
+        ReferenceMapNode from = document("a", sequence("x", "y", "z", "w"));
+        ReferenceMapNode to = document("b", sequence("x", "q", "z", "w", "v"));
+        to.remove("server");
+        to.put("extra", "1");
+
+        AstPatch patch = new AstDiff().diff(from, to);
+        ReferenceNode patched = patch.apply(from);
+
+        assertSame(from, patched);
+        assertTrue(AstStructure.equals(from, to));
+        // name, server, tags[1], tags[4], extra
+        assertEquals(5, patch.size());
+        assertEquals("$['tags'][1]", patch.getEdits().get(2).getPathExpression());
+    }
+
+    @Test
+    void sequenceAlignmentKeepsMatchingElements() {
+        ReferenceSequenceNode from = sequence(1, 2, 3, 4, 5, 6);
+        ReferenceSequenceNode to = sequence(0, 1, 2, 4, 5, 7, 6);
+
+        AstPatch patch = new AstDiff().diff(from, to);
+        patch.apply(from);
+
+        assertTrue(AstStructure.equals(from, to));
+        assertEquals(3, patch.size());
+    }
+}
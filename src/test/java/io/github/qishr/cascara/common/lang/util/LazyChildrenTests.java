@@ -0,0 +1,65 @@
+package io.github.qishr.cascara.common.lang.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapEntryNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceMapNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceScalarNode;
+import io.github.qishr.cascara.common.lang.reference.ReferenceSequenceNode;
+
+public class LazyChildrenTests {
+
+    /// Splits a comma-separated region into scalar nodes.
+    private static List<ReferenceNode> splitCommas(SourceBuffer region) {
+        List<ReferenceNode> elements = new ArrayList<>();
+        region.startTokenWindow();
+        while (!region.isAtEnd()) {
+            if (region.peek() == ',') {
+                elements.add(new ReferenceScalarNode(region.getTokenWindowLexeme()));
+                region.advance();
+                region.startTokenWindow();
+            } else {
+                region.advance();
+            }
+        }
+        elements.add(new ReferenceScalarNode(region.getTokenWindowLexeme()));
+        return elements;
+    }
+
+    @Test
+    void parsesChildrenOnFirstAccess() {
+        SourceStringBuffer source = new SourceStringBuffer("head\n[a,bb,ccc]");
+        int[] loads = {0};
+        LazyChildren<ReferenceNode> children = new LazyChildren<>(source, 6, 14, 2, 2, region -> {
+            loads[0]++;
+            assertEquals(6, region.offset());
+            assertEquals(2, region.line());
+            return splitCommas(region);
+        });
+        ReferenceSequenceNode sequence = new ReferenceSequenceNode(children);
+
+        assertFalse(sequence.isMaterialized());
+        assertEquals(0, loads[0]);
+
+        assertEquals("bb", sequence.get(1).asString());
+        assertEquals(3, sequence.size());
+        assertTrue(sequence.isMaterialized());
+        assertEquals(1, loads[0]);
+    }
+
+    @Test
+    void rejectsMissingChildren() {
+        assertThrows(IllegalArgumentException.class, () -> new ReferenceSequenceNode((LazyChildren<ReferenceNode>) null));
+        assertThrows(IllegalArgumentException.class, () -> new ReferenceMapNode((LazyChildren<ReferenceMapEntryNode>) null));
+        assertTrue(ReferenceSequenceNode.of(List.of()).isEmpty());
+    }
+}